@@ -0,0 +1,21 @@
+package com.demo.centinal.benchmark;
+
+/**
+ * Representative ws-feed frames shared by the benchmarks.
+ */
+final class Messages {
+
+    static final String TICKER = """
+        {"type":"ticker","product_id":"BTC-USD","price":"50123.45","open_24h":"49500.00",\
+        "volume_24h":"12345.67890123","low_24h":"49000.01","high_24h":"51000.99","volume_30d":"456789.12",\
+        "best_bid":"50123.44","best_bid_size":"0.5","best_ask":"50123.46","best_ask_size":"0.25",\
+        "bid":"50123.44","ask":"50123.46","side":"buy","time":"2024-01-01T12:34:56.123456Z",\
+        "trade_id":123456789,"last_size":"0.001"}""";
+
+    static final String HEARTBEAT = """
+        {"type":"heartbeat","sequence":90,"last_trade_id":20,"product_id":"BTC-USD",\
+        "time":"2024-01-01T12:34:56.123456Z"}""";
+
+    private Messages() {
+    }
+}
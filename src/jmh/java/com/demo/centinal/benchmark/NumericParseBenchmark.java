@@ -0,0 +1,50 @@
+package com.demo.centinal.benchmark;
+
+import com.demo.centinal.codec.FixedPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price parsing: {@code new BigDecimal(String)} as used by the tree path versus
+ * fixed-point parsing from a String and from a character buffer as the streaming decoder does.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NumericParseBenchmark {
+
+    @Param({"50123.45", "12345.67890123", "0.00000001"})
+    private String value;
+
+    private char[] buffer;
+
+    @Setup
+    public void setUp() {
+        buffer = ("\"price\":\"" + value + "\"").toCharArray();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        return new BigDecimal(value);
+    }
+
+    @Benchmark
+    public long fixedPointString() {
+        return FixedPoint.parse(value);
+    }
+
+    @Benchmark
+    public long fixedPointChars() {
+        return FixedPoint.parse(buffer, 9, value.length());
+    }
+
+    @Benchmark
+    public BigDecimal fixedPointToBigDecimal() {
+        return FixedPoint.toBigDecimal(FixedPoint.parse(buffer, 9, value.length()));
+    }
+}
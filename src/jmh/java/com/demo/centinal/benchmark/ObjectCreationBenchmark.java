@@ -0,0 +1,46 @@
+package com.demo.centinal.benchmark;
+
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.MarketDataEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message object churn: the Spring event wrapper and the JPA entity built for every tick.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ObjectCreationBenchmark {
+
+    private final BigDecimal price = new BigDecimal("50123.45");
+    private final BigDecimal volume = new BigDecimal("12345.67890123");
+
+    @Benchmark
+    public MarketDataEvent createEvent() {
+        return new MarketDataEvent(Messages.TICKER, "coinbase");
+    }
+
+    @Benchmark
+    public MarketData buildEntity() {
+        return MarketData.builder()
+            .timestamp(Instant.now())
+            .symbol("BTC-USD")
+            .exchange("coinbase")
+            .price(price)
+            .volume(volume)
+            .bid(price)
+            .ask(price)
+            .high24h(price)
+            .low24h(price)
+            .open24h(price)
+            .rawData(Messages.TICKER)
+            .build();
+    }
+}
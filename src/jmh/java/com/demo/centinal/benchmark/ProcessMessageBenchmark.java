@@ -0,0 +1,66 @@
+package com.demo.centinal.benchmark;
+
+import com.demo.centinal.client.CoinbaseWebsocketClient;
+import com.demo.centinal.codec.TickerJsonDecoder;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.metrics.IngestLatencyMetrics;
+import com.demo.centinal.service.MarketDataStreamingService;
+import com.demo.centinal.service.SequenceTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full per-message cost of {@link MarketDataStreamingService#processMarketDataMessage(String)}
+ * with a writer that does nothing, so only decoding and entity building are measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProcessMessageBenchmark {
+
+    @Param({"tree", "streaming"})
+    private String decoder;
+
+    @Param({"false", "true"})
+    private boolean fixedPoint;
+
+    private MarketDataStreamingService service;
+    private MarketData lastWritten;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new MarketDataStreamingService(
+            marketData -> lastWritten = marketData,
+            new CoinbaseWebsocketClient(event -> { }),
+            objectMapper,
+            new TickerJsonDecoder(objectMapper, meterRegistry, fixedPoint),
+            new SequenceTracker(meterRegistry),
+            new IngestLatencyMetrics(meterRegistry),
+            List.of());
+        ReflectionTestUtils.setField(service, "decoder", decoder);
+    }
+
+    @Benchmark
+    public void processTicker(Blackhole blackhole) {
+        // Unsequenced so the tracker never drops a repeated message as a duplicate
+        service.processMarketDataMessage(Messages.TICKER);
+        blackhole.consume(lastWritten);
+    }
+
+    @Benchmark
+    public void processHeartbeat(Blackhole blackhole) {
+        service.processMarketDataMessage(Messages.HEARTBEAT);
+        blackhole.consume(lastWritten);
+    }
+}
@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 
 /**
@@ -25,8 +26,11 @@ public class CentinalApplication {
     
     /**
      * CommandLineRunner to start market data streaming when the application starts.
+     * Skipped in journal replay mode, which feeds recorded frames instead of the live feed, and in
+     * Kafka consumer mode, where ticks come from the topic published by a separate feed handler.
      */
     @Bean
+    @ConditionalOnExpression("!${market.data.replay.enabled:false} && !${market.data.kafka.consumer.enabled:false}")
     public CommandLineRunner startStreaming() {
         return args -> {
             log.info("Starting Centinal market data streaming service...");
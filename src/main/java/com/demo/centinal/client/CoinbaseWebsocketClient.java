@@ -1,6 +1,7 @@
 package com.demo.centinal.client;
 
 import com.demo.centinal.model.MarketDataEvent;
+import jakarta.annotation.PreDestroy;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.java_websocket.client.WebSocketClient;
@@ -18,21 +19,31 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * WebSocket client implementation for Coinbase Exchange.
  * Streams market data from Coinbase WebSocket feed with authentication support.
+ * Symbols can be spread over several connections, each with its own reader thread,
+ * so one slow or dropped socket does not affect the symbols on the others.
  */
 @Data
 @Service
 @Slf4j
 public class CoinbaseWebsocketClient implements ExchangeDataWebsocketClient {
-    private WebSocketClient webSocketClient;
-    private boolean connected = false;
+    private final List<FeedConnection> connections = new CopyOnWriteArrayList<>();
+    private volatile boolean connected = false;
     private static final String OPEN_COINBASE_WS_URL = "wss://ws-feed.exchange.coinbase.com";
     private static final String PRIVATE_COINBASE_WS_URL = "wss://ws-feed.exchange.coinbase.com";
     private List<String> subscribedSymbols = new ArrayList<>();
     private final ApplicationEventPublisher eventPublisher;
+    // When set, frames bypass the synchronous Spring event and go straight to the handler
+    private volatile MarketDataFrameHandler frameHandler;
+    // When set, sees every raw frame before it is handled, e.g. to journal it
+    private volatile MarketDataFrameHandler frameRecorder;
     private boolean authenticated = false;
     // Inject API credentials from application properties or environment variables
     @Value("${coinbase.api.key:}")
@@ -41,6 +52,25 @@ public class CoinbaseWebsocketClient implements ExchangeDataWebsocketClient {
     private String apiSecret;
     @Value("${coinbase.api.passphrase:}")
     private String passphrase;
+    // Number of WebSocket connections the symbols are sharded across
+    @Value("${market.data.connections:1}")
+    private int connectionCount = 1;
+    @Value("${market.data.shard-assignment:hash}")
+    private String shardAssignment = "hash";
+    @Value("${market.data.uri:" + OPEN_COINBASE_WS_URL + "}")
+    private String uri = OPEN_COINBASE_WS_URL;
+    // Reconnect with exponential backoff when a connection drops unexpectedly
+    @Value("${market.data.reconnect.enabled:true}")
+    private boolean reconnectEnabled = true;
+    @Value("${market.data.reconnect.initial-delay-ms:1000}")
+    private long reconnectInitialDelayMs = 1000;
+    @Value("${market.data.reconnect.max-delay-ms:30000}")
+    private long reconnectMaxDelayMs = 30000;
+    private final ScheduledExecutorService reconnectScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "coinbase-reconnect");
+        thread.setDaemon(true);
+        return thread;
+    });
     
     @Autowired
     public CoinbaseWebsocketClient(ApplicationEventPublisher eventPublisher) {
@@ -58,44 +88,138 @@ public class CoinbaseWebsocketClient implements ExchangeDataWebsocketClient {
     
     /**
      * Connects to the Coinbase WebSocket feed with specific symbols.
+     * Opens up to {@code market.data.connections} sockets and shards the symbols across them.
      * @param symbols list of symbols to subscribe to
      */
     public void connect(List<String> symbols) throws URISyntaxException {
         if (connected) return;
         this.subscribedSymbols = symbols != null ? symbols : new ArrayList<>();
+        closeConnections();
 
-        webSocketClient = new WebSocketClient(new URI(OPEN_COINBASE_WS_URL)) {
-            @Override
-            public void onOpen(ServerHandshake handshakedata) {
-                // Subscribe to ticker channel for the specified symbols
-                String subscribeMessage = buildSubscribeMessage(subscribedSymbols);
-                send(subscribeMessage);
-                connected = true;
-                log.info("Connected to Coinbase WebSocket and subscribed to symbols: {}", subscribedSymbols);
+        int shardCount = Math.max(1, Math.min(connectionCount, subscribedSymbols.size()));
+        List<List<String>> shards = ShardAssignment.fromName(shardAssignment).assign(subscribedSymbols, shardCount);
+        for (int id = 0; id < shards.size(); id++) {
+            List<String> shardSymbols = shards.get(id);
+            if (shardSymbols.isEmpty() && !subscribedSymbols.isEmpty()) {
+                continue;
             }
-            @Override
-            public void onMessage(String message) {
-                try {
-                    MarketDataEvent event = new MarketDataEvent(message, "coinbase");
-                    eventPublisher.publishEvent(event);
-                } catch (Exception e) {
-                    log.error("Failed to process WebSocket message: {}", message, e);
+            FeedConnection connection = new FeedConnection(id, shardSymbols, new URI(uri), 0);
+            connections.add(connection);
+            connection.connect();
+        }
+    }
+
+    /**
+     * Returns the socket of the first connection, or null when not connected.
+     */
+    public WebSocketClient getWebSocketClient() {
+        return connections.isEmpty() ? null : connections.get(0);
+    }
+
+    private void updateConnected() {
+        connected = connections.stream().anyMatch(FeedConnection::isOpen);
+    }
+
+    private void closeConnections() {
+        synchronized (connections) {
+            for (FeedConnection connection : connections) {
+                connection.closing = true;
+                connection.close();
+            }
+            connections.clear();
+        }
+    }
+
+    /**
+     * Replaces a dropped connection with a new one after an exponential backoff delay.
+     * The new connection resubscribes to the same shard of symbols once it opens.
+     * The lookup, replacement and connect run under the same lock as {@link #closeConnections()}, so a
+     * concurrent close either finds the replacement and closes it or makes the reconnect a no-op.
+     */
+    private void scheduleReconnect(FeedConnection dropped) {
+        int attempt = dropped.attempt;
+        long delay = Math.min(reconnectMaxDelayMs, reconnectInitialDelayMs << Math.min(attempt, 20));
+        log.info("Reconnecting connection {} in {} ms (attempt {})", dropped.id, delay, attempt + 1);
+        reconnectScheduler.schedule(() -> {
+            try {
+                synchronized (connections) {
+                    int index = dropped.closing ? -1 : connections.indexOf(dropped);
+                    if (index < 0) {
+                        return;
+                    }
+                    FeedConnection replacement = new FeedConnection(dropped.id, dropped.symbols, dropped.getURI(), attempt + 1);
+                    connections.set(index, replacement);
+                    replacement.connect();
                 }
+            } catch (RuntimeException e) {
+                // Nothing else reports a failure on the scheduler thread
+                log.error("Failed to reconnect connection {}", dropped.id, e);
             }
-            @Override
-            public void onClose(int code, String reason, boolean remote) {
-                webSocketClient.close(code, reason);
-                connected = false;
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * One WebSocket connection carrying a shard of the subscribed symbols.
+     * Each connection runs its own reader thread.
+     */
+    class FeedConnection extends WebSocketClient {
+        private final int id;
+        private final List<String> symbols;
+        // Number of consecutive reconnect attempts before this connection; reset once it opens
+        private volatile int attempt;
+        // Set when the close is intentional and must not trigger a reconnect
+        private volatile boolean closing;
+
+        FeedConnection(int id, List<String> symbols, URI uri, int attempt) {
+            super(uri);
+            this.id = id;
+            this.symbols = symbols;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public void onOpen(ServerHandshake handshakedata) {
+            // Subscribe to ticker channel for the symbols of this shard
+            send(buildSubscribeMessage(symbols));
+            attempt = 0;
+            connected = true;
+            log.info("Connection {} to Coinbase WebSocket subscribed to symbols: {}", id, symbols);
+        }
+
+        @Override
+        public void onMessage(String message) {
+            long receivedNanos = System.nanoTime();
+            try {
+                MarketDataFrameHandler recorder = frameRecorder;
+                if (recorder != null) {
+                    recorder.onFrame(id, message, "coinbase", receivedNanos);
+                }
+                MarketDataFrameHandler handler = frameHandler;
+                if (handler != null) {
+                    handler.onFrame(id, message, "coinbase", receivedNanos);
+                } else {
+                    eventPublisher.publishEvent(new MarketDataEvent(message, "coinbase"));
+                }
+            } catch (Exception e) {
+                log.error("Failed to process WebSocket message: {}", message, e);
             }
-            @Override
-            public void onError(Exception ex) {
-                connected = false;
-                // TODO: Add error logging
+        }
+
+        @Override
+        public void onClose(int code, String reason, boolean remote) {
+            log.warn("Connection {} closed (code={}, remote={}): {}", id, code, remote, reason);
+            updateConnected();
+            if (!closing && reconnectEnabled) {
+                scheduleReconnect(this);
             }
-        };
-        webSocketClient.connect();
-    }
+        }
 
+        @Override
+        public void onError(Exception ex) {
+            log.error("Connection {} error", id, ex);
+            updateConnected();
+        }
+    }
 
     private String buildSubscribeMessage(List<String> productIds) {
         if (authenticated) {
@@ -158,13 +282,13 @@ public class CoinbaseWebsocketClient implements ExchangeDataWebsocketClient {
     }
 
     /**
-     * Disconnects from the Coinbase WebSocket feed.
+     * Disconnects every connection from the Coinbase WebSocket feed.
      */
     @Override
     public void disconnect() {
-        if (webSocketClient != null && connected) {
+        if (!connections.isEmpty()) {
             try {
-                webSocketClient.close();
+                closeConnections();
                 connected = false;
             } catch (Exception e) {
                 log.error("Failed to close websocket client", e);
@@ -172,9 +296,18 @@ public class CoinbaseWebsocketClient implements ExchangeDataWebsocketClient {
         }
     }
 
+    /**
+     * Closes every connection and stops pending reconnects on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        disconnect();
+        reconnectScheduler.shutdownNow();
+    }
+
     /**
      * Checks if the client is currently connected to the WebSocket feed.
-     * @return true if connected, false otherwise
+     * @return true if at least one connection is open, false otherwise
      */
     @Override
     public boolean isConnected() {
@@ -182,13 +315,17 @@ public class CoinbaseWebsocketClient implements ExchangeDataWebsocketClient {
     }
 
     /**
-     * Sends a custom message to the WebSocket server.
+     * Sends a custom message to the WebSocket server on every open connection.
      * @param message the message to send
      */
     @Override
     public void sendMessage(String message) {
-        if (webSocketClient != null && connected) {
-            webSocketClient.send(message);
+        if (connected) {
+            for (FeedConnection connection : connections) {
+                if (connection.isOpen()) {
+                    connection.send(message);
+                }
+            }
         }
     }
 } 
\ No newline at end of file
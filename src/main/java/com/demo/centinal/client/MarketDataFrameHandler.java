@@ -0,0 +1,16 @@
+package com.demo.centinal.client;
+
+/**
+ * Receives raw frames straight from the WebSocket reader thread.
+ * Implementations must return quickly; any blocking here stalls the socket read loop.
+ */
+@FunctionalInterface
+public interface MarketDataFrameHandler {
+    /**
+     * @param connectionId index of the feed connection the frame arrived on
+     * @param message the raw frame text
+     * @param source the exchange the frame came from
+     * @param receivedNanos {@link System#nanoTime()} when the frame was read from the socket
+     */
+    void onFrame(int connectionId, String message, String source, long receivedNanos);
+}
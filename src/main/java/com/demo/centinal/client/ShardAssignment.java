@@ -0,0 +1,49 @@
+package com.demo.centinal.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Rule for spreading subscribed symbols across feed connections.
+ */
+public enum ShardAssignment {
+    /** Stable assignment by symbol hash; a symbol keeps its connection when others are added. */
+    HASH {
+        @Override
+        int shardOf(String symbol, int index, int shardCount) {
+            return Math.floorMod(symbol.hashCode(), shardCount);
+        }
+    },
+    /** Even spread by position in the configured symbol list. */
+    ROUND_ROBIN {
+        @Override
+        int shardOf(String symbol, int index, int shardCount) {
+            return index % shardCount;
+        }
+    };
+
+    abstract int shardOf(String symbol, int index, int shardCount);
+
+    /**
+     * Splits the symbols into {@code shardCount} groups. Groups may be empty with the hash rule.
+     */
+    public List<List<String>> assign(List<String> symbols, int shardCount) {
+        List<List<String>> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (int i = 0; i < symbols.size(); i++) {
+            String symbol = symbols.get(i);
+            shards.get(shardOf(symbol, i, shardCount)).add(symbol);
+        }
+        return shards;
+    }
+
+    /**
+     * Resolves a configured name such as {@code hash} or {@code round-robin}.
+     */
+    public static ShardAssignment fromName(String name) {
+        return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,116 @@
+package com.demo.centinal.codec;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point decimal helpers for prices and sizes kept as scaled {@code long} values.
+ * Every value is stored as {@code units * 10^8}, matching the NUMERIC(20,8) columns, so the
+ * in-memory stages can work with plain long arithmetic and only convert at the storage/API edge.
+ */
+public final class FixedPoint {
+
+    public static final int SCALE = 8;
+    public static final long ONE = 100_000_000L;
+    /** Sentinel for a missing or unparseable value. */
+    public static final long NULL = Long.MIN_VALUE;
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+
+    private FixedPoint() {
+    }
+
+    public static boolean isNull(long value) {
+        return value == NULL;
+    }
+
+    /**
+     * Parses a plain decimal such as {@code -123.45678901} without allocating.
+     * Digits beyond the eighth decimal place are truncated.
+     * @return the scaled value, or {@link #NULL} for an empty input or the literal {@code null}
+     * @throws NumberFormatException if the text is not a plain decimal or does not fit
+     */
+    public static long parse(char[] chars, int offset, int length) {
+        if (length == 0 || (length == 4 && chars[offset] == 'n' && chars[offset + 1] == 'u'
+                && chars[offset + 2] == 'l' && chars[offset + 3] == 'l')) {
+            return NULL;
+        }
+        int end = offset + length;
+        int i = offset;
+        boolean negative = chars[i] == '-';
+        if (negative || chars[i] == '+') {
+            i++;
+        }
+        long integer = 0;
+        int digits = 0;
+        for (; i < end && chars[i] != '.'; i++) {
+            integer = integer * 10 + digit(chars, offset, length, i);
+            if (++digits > 10) {
+                throw invalid(chars, offset, length);
+            }
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (i < end) {
+            for (i++; i < end; i++) {
+                int d = digit(chars, offset, length, i);
+                if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + d;
+                    fractionDigits++;
+                }
+            }
+        }
+        if (digits == 0 && fractionDigits == 0) {
+            throw invalid(chars, offset, length);
+        }
+        long value = integer * ONE + fraction * POWERS_OF_TEN[SCALE - fractionDigits];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a decimal string, see {@link #parse(char[], int, int)}.
+     */
+    public static long parse(String text) {
+        if (text == null) {
+            return NULL;
+        }
+        return parse(text.toCharArray(), 0, text.length());
+    }
+
+    /**
+     * Converts a scaled value to a {@link BigDecimal} with scale 8, or null for {@link #NULL}.
+     */
+    public static BigDecimal toBigDecimal(long value) {
+        return value == NULL ? null : BigDecimal.valueOf(value, SCALE);
+    }
+
+    /**
+     * Converts a decimal to a scaled value, truncating digits beyond the eighth decimal place.
+     * @return the scaled value, or {@link #NULL} for null
+     * @throws ArithmeticException if the value does not fit, i.e. its magnitude reaches about 9.22e10
+     */
+    public static long fromBigDecimal(BigDecimal value) {
+        if (value == null) {
+            return NULL;
+        }
+        long scaled = value.movePointRight(SCALE).setScale(0, RoundingMode.DOWN).longValueExact();
+        if (scaled == NULL) {
+            throw new ArithmeticException("Out of fixed-point range: " + value);
+        }
+        return scaled;
+    }
+
+    private static int digit(char[] chars, int offset, int length, int index) {
+        int d = chars[index] - '0';
+        if (d < 0 || d > 9) {
+            throw invalid(chars, offset, length);
+        }
+        return d;
+    }
+
+    private static NumberFormatException invalid(char[] chars, int offset, int length) {
+        return new NumberFormatException("Not a fixed-point decimal: " + new String(chars, offset, length));
+    }
+}
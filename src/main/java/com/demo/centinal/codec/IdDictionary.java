@@ -0,0 +1,51 @@
+package com.demo.centinal.codec;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fixed mapping between names, such as symbols or exchanges, and the small integer ids used by
+ * {@link TickWireCodec}. Ids are the positions in the list the dictionary was built from, so every
+ * process on a transport must build it from the same list in the same order; new names go at the end.
+ * Immutable after construction, lookups allocate nothing.
+ */
+public final class IdDictionary {
+
+    public static final int UNKNOWN = -1;
+
+    private final String[] names;
+    private final Map<String, Integer> ids;
+
+    public IdDictionary(List<String> names) {
+        if (names.size() > TickWireCodec.MAX_ID + 1) {
+            throw new IllegalArgumentException("At most " + (TickWireCodec.MAX_ID + 1) + " names fit the wire format");
+        }
+        this.names = names.toArray(String[]::new);
+        this.ids = new HashMap<>(names.size() * 2);
+        for (int id = 0; id < this.names.length; id++) {
+            if (ids.putIfAbsent(this.names[id], id) != null) {
+                throw new IllegalArgumentException("Duplicate name in id dictionary: " + this.names[id]);
+            }
+        }
+    }
+
+    /**
+     * @return the id of the name, or {@link #UNKNOWN}
+     */
+    public int idOf(String name) {
+        Integer id = name == null ? null : ids.get(name);
+        return id == null ? UNKNOWN : id;
+    }
+
+    /**
+     * @return the name with the id, or null if the id is out of range
+     */
+    public String nameOf(int id) {
+        return id >= 0 && id < names.length ? names[id] : null;
+    }
+
+    public int size() {
+        return names.length;
+    }
+}
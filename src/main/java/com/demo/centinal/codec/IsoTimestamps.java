@@ -0,0 +1,111 @@
+package com.demo.centinal.codec;
+
+import java.time.Instant;
+
+/**
+ * Allocation-free parser for the UTC timestamps in exchange messages,
+ * e.g. {@code 2024-01-01T12:34:56.123456Z}, into microseconds since the epoch.
+ */
+public final class IsoTimestamps {
+
+    /** Sentinel for a missing or unparseable timestamp. */
+    public static final long NULL = Long.MIN_VALUE;
+
+    private static final int MICRO_DIGITS = 6;
+
+    private IsoTimestamps() {
+    }
+
+    /**
+     * Parses {@code yyyy-MM-ddTHH:mm:ss[.fraction]Z}; fraction digits beyond microseconds are truncated.
+     * @return epoch microseconds, or {@link #NULL} if the text does not have that shape
+     */
+    public static long parseEpochMicros(char[] chars, int offset, int length) {
+        int end = offset + length;
+        if (length < 20 || chars[offset + 4] != '-' || chars[offset + 7] != '-' || chars[offset + 10] != 'T'
+                || chars[offset + 13] != ':' || chars[offset + 16] != ':' || chars[end - 1] != 'Z') {
+            return NULL;
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = digits(chars, offset + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 60) {
+            return NULL;
+        }
+
+        int i = offset + 19;
+        long micros = 0;
+        int fractionDigits = 0;
+        if (chars[i] == '.') {
+            for (i++; i < end - 1; i++) {
+                int d = chars[i] - '0';
+                if (d < 0 || d > 9) {
+                    return NULL;
+                }
+                if (fractionDigits < MICRO_DIGITS) {
+                    micros = micros * 10 + d;
+                    fractionDigits++;
+                }
+            }
+        }
+        if (i != end - 1) {
+            return NULL;
+        }
+        for (; fractionDigits < MICRO_DIGITS; fractionDigits++) {
+            micros *= 10;
+        }
+        long seconds = daysFromCivil(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second;
+        return seconds * 1_000_000L + micros;
+    }
+
+    /**
+     * Parses a timestamp string, see {@link #parseEpochMicros(char[], int, int)}.
+     */
+    public static long parseEpochMicros(String text) {
+        if (text == null) {
+            return NULL;
+        }
+        return parseEpochMicros(text.toCharArray(), 0, text.length());
+    }
+
+    /**
+     * @return epoch microseconds of the instant, truncating nanoseconds, or {@link #NULL} for null
+     */
+    public static long toEpochMicros(Instant instant) {
+        return instant == null ? NULL
+            : Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    public static Instant toInstant(long epochMicros) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+            Math.floorMod(epochMicros, 1_000_000L) * 1_000L);
+    }
+
+    /**
+     * Days since 1970-01-01 for a proleptic Gregorian date (Howard Hinnant's algorithm).
+     */
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int d = chars[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            value = value * 10 + d;
+        }
+        return value;
+    }
+}
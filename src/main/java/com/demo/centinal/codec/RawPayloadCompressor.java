@@ -0,0 +1,113 @@
+package com.demo.centinal.codec;
+
+import com.github.luben.zstd.Zstd;
+import com.github.luben.zstd.ZstdDictCompress;
+import com.github.luben.zstd.ZstdDictDecompress;
+import com.github.luben.zstd.ZstdDictTrainer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * zstd compression for raw feed payloads with a dictionary trained on the feed itself.
+ * Ticker frames are small and nearly identical, so plain zstd gains little on them; once enough
+ * samples have been collected a shared dictionary is trained and every later payload is compressed
+ * against it. Until then, or if training fails, payloads are compressed without a dictionary.
+ * Not thread-safe.
+ */
+@Slf4j
+public class RawPayloadCompressor {
+
+    /**
+     * Dictionary id of payloads compressed without a dictionary.
+     */
+    public static final int NO_DICTIONARY = 0;
+
+    private final int level;
+    private final int trainingSamples;
+    private final int dictionarySize;
+    private ZstdDictTrainer trainer;
+    private int sampleCount;
+    private int dictionaryId = NO_DICTIONARY;
+    private ZstdDictCompress dictionary;
+
+    /**
+     * @param trainingSamples payloads to collect before training a dictionary, 0 to never train one
+     */
+    public RawPayloadCompressor(int level, int trainingSamples, int dictionarySize) {
+        if (trainingSamples < 0 || dictionarySize <= 0) {
+            throw new IllegalArgumentException("Training samples must be non-negative and dictionary size positive");
+        }
+        this.level = level;
+        this.trainingSamples = trainingSamples;
+        this.dictionarySize = dictionarySize;
+    }
+
+    /**
+     * Compresses a payload with the current dictionary, if any; see {@link #getDictionaryId()}.
+     */
+    public byte[] compress(byte[] payload) {
+        return dictionary != null ? Zstd.compress(payload, dictionary) : Zstd.compress(payload, level);
+    }
+
+    /**
+     * Offers a payload as a training sample.
+     * @return the trained dictionary once enough samples have been collected, otherwise null;
+     *         the caller stores it and activates it with {@link #useDictionary(int, byte[])}
+     */
+    public byte[] sample(byte[] payload) {
+        if (dictionary != null || trainingSamples == 0 || sampleCount < 0) {
+            return null;
+        }
+        if (trainer == null) {
+            // Sample buffer sized for the expected samples, with headroom for larger frames
+            long bufferSize = Math.max(dictionarySize * 10L, (long) trainingSamples * payload.length * 2);
+            trainer = new ZstdDictTrainer((int) Math.min(bufferSize, Integer.MAX_VALUE - 8), dictionarySize);
+        }
+        if (trainer.addSample(payload)) {
+            sampleCount++;
+        }
+        if (sampleCount < trainingSamples) {
+            return null;
+        }
+        try {
+            return trainer.trainSamples();
+        } catch (RuntimeException e) {
+            log.warn("Failed to train a raw payload dictionary from {} samples, continuing without one", sampleCount, e);
+            // Do not retry on every payload
+            sampleCount = -1;
+            return null;
+        } finally {
+            trainer = null;
+        }
+    }
+
+    /**
+     * Compresses every later payload against the given dictionary.
+     */
+    public void useDictionary(int id, byte[] dictionaryBytes) {
+        if (id == NO_DICTIONARY) {
+            throw new IllegalArgumentException("Dictionary id " + NO_DICTIONARY + " is reserved");
+        }
+        this.dictionary = new ZstdDictCompress(dictionaryBytes, level);
+        this.dictionaryId = id;
+        this.trainer = null;
+    }
+
+    /**
+     * Id of the dictionary {@link #compress(byte[])} currently uses, {@link #NO_DICTIONARY} if none.
+     */
+    public int getDictionaryId() {
+        return dictionaryId;
+    }
+
+    /**
+     * Restores a payload compressed with or without a dictionary.
+     * @param dictionaryBytes the dictionary it was compressed with, null if none
+     * @param rawSize the uncompressed length
+     */
+    public static byte[] decompress(byte[] compressed, byte[] dictionaryBytes, int rawSize) {
+        if (dictionaryBytes == null) {
+            return Zstd.decompress(compressed, rawSize);
+        }
+        return Zstd.decompress(compressed, new ZstdDictDecompress(dictionaryBytes), rawSize);
+    }
+}
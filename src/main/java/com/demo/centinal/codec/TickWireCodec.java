@@ -0,0 +1,145 @@
+package com.demo.centinal.codec;
+
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.MarketTick;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Fixed-layout little-endian binary encoding of a tick for internal transports, in the style of SBE.
+ * Every field sits at a fixed offset, so ticks are written into and read out of a {@link ByteBuffer}, heap or
+ * direct, in place: no intermediate objects and no text. Symbols and exchanges are ids from an
+ * {@link IdDictionary} shared by both ends. A tick is {@value #ENCODED_LENGTH} bytes, several times smaller
+ * than the exchange's JSON ticker.
+ * <pre>
+ * header:   block length:u16 | template id:u16 | schema id:u16 | version:u16
+ * block:    sequence | exchange time (epoch micros) | receive time (epoch micros)
+ *           | price | volume_24h | bid | ask | high_24h | low_24h | open_24h | last_size   (i64 each, scaled by 10^8)
+ *           | symbol id:u16 | exchange id:u16
+ * </pre>
+ * {@code Long.MIN_VALUE} stands for null in every i64 field and a sequence of -1 for no sequence, as in
+ * {@link MarketTick}. The header carries the block length so readers can skip fields appended by later versions.
+ * Use {@link TickWireView} to read a tick without copying it. It is the value format of the Kafka tick topic.
+ */
+public final class TickWireCodec {
+
+    public static final int TEMPLATE_ID = 1;
+    public static final int SCHEMA_ID = 0x7C;
+    public static final int VERSION = 1;
+    public static final int MAX_ID = 0xFFFF;
+
+    static final int HEADER_LENGTH = 8;
+    static final int BLOCK_LENGTH = 11 * 8 + 2 * 2;
+    public static final int ENCODED_LENGTH = HEADER_LENGTH + BLOCK_LENGTH;
+
+    // Field offsets from the start of the message
+    static final int SEQUENCE = HEADER_LENGTH;
+    static final int EXCHANGE_TIME = SEQUENCE + 8;
+    static final int RECEIVE_TIME = EXCHANGE_TIME + 8;
+    static final int PRICE = RECEIVE_TIME + 8;
+    static final int VOLUME_24H = PRICE + 8;
+    static final int BID = VOLUME_24H + 8;
+    static final int ASK = BID + 8;
+    static final int HIGH_24H = ASK + 8;
+    static final int LOW_24H = HIGH_24H + 8;
+    static final int OPEN_24H = LOW_24H + 8;
+    static final int LAST_SIZE = OPEN_24H + 8;
+    static final int SYMBOL_ID = LAST_SIZE + 8;
+    static final int EXCHANGE_ID = SYMBOL_ID + 2;
+
+    // Absolute little-endian access regardless of the buffer's own byte order, without duplicating it
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle SHORT = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private TickWireCodec() {
+    }
+
+    /**
+     * Writes a decoded ticker at {@code offset} without moving the buffer's position.
+     * Ticks decoded without fixed point are converted from their text fields.
+     * @param receivedEpochMicros wall-clock receive time, or {@link IsoTimestamps#NULL}
+     * @return the number of bytes written, {@link #ENCODED_LENGTH}
+     * @throws IllegalArgumentException if an id is out of range
+     * @throws IndexOutOfBoundsException if the tick does not fit at the offset
+     */
+    public static int encode(MarketTick tick, int symbolId, int exchangeId, long receivedEpochMicros,
+                             ByteBuffer buffer, int offset) {
+        writeHeaderAndIds(symbolId, exchangeId, buffer, offset);
+        LONG.set(buffer, offset + SEQUENCE, tick.getSequence());
+        LONG.set(buffer, offset + EXCHANGE_TIME, tick.getExchangeTimeMicros());
+        LONG.set(buffer, offset + RECEIVE_TIME, receivedEpochMicros);
+        boolean fixed = tick.isFixedPoint();
+        LONG.set(buffer, offset + PRICE, fixed ? tick.getPriceFixed() : FixedPoint.parse(tick.getPrice()));
+        LONG.set(buffer, offset + VOLUME_24H, fixed ? tick.getVolume24hFixed() : FixedPoint.parse(tick.getVolume24h()));
+        LONG.set(buffer, offset + BID, fixed ? tick.getBidFixed() : FixedPoint.parse(tick.getBid()));
+        LONG.set(buffer, offset + ASK, fixed ? tick.getAskFixed() : FixedPoint.parse(tick.getAsk()));
+        LONG.set(buffer, offset + HIGH_24H, fixed ? tick.getHigh24hFixed() : FixedPoint.parse(tick.getHigh24h()));
+        LONG.set(buffer, offset + LOW_24H, fixed ? tick.getLow24hFixed() : FixedPoint.parse(tick.getLow24h()));
+        LONG.set(buffer, offset + OPEN_24H, fixed ? tick.getOpen24hFixed() : FixedPoint.parse(tick.getOpen24h()));
+        LONG.set(buffer, offset + LAST_SIZE, fixed ? tick.getLastSizeFixed() : FixedPoint.parse(tick.getLastSize()));
+        return ENCODED_LENGTH;
+    }
+
+    /**
+     * Encodes with ids looked up in the dictionaries.
+     * @throws IllegalArgumentException if the symbol or exchange is not in its dictionary
+     */
+    public static int encode(MarketTick tick, IdDictionary symbols, int exchangeId, long receivedEpochMicros,
+                             ByteBuffer buffer, int offset) {
+        int symbolId = symbols.idOf(tick.getProductId());
+        if (symbolId == IdDictionary.UNKNOWN) {
+            throw new IllegalArgumentException("Symbol not in the wire dictionary: " + tick.getProductId());
+        }
+        return encode(tick, symbolId, exchangeId, receivedEpochMicros, buffer, offset);
+    }
+
+    /**
+     * Writes a tick entity at {@code offset} without moving the buffer's position; the value format of the tick topic.
+     * The entity carries no wall-clock receive time, so that field is {@link IsoTimestamps#NULL}.
+     * @return the number of bytes written, {@link #ENCODED_LENGTH}
+     * @throws IllegalArgumentException if the symbol or exchange is not in its dictionary
+     * @throws ArithmeticException if a price or size is outside the fixed-point range
+     * @throws IndexOutOfBoundsException if the tick does not fit at the offset
+     */
+    public static int encode(MarketData marketData, IdDictionary symbols, IdDictionary exchanges,
+                             ByteBuffer buffer, int offset) {
+        int symbolId = symbols.idOf(marketData.getSymbol());
+        int exchangeId = exchanges.idOf(marketData.getExchange());
+        if (symbolId == IdDictionary.UNKNOWN || exchangeId == IdDictionary.UNKNOWN) {
+            throw new IllegalArgumentException("Not in the wire dictionaries: symbol " + marketData.getSymbol()
+                + ", exchange " + marketData.getExchange());
+        }
+        writeHeaderAndIds(symbolId, exchangeId, buffer, offset);
+        LONG.set(buffer, offset + SEQUENCE, marketData.getSequence() != null ? marketData.getSequence() : -1L);
+        LONG.set(buffer, offset + EXCHANGE_TIME, IsoTimestamps.toEpochMicros(marketData.getTimestamp()));
+        LONG.set(buffer, offset + RECEIVE_TIME, IsoTimestamps.NULL);
+        LONG.set(buffer, offset + PRICE, FixedPoint.fromBigDecimal(marketData.getPrice()));
+        LONG.set(buffer, offset + VOLUME_24H, FixedPoint.fromBigDecimal(marketData.getVolume()));
+        LONG.set(buffer, offset + BID, FixedPoint.fromBigDecimal(marketData.getBid()));
+        LONG.set(buffer, offset + ASK, FixedPoint.fromBigDecimal(marketData.getAsk()));
+        LONG.set(buffer, offset + HIGH_24H, FixedPoint.fromBigDecimal(marketData.getHigh24h()));
+        LONG.set(buffer, offset + LOW_24H, FixedPoint.fromBigDecimal(marketData.getLow24h()));
+        LONG.set(buffer, offset + OPEN_24H, FixedPoint.fromBigDecimal(marketData.getOpen24h()));
+        LONG.set(buffer, offset + LAST_SIZE, FixedPoint.fromBigDecimal(marketData.getLastSize()));
+        return ENCODED_LENGTH;
+    }
+
+    private static void writeHeaderAndIds(int symbolId, int exchangeId, ByteBuffer buffer, int offset) {
+        if (symbolId < 0 || symbolId > MAX_ID || exchangeId < 0 || exchangeId > MAX_ID) {
+            throw new IllegalArgumentException("Ids must be in [0, " + MAX_ID + "]: symbol "
+                + symbolId + ", exchange " + exchangeId);
+        }
+        if (offset < 0 || offset > buffer.limit() - ENCODED_LENGTH) {
+            throw new IndexOutOfBoundsException("No room for a tick at offset " + offset + " of " + buffer.limit());
+        }
+        SHORT.set(buffer, offset, (short) BLOCK_LENGTH);
+        SHORT.set(buffer, offset + 2, (short) TEMPLATE_ID);
+        SHORT.set(buffer, offset + 4, (short) SCHEMA_ID);
+        SHORT.set(buffer, offset + 6, (short) VERSION);
+        SHORT.set(buffer, offset + SYMBOL_ID, (short) symbolId);
+        SHORT.set(buffer, offset + EXCHANGE_ID, (short) exchangeId);
+    }
+}
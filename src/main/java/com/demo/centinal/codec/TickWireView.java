@@ -0,0 +1,166 @@
+package com.demo.centinal.codec;
+
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.MarketTick;
+
+import java.nio.ByteBuffer;
+
+import static com.demo.centinal.codec.TickWireCodec.*;
+
+/**
+ * Reusable read-only flyweight over one {@link TickWireCodec} message in a buffer.
+ * {@link #wrap} only checks the header; every accessor reads its field straight from the buffer, so one
+ * instance can walk a whole buffer of ticks without allocating. The buffer must not change while it is wrapped.
+ */
+public final class TickWireView {
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int blockLength;
+
+    /**
+     * Points the view at the message starting at {@code offset}.
+     * @throws IllegalArgumentException if the header is not a tick of a supported version or the message is truncated
+     */
+    public TickWireView wrap(ByteBuffer buffer, int offset) {
+        if (offset < 0 || offset > buffer.limit() - HEADER_LENGTH) {
+            throw new IllegalArgumentException("Truncated tick header at offset " + offset);
+        }
+        int templateId = u16(buffer, offset + 2);
+        int schemaId = u16(buffer, offset + 4);
+        int version = u16(buffer, offset + 6);
+        if (templateId != TEMPLATE_ID || schemaId != SCHEMA_ID || version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Not a supported tick: template " + templateId + ", schema "
+                + schemaId + ", version " + version);
+        }
+        int length = u16(buffer, offset);
+        if (length < BLOCK_LENGTH || offset > buffer.limit() - HEADER_LENGTH - length) {
+            throw new IllegalArgumentException("Truncated tick of block length " + length + " at offset " + offset);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.blockLength = length;
+        return this;
+    }
+
+    /**
+     * Bytes taken by the wrapped message, including fields of newer versions this reader does not know.
+     */
+    public int encodedLength() {
+        return HEADER_LENGTH + blockLength;
+    }
+
+    public int symbolId() {
+        return u16(buffer, offset + SYMBOL_ID);
+    }
+
+    public int exchangeId() {
+        return u16(buffer, offset + EXCHANGE_ID);
+    }
+
+    /** Exchange sequence number, -1 if the tick had none. */
+    public long sequence() {
+        return i64(SEQUENCE);
+    }
+
+    /** Exchange time in epoch microseconds, or {@link IsoTimestamps#NULL}. */
+    public long exchangeTimeMicros() {
+        return i64(EXCHANGE_TIME);
+    }
+
+    /** Receive time in epoch microseconds, or {@link IsoTimestamps#NULL}. */
+    public long receiveTimeMicros() {
+        return i64(RECEIVE_TIME);
+    }
+
+    public long price() {
+        return i64(PRICE);
+    }
+
+    public long volume24h() {
+        return i64(VOLUME_24H);
+    }
+
+    public long bid() {
+        return i64(BID);
+    }
+
+    public long ask() {
+        return i64(ASK);
+    }
+
+    public long high24h() {
+        return i64(HIGH_24H);
+    }
+
+    public long low24h() {
+        return i64(LOW_24H);
+    }
+
+    public long open24h() {
+        return i64(OPEN_24H);
+    }
+
+    public long lastSize() {
+        return i64(LAST_SIZE);
+    }
+
+    /**
+     * Fills a reusable {@link MarketTick} with the fixed-point fields of the wrapped tick, e.g. to feed it to the
+     * same persistence path as a tick decoded from JSON. Text fields and the raw message are left empty; the
+     * symbol name is the dictionary's own instance.
+     */
+    public void decodeInto(MarketTick tick, IdDictionary symbols) {
+        tick.reset();
+        tick.setType("ticker");
+        tick.setProductId(symbols.nameOf(symbolId()));
+        tick.setSequence(sequence());
+        tick.setFixedPoint(true);
+        tick.setPriceFixed(price());
+        tick.setVolume24hFixed(volume24h());
+        tick.setBidFixed(bid());
+        tick.setAskFixed(ask());
+        tick.setHigh24hFixed(high24h());
+        tick.setLow24hFixed(low24h());
+        tick.setOpen24hFixed(open24h());
+        tick.setLastSizeFixed(lastSize());
+        tick.setExchangeTimeMicros(exchangeTimeMicros());
+    }
+
+    /**
+     * Builds a tick entity from the wrapped tick, the counterpart of
+     * {@link TickWireCodec#encode(MarketData, IdDictionary, IdDictionary, ByteBuffer, int)}.
+     * @throws IllegalArgumentException if the symbol or exchange id is not in its dictionary
+     */
+    public MarketData toMarketData(IdDictionary symbols, IdDictionary exchanges) {
+        String symbol = symbols.nameOf(symbolId());
+        String exchange = exchanges.nameOf(exchangeId());
+        if (symbol == null || exchange == null) {
+            throw new IllegalArgumentException("Unknown wire ids: symbol " + symbolId() + ", exchange " + exchangeId());
+        }
+        long micros = exchangeTimeMicros();
+        long sequence = sequence();
+        return MarketData.builder()
+            .symbol(symbol)
+            .exchange(exchange)
+            .timestamp(micros == IsoTimestamps.NULL ? null : IsoTimestamps.toInstant(micros))
+            .sequence(sequence >= 0 ? sequence : null)
+            .price(FixedPoint.toBigDecimal(price()))
+            .volume(FixedPoint.toBigDecimal(volume24h()))
+            .bid(FixedPoint.toBigDecimal(bid()))
+            .ask(FixedPoint.toBigDecimal(ask()))
+            .high24h(FixedPoint.toBigDecimal(high24h()))
+            .low24h(FixedPoint.toBigDecimal(low24h()))
+            .open24h(FixedPoint.toBigDecimal(open24h()))
+            .lastSize(FixedPoint.toBigDecimal(lastSize()))
+            .build();
+    }
+
+    private long i64(int field) {
+        return (long) LONG.get(buffer, offset + field);
+    }
+
+    private static int u16(ByteBuffer buffer, int index) {
+        return Short.toUnsignedInt((short) SHORT.get(buffer, index));
+    }
+}
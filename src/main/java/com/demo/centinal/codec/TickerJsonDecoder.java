@@ -0,0 +1,144 @@
+package com.demo.centinal.codec;
+
+import com.demo.centinal.model.MarketTick;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Token-streaming decoder for Coinbase feed messages.
+ * Pulls the fields of interest straight into a reusable {@link MarketTick} without building
+ * a {@code JsonNode} tree; nested objects and arrays (e.g. subscription channels) are skipped.
+ * In fixed-point mode prices and sizes are parsed from the parser's character buffer into scaled
+ * longs, so no String or BigDecimal is created for them. A value that is malformed or out of the fixed-point
+ * range becomes {@link FixedPoint#NULL}, with a warning and a count in {@code market.data.decode.rejected}.
+ */
+@Slf4j
+@Component
+public class TickerJsonDecoder {
+
+    private final JsonFactory jsonFactory;
+    private final boolean fixedPoint;
+    private final Counter rejectedCounter;
+
+    public TickerJsonDecoder(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${market.data.fixed-point:false}") boolean fixedPoint) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.fixedPoint = fixedPoint;
+        this.rejectedCounter = Counter.builder("market.data.decode.rejected")
+            .description("Price and size fields left null in fixed point because they were malformed or out of range")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Decodes a message into the given holder, which is reset first.
+     * @param message the raw frame text
+     * @param tick the holder to fill
+     * @throws IOException if the message is not a JSON object
+     */
+    public void decode(String message, MarketTick tick) throws IOException {
+        tick.reset();
+        tick.setRawMessage(message);
+        tick.setFixedPoint(fixedPoint);
+        try (JsonParser parser = jsonFactory.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object but got: " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value == JsonToken.VALUE_NUMBER_INT && "sequence".equals(field)) {
+                    tick.setSequence(parser.getLongValue());
+                    continue;
+                }
+                if (value == JsonToken.VALUE_STRING && "time".equals(field)) {
+                    tick.setExchangeTimeMicros(IsoTimestamps.parseEpochMicros(
+                        parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()));
+                    continue;
+                }
+                if (fixedPoint && decodeFixedPoint(field, value, parser, tick)) {
+                    continue;
+                }
+                String text = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                switch (field) {
+                    case "type" -> tick.setType(text);
+                    case "product_id" -> tick.setProductId(text);
+                    case "price" -> tick.setPrice(text);
+                    case "volume_24h" -> tick.setVolume24h(text);
+                    case "bid" -> tick.setBid(text);
+                    case "ask" -> tick.setAsk(text);
+                    case "high_24h" -> tick.setHigh24h(text);
+                    case "low_24h" -> tick.setLow24h(text);
+                    case "open_24h" -> tick.setOpen24h(text);
+                    case "last_size" -> tick.setLastSize(text);
+                    default -> {
+                        // not needed downstream
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes a price or size field straight into its scaled long.
+     * @return false if the field is not numeric and should be handled as text
+     */
+    private boolean decodeFixedPoint(String field, JsonToken value, JsonParser parser, MarketTick tick) throws IOException {
+        switch (field) {
+            case "price" -> tick.setPriceFixed(parseFixed(field, value, parser));
+            case "volume_24h" -> tick.setVolume24hFixed(parseFixed(field, value, parser));
+            case "bid" -> tick.setBidFixed(parseFixed(field, value, parser));
+            case "ask" -> tick.setAskFixed(parseFixed(field, value, parser));
+            case "high_24h" -> tick.setHigh24hFixed(parseFixed(field, value, parser));
+            case "low_24h" -> tick.setLow24hFixed(parseFixed(field, value, parser));
+            case "open_24h" -> tick.setOpen24hFixed(parseFixed(field, value, parser));
+            case "last_size" -> tick.setLastSizeFixed(parseFixed(field, value, parser));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parseFixed(String field, JsonToken value, JsonParser parser) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return FixedPoint.NULL;
+        }
+        try {
+            return FixedPoint.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        } catch (NumberFormatException e) {
+            return rejected(field, e);
+        }
+    }
+
+    /**
+     * Parses a price or size kept as text, e.g. by the tree decoder, with the same handling of bad values.
+     * @return the scaled value, or {@link FixedPoint#NULL} for a missing, malformed or out-of-range value
+     */
+    public long toFixed(String field, String text) {
+        try {
+            return FixedPoint.parse(text);
+        } catch (NumberFormatException e) {
+            return rejected(field, e);
+        }
+    }
+
+    private long rejected(String field, NumberFormatException e) {
+        rejectedCounter.increment();
+        log.warn("Cannot represent {} value in fixed point: {}", field, e.getMessage());
+        return FixedPoint.NULL;
+    }
+}
@@ -0,0 +1,142 @@
+package com.demo.centinal.controller;
+
+import com.demo.centinal.export.TickExportFormat;
+import com.demo.centinal.export.TickHistoryExporter;
+import com.demo.centinal.model.OhlcBar;
+import com.demo.centinal.model.PricePointPage;
+import com.demo.centinal.service.MarketDataQueryService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Historical price ranges read through {@link MarketDataQueryService}: one keyset page per request, a
+ * streamed export of the whole range, or OHLC bars from the continuous aggregates.
+ */
+@RestController
+@RequestMapping("/market-data")
+public class MarketDataController {
+
+    private final MarketDataQueryService queryService;
+    private final TickHistoryExporter exporter;
+    private final long exportTimeoutMs;
+
+    public MarketDataController(MarketDataQueryService queryService,
+                                TickHistoryExporter exporter,
+                                @Value("${market.data.export.timeout-ms:3600000}") long exportTimeoutMs) {
+        if (exportTimeoutMs <= 0) {
+            throw new IllegalArgumentException("Export timeout must be positive");
+        }
+        this.queryService = queryService;
+        this.exporter = exporter;
+        this.exportTimeoutMs = exportTimeoutMs;
+    }
+
+    /**
+     * Points of a symbol in {@code [start, end)}, e.g.
+     * {@code /market-data/BTC-USD/prices?start=2024-01-01T00:00:00Z&end=2024-01-08T00:00:00Z};
+     * pass the returned {@code nextTimestamp} and {@code nextId} as {@code afterTimestamp} and {@code afterId}
+     * for the next page.
+     */
+    @GetMapping("/{symbol}/prices")
+    public PricePointPage prices(@PathVariable("symbol") String symbol,
+                                 @RequestParam("start") Instant start,
+                                 @RequestParam("end") Instant end,
+                                 @RequestParam(name = "afterTimestamp", required = false) Instant afterTimestamp,
+                                 @RequestParam(name = "afterId", required = false) Long afterId,
+                                 @RequestParam(name = "limit", defaultValue = "1000") int limit) {
+        return queryService.page(symbol, start, end, afterTimestamp, afterId, limit);
+    }
+
+    /**
+     * OHLC bars of a symbol from the continuous aggregates, e.g.
+     * {@code /market-data/BTC-USD/ohlc?start=2024-01-01T00:00:00Z&end=2024-01-08T00:00:00Z&resolution=1h}.
+     */
+    @GetMapping("/{symbol}/ohlc")
+    public List<OhlcBar> ohlc(@PathVariable("symbol") String symbol,
+                              @RequestParam("start") Instant start,
+                              @RequestParam("end") Instant end,
+                              @RequestParam(name = "resolution", defaultValue = "1m") String resolution) {
+        return queryService.ohlc(symbol, start, end, resolution);
+    }
+
+    /**
+     * Streams every point of a symbol in {@code [start, end)} as NDJSON or CSV, e.g.
+     * {@code /market-data/BTC-USD/export?start=2024-01-01T00:00:00Z&end=2024-04-01T00:00:00Z&format=csv}.
+     * Rows go out as they are read from the cursor, gzip-compressed when the client accepts it. Only this
+     * request gets the long {@code market.data.export.timeout-ms}; other async requests keep the default.
+     */
+    @GetMapping("/{symbol}/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable("symbol") String symbol,
+                                                        @RequestParam("start") Instant start,
+                                                        @RequestParam("end") Instant end,
+                                                        @RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                                        @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                                        String acceptEncoding,
+                                                        HttpServletRequest request) {
+        TickExportFormat exportFormat = TickExportFormat.fromName(format);
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ExportTimeout.class.getName(),
+            new ExportTimeout(exportTimeoutMs));
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                exporter.export(symbol, start, end, exportFormat, gzipOut);
+                gzipOut.finish();
+            } else {
+                exporter.export(symbol, start, end, exportFormat, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(symbol + "." + exportFormat.getExtension()).build().toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Invalid request parameters, such as an unknown export format or OHLC resolution.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    /**
+     * Sets the async timeout of one request just before its streaming body starts.
+     */
+    private record ExportTimeout(long timeoutMs) implements CallableProcessingInterceptor {
+
+        @Override
+        public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+            if (request instanceof AsyncWebRequest asyncRequest) {
+                asyncRequest.setTimeout(timeoutMs);
+            }
+        }
+    }
+}
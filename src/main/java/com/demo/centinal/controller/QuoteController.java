@@ -0,0 +1,41 @@
+package com.demo.centinal.controller;
+
+import com.demo.centinal.model.Quote;
+import com.demo.centinal.service.LatestQuoteCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Latest quotes served straight from the in-memory {@link LatestQuoteCache}.
+ */
+@RestController
+@RequestMapping("/quotes")
+@RequiredArgsConstructor
+public class QuoteController {
+
+    private final LatestQuoteCache quoteCache;
+
+    /**
+     * Latest quote for each requested symbol, e.g. {@code /quotes/latest?symbols=BTC-USD,ETH-USD};
+     * every cached symbol when none are given.
+     */
+    @GetMapping("/latest")
+    public List<Quote> latest(@RequestParam(name = "symbols", required = false) List<String> symbols) {
+        if (symbols == null || symbols.isEmpty()) {
+            return quoteCache.getAll();
+        }
+        return quoteCache.getAll(symbols);
+    }
+
+    @GetMapping("/latest/{symbol}")
+    public ResponseEntity<Quote> latest(@PathVariable("symbol") String symbol) {
+        return ResponseEntity.of(quoteCache.get(symbol));
+    }
+}
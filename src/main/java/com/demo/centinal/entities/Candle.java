@@ -0,0 +1,57 @@
+package com.demo.centinal.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Closed OHLCV bar built from the tick stream.
+ * Keyed by symbol, interval and open time so re-flushing a bar overwrites it.
+ */
+@Entity
+@Table(name = "candles", indexes = {
+    @Index(name = "idx_candles_open_time", columnList = "open_time")
+})
+@IdClass(CandleId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Candle {
+
+    @Id
+    @Column(name = "symbol", nullable = false, length = 20)
+    private String symbol;
+
+    // Interval label, e.g. "1m"
+    @Id
+    @Column(name = "candle_interval", nullable = false, length = 8)
+    private String interval;
+
+    @Id
+    @Column(name = "open_time", nullable = false)
+    private Instant openTime;
+
+    @Column(name = "open", precision = 20, scale = 8)
+    private BigDecimal open;
+
+    @Column(name = "high", precision = 20, scale = 8)
+    private BigDecimal high;
+
+    @Column(name = "low", precision = 20, scale = 8)
+    private BigDecimal low;
+
+    @Column(name = "close", precision = 20, scale = 8)
+    private BigDecimal close;
+
+    @Column(name = "volume", precision = 28, scale = 8)
+    private BigDecimal volume;
+
+    @Column(name = "trade_count", nullable = false)
+    private long tradeCount;
+}
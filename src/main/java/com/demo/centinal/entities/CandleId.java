@@ -0,0 +1,21 @@
+package com.demo.centinal.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Composite key of a {@link Candle}: one bar per symbol, interval and open time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CandleId implements Serializable {
+
+    private String symbol;
+    private String interval;
+    private Instant openTime;
+}
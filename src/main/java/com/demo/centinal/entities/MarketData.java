@@ -13,13 +13,15 @@ import java.time.Instant;
 
 /**
  * Entity for storing market data in TimescaleDB.
- * Optimized for time-series data with proper indexing and partitioning.
+ * Outside tests the table is created by the Flyway migrations in {@code db/migration}
+ * as a hypertable partitioned by time and symbol.
  */
 @Entity
 @Table(name = "market_data", indexes = {
-    @Index(name = "idx_market_data_timestamp", columnList = "timestamp"),
-    @Index(name = "idx_market_data_symbol", columnList = "symbol"),
-    @Index(name = "idx_market_data_exchange", columnList = "exchange")
+    @Index(name = "idx_market_data_timestamp", columnList = "timestamp DESC"),
+    @Index(name = "idx_market_data_symbol_timestamp", columnList = "symbol, timestamp DESC")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uq_market_data_symbol_timestamp_sequence", columnNames = {"symbol", "timestamp", "sequence"})
 })
 @Data
 @Builder
@@ -40,6 +42,11 @@ public class MarketData {
     @Column(name = "exchange", nullable = false, length = 50)
     private String exchange;
     
+    // Exchange sequence number, null if the message had none; part of the idempotent write key.
+    // The Flyway index treats NULLs as equal (NULLS NOT DISTINCT), which the JPA constraint cannot express
+    @Column(name = "sequence")
+    private Long sequence;
+    
     @Column(name = "price", precision = 20, scale = 8)
     private BigDecimal price;
     
@@ -68,6 +75,17 @@ public class MarketData {
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
     
+    // Size of the trade behind this ticker, feeds candle volume; not persisted
+    @Transient
+    private BigDecimal lastSize;
+    
+    // System.nanoTime() when the frame was received and when the row was committed; not persisted
+    @Transient
+    private long receivedNanos;
+    
+    @Transient
+    private long committedNanos;
+    
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
@@ -0,0 +1,50 @@
+package com.demo.centinal.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * zstd-compressed raw exchange payload of a tick, kept out of {@code market_data}.
+ * Matched to its tick by symbol, timestamp and sequence, which are also its unique key.
+ */
+@Entity
+@Table(name = "market_data_raw", indexes = {
+    @Index(name = "idx_market_data_raw_symbol_timestamp", columnList = "symbol, timestamp")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uq_market_data_raw_symbol_timestamp_sequence", columnNames = {"symbol", "timestamp", "sequence"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RawPayload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "timestamp", nullable = false)
+    private Instant timestamp;
+
+    @Column(name = "symbol", nullable = false, length = 20)
+    private String symbol;
+
+    // Exchange sequence of the tick, null if the message had none
+    @Column(name = "sequence")
+    private Long sequence;
+
+    // Id in market_data_raw_dictionaries, 0 when compressed without a dictionary
+    @Column(name = "dictionary_id", nullable = false)
+    private int dictionaryId;
+
+    @Column(name = "raw_size", nullable = false)
+    private int rawSize;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "bytea")
+    private byte[] payload;
+}
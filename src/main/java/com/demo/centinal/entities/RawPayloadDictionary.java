@@ -0,0 +1,31 @@
+package com.demo.centinal.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * zstd dictionary trained on the feed; needed to decompress the {@link RawPayload} rows that reference it.
+ */
+@Entity
+@Table(name = "market_data_raw_dictionaries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RawPayloadDictionary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(name = "dictionary", nullable = false, columnDefinition = "bytea")
+    private byte[] dictionary;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
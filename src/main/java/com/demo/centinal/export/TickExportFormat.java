@@ -0,0 +1,38 @@
+package com.demo.centinal.export;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Line format of a tick history export.
+ */
+public enum TickExportFormat {
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** Comma-separated values with a header row. */
+    CSV("text/csv", "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    TickExportFormat(String mediaType, String extension) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolves a request parameter such as {@code ndjson} or {@code csv}.
+     */
+    public static TickExportFormat fromName(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
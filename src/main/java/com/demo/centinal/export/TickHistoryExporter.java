@@ -0,0 +1,103 @@
+package com.demo.centinal.export;
+
+import com.demo.centinal.model.PricePoint;
+import com.demo.centinal.service.MarketDataQueryService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Writes the tick history of a symbol as it is read from the database cursor, so memory use does not
+ * depend on the size of the range. The caller owns the output stream and any compression around it.
+ */
+@Component
+@RequiredArgsConstructor
+public class TickHistoryExporter {
+
+    private static final String CSV_HEADER = "timestamp,price,volume,bid,ask\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MarketDataQueryService queryService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every point of a symbol in {@code [start, end)}, oldest first, in one read-only transaction.
+     * @return the number of points written
+     */
+    @Transactional(readOnly = true)
+    public long export(String symbol, Instant start, Instant end, TickExportFormat format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long count;
+        try (Stream<PricePoint> points = queryService.streamPricePoints(symbol, start, end)) {
+            count = switch (format) {
+                case NDJSON -> writeNdjson(points, writer);
+                case CSV -> writeCsv(points, writer);
+            };
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Stream<PricePoint> points, Writer writer) throws IOException {
+        ObjectWriter pointWriter = objectMapper.writerFor(PricePoint.class);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        // Leave the writer open for the caller and separate values with newlines only
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long[] count = {0};
+        points.forEach(point -> {
+            try {
+                pointWriter.writeValue(generator, point);
+                generator.writeRaw('\n');
+                count[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+        return count[0];
+    }
+
+    private long writeCsv(Stream<PricePoint> points, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        long[] count = {0};
+        points.forEach(point -> {
+            try {
+                writer.write(point.timestamp().toString());
+                writeCsvValue(writer, point.price());
+                writeCsvValue(writer, point.volume());
+                writeCsvValue(writer, point.bid());
+                writeCsvValue(writer, point.ask());
+                writer.write('\n');
+                count[0]++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return count[0];
+    }
+
+    private static void writeCsvValue(Writer writer, BigDecimal value) throws IOException {
+        writer.write(',');
+        if (value != null) {
+            writer.write(value.toPlainString());
+        }
+    }
+}
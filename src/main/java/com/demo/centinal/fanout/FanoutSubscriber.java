@@ -0,0 +1,86 @@
+package com.demo.centinal.fanout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Outbound state of one downstream client: its symbol subscriptions and a bounded queue of encoded frames.
+ * When the queue is full the client is behind, so only the newest frame per symbol is kept until it catches up;
+ * the producer never waits on a slow client.
+ */
+class FanoutSubscriber {
+
+    private final Set<String> symbols = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<Frame> queue;
+    // Newest frame per symbol that did not fit in the queue
+    private final ConcurrentHashMap<String, Frame> conflated = new ConcurrentHashMap<>();
+
+    /**
+     * One encoded tick, shared by every client subscribed to its symbol.
+     */
+    record Frame(String symbol, String text) {
+    }
+
+    FanoutSubscriber(int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    void subscribe(List<String> symbolList) {
+        symbols.addAll(symbolList);
+    }
+
+    void unsubscribe(List<String> symbolList) {
+        symbolList.forEach(symbols::remove);
+        symbolList.forEach(conflated::remove);
+    }
+
+    boolean isSubscribed(String symbol) {
+        return symbols.contains(symbol);
+    }
+
+    List<String> getSymbols() {
+        return new ArrayList<>(symbols);
+    }
+
+    /**
+     * Queues a frame without blocking.
+     * @return true if an older frame for the same symbol was replaced instead of queueing a new one
+     */
+    boolean offer(Frame frame) {
+        // Once a symbol is conflated, newer frames replace it so the client never receives them out of order
+        if (!conflated.isEmpty() && conflated.replace(frame.symbol(), frame) != null) {
+            return true;
+        }
+        if (queue.offer(frame)) {
+            return false;
+        }
+        return conflated.put(frame.symbol(), frame) != null;
+    }
+
+    /**
+     * Moves up to {@code max} frames into {@code out}, queued frames first, then the conflated ones.
+     */
+    int drainTo(List<Frame> out, int max) {
+        int drained = queue.drainTo(out, max);
+        if (drained < max && !conflated.isEmpty()) {
+            for (String symbol : conflated.keySet()) {
+                Frame latest = conflated.remove(symbol);
+                if (latest != null) {
+                    out.add(latest);
+                    if (++drained >= max) {
+                        break;
+                    }
+                }
+            }
+        }
+        return drained;
+    }
+
+    int getPendingCount() {
+        return queue.size() + conflated.size();
+    }
+}
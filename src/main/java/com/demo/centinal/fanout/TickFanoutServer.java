@@ -0,0 +1,238 @@
+package com.demo.centinal.fanout;
+
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.model.Quote;
+import com.demo.centinal.service.MarketTickListener;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-publishes normalized ticks to internal clients over a WebSocket, so downstream services share this
+ * feed handler instead of each opening its own exchange connection.
+ * <p>
+ * A client sends {@code {"type":"subscribe","symbols":["BTC-USD"]}} (or {@code unsubscribe}) and receives one
+ * {@code {"type":"ticker",...}} frame per tick with the fields of {@link Quote}. Each tick is encoded once and
+ * queued per client; a dispatcher thread writes the queues to the sockets. A client that falls behind only gets
+ * the newest tick per symbol until it catches up, so a slow consumer never blocks ingestion.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "market.data.fanout.enabled", havingValue = "true")
+public class TickFanoutServer implements MarketTickListener {
+
+    private static final int DRAIN_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final int maxBufferedFrames;
+    private final Map<WebSocket, FanoutSubscriber> subscribers = new ConcurrentHashMap<>();
+    private final Server server;
+    private final Counter conflatedCounter;
+    private final Thread dispatcher;
+    private volatile boolean running;
+
+    public TickFanoutServer(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${market.data.fanout.host:0.0.0.0}") String host,
+                            @Value("${market.data.fanout.port:8090}") int port,
+                            @Value("${market.data.fanout.queue-capacity:1024}") int queueCapacity,
+                            @Value("${market.data.fanout.max-buffered-frames:4096}") int maxBufferedFrames) {
+        if (queueCapacity <= 0 || maxBufferedFrames <= 0) {
+            throw new IllegalArgumentException("Fan-out queue capacity and buffered frame limit must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.maxBufferedFrames = maxBufferedFrames;
+        this.server = new Server(new InetSocketAddress(host, port));
+        this.conflatedCounter = Counter.builder("market.data.fanout.conflated")
+            .description("Ticks replaced by a newer tick for the same symbol because a fan-out client fell behind")
+            .register(meterRegistry);
+        meterRegistry.gauge("market.data.fanout.clients", subscribers, Map::size);
+        this.dispatcher = new Thread(this::runDispatchLoop, "market-data-fanout");
+        this.dispatcher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        server.start();
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        try {
+            server.stop(1000);
+            dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Port the server is bound to, useful when configured with port 0.
+     */
+    public int getPort() {
+        return server.getPort();
+    }
+
+    @Override
+    public void onTick(MarketTick tick) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String symbol = tick.getProductId();
+        FanoutSubscriber.Frame frame = null;
+        for (FanoutSubscriber subscriber : subscribers.values()) {
+            if (!subscriber.isSubscribed(symbol)) {
+                continue;
+            }
+            if (frame == null) {
+                frame = new FanoutSubscriber.Frame(symbol, encode(tick));
+            }
+            if (subscriber.offer(frame)) {
+                conflatedCounter.increment();
+            }
+        }
+        if (frame != null) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    private String encode(MarketTick tick) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("type", "ticker");
+        node.setAll((ObjectNode) objectMapper.valueToTree(Quote.from(tick)));
+        return node.toString();
+    }
+
+    /**
+     * Writes queued frames to every client whose socket is not backed up, parking when there is nothing to send.
+     */
+    private void runDispatchLoop() {
+        List<FanoutSubscriber.Frame> batch = new ArrayList<>(DRAIN_BATCH);
+        while (running) {
+            boolean sent = false;
+            for (Map.Entry<WebSocket, FanoutSubscriber> entry : subscribers.entrySet()) {
+                WebSocket conn = entry.getKey();
+                if (!conn.isOpen() || isBackedUp(conn)) {
+                    continue;
+                }
+                batch.clear();
+                if (entry.getValue().drainTo(batch, DRAIN_BATCH) == 0) {
+                    continue;
+                }
+                try {
+                    for (FanoutSubscriber.Frame frame : batch) {
+                        conn.send(frame.text());
+                    }
+                    sent = true;
+                } catch (RuntimeException e) {
+                    log.debug("Dropping frames for closed fan-out client {}", conn.getRemoteSocketAddress(), e);
+                }
+            }
+            if (!sent) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private boolean isBackedUp(WebSocket conn) {
+        return conn instanceof WebSocketImpl impl && impl.outQueue.size() >= maxBufferedFrames;
+    }
+
+    private void handleRequest(WebSocket conn, String message) {
+        FanoutSubscriber subscriber = subscribers.get(conn);
+        if (subscriber == null) {
+            return;
+        }
+        JsonNode request;
+        try {
+            request = objectMapper.readTree(message);
+        } catch (JsonProcessingException e) {
+            sendError(conn, "malformed JSON");
+            return;
+        }
+        List<String> symbols = new ArrayList<>();
+        request.path("symbols").forEach(node -> symbols.add(node.asText()));
+        switch (request.path("type").asText()) {
+            case "subscribe" -> subscriber.subscribe(symbols);
+            case "unsubscribe" -> subscriber.unsubscribe(symbols);
+            default -> {
+                sendError(conn, "type must be subscribe or unsubscribe");
+                return;
+            }
+        }
+        ObjectNode reply = objectMapper.createObjectNode();
+        reply.put("type", "subscriptions");
+        reply.set("symbols", objectMapper.valueToTree(subscriber.getSymbols()));
+        conn.send(reply.toString());
+    }
+
+    private void sendError(WebSocket conn, String reason) {
+        ObjectNode reply = objectMapper.createObjectNode();
+        reply.put("type", "error");
+        reply.put("reason", reason);
+        conn.send(reply.toString());
+    }
+
+    private class Server extends WebSocketServer {
+
+        Server(InetSocketAddress address) {
+            super(address);
+            setReuseAddr(true);
+            setTcpNoDelay(true);
+        }
+
+        @Override
+        public void onStart() {
+            log.info("Tick fan-out listening on port {}", getPort());
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            subscribers.put(conn, new FanoutSubscriber(queueCapacity));
+            log.debug("Fan-out client connected from {}", conn.getRemoteSocketAddress());
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+            subscribers.remove(conn);
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            handleRequest(conn, message);
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+            log.warn("Tick fan-out error for {}", conn != null ? conn.getRemoteSocketAddress() : "server", ex);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.demo.centinal.journal;
+
+import com.demo.centinal.client.CoinbaseWebsocketClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Append-only write-ahead journal of raw feed frames on rolling memory-mapped segment files.
+ * Every frame is written with its connection id and receive time on the socket thread, before it is parsed,
+ * so the feed can be replayed after an outage or a schema change. Writes go to the page cache; a segment is
+ * forced to disk when it is rolled and on shutdown. See {@link FrameJournalReader} for reading it back.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "market.data.journal.enabled", havingValue = "true")
+public class FrameJournal {
+
+    private final CoinbaseWebsocketClient coinbaseClient;
+    private final Path directory;
+    private final int segmentSize;
+    private final int retainSegments;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    // Maps System.nanoTime() receive stamps onto wall-clock time
+    private final long baseNanos;
+    private final long baseEpochNanos;
+    private MappedByteBuffer segment;
+    private long segmentIndex = -1;
+    private long appendedCount;
+
+    public FrameJournal(CoinbaseWebsocketClient coinbaseClient,
+                        @Value("${market.data.journal.dir:journal}") String directory,
+                        @Value("${market.data.journal.segment-size-mb:256}") int segmentSizeMb,
+                        @Value("${market.data.journal.retain-segments:0}") int retainSegments) {
+        if (segmentSizeMb <= 0 || segmentSizeMb > 2047 || retainSegments < 0) {
+            throw new IllegalArgumentException("Segment size must be 1-2047 MB and retained segments non-negative");
+        }
+        this.coinbaseClient = coinbaseClient;
+        this.directory = Path.of(directory);
+        this.segmentSize = segmentSizeMb * 1024 * 1024;
+        this.retainSegments = retainSegments;
+        Instant now = Instant.now();
+        this.baseNanos = System.nanoTime();
+        this.baseEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    /**
+     * Opens a fresh segment after any existing ones and starts recording frames from the client.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        long[] existing = JournalFiles.segmentIndexes(directory);
+        synchronized (this) {
+            segmentIndex = existing.length > 0 ? existing[existing.length - 1] : -1;
+            roll();
+        }
+        coinbaseClient.setFrameRecorder((connectionId, message, source, receivedNanos) ->
+            append(connectionId, message, receivedNanos));
+        log.info("Frame journal recording to {} in {} MB segments", directory.toAbsolutePath(), segmentSize >> 20);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        coinbaseClient.setFrameRecorder(null);
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+    }
+
+    /**
+     * Appends one frame. Never throws, so a journal problem cannot stop the feed; failures are logged.
+     * @param receivedNanos {@link System#nanoTime()} when the frame was read from the socket
+     */
+    public synchronized void append(int connectionId, String message, long receivedNanos) {
+        if (segment == null || message == null || message.isEmpty()) {
+            return;
+        }
+        long receivedEpochNanos = baseEpochNanos + (receivedNanos - baseNanos);
+        CharBuffer chars = CharBuffer.wrap(message);
+        try {
+            while (!tryAppend(connectionId, receivedEpochNanos, chars)) {
+                if (segment.position() == 0) {
+                    log.warn("Dropping {} char frame that does not fit in an empty journal segment", message.length());
+                    return;
+                }
+                segment.putInt(segment.position(), JournalFiles.END_OF_SEGMENT);
+                roll();
+                chars.rewind();
+            }
+            appendedCount++;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to journal frame from connection {}", connectionId, e);
+        }
+    }
+
+    /**
+     * Encodes the frame straight into the mapped segment; the length is written last, so a reader only
+     * sees the record once it is complete.
+     * @return false if the frame did not fit in the rest of the segment
+     */
+    private boolean tryAppend(int connectionId, long receivedEpochNanos, CharBuffer chars) {
+        int start = segment.position();
+        // Room for the header and the end-of-segment marker that may have to follow it
+        if (segment.remaining() <= JournalFiles.HEADER_BYTES + Integer.BYTES) {
+            return false;
+        }
+        segment.limit(segment.capacity() - Integer.BYTES);
+        segment.position(start + JournalFiles.HEADER_BYTES);
+        encoder.reset();
+        CoderResult result = encoder.encode(chars, segment, true);
+        if (!result.isOverflow()) {
+            result = encoder.flush(segment);
+        }
+        int end = segment.position();
+        segment.limit(segment.capacity());
+        if (result.isOverflow()) {
+            segment.position(start);
+            return false;
+        }
+        segment.putInt(start + 4, connectionId);
+        segment.putLong(start + 8, receivedEpochNanos);
+        segment.putInt(start, end - start - JournalFiles.HEADER_BYTES);
+        segment.position(end);
+        return true;
+    }
+
+    private void roll() throws IOException {
+        if (segment != null) {
+            segment.force();
+        }
+        segmentIndex++;
+        Path path = JournalFiles.segmentPath(directory, segmentIndex);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        log.debug("Journal rolled to segment {}", path);
+        if (retainSegments > 0) {
+            for (long index : JournalFiles.segmentIndexes(directory)) {
+                if (index <= segmentIndex - retainSegments) {
+                    Files.deleteIfExists(JournalFiles.segmentPath(directory, index));
+                }
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Number of frames appended since startup.
+     */
+    public synchronized long getAppendedCount() {
+        return appendedCount;
+    }
+}
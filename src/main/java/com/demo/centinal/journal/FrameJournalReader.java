@@ -0,0 +1,132 @@
+package com.demo.centinal.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Reads frames back from a {@link FrameJournal} directory, oldest segment first.
+ * Works on a journal that is still being written: {@link #poll()} returns null once it has caught up
+ * with the writer and picks up new frames on the next call, so it can be used both to replay and to tail.
+ * Not thread-safe; use one reader per consumer.
+ */
+@Slf4j
+public class FrameJournalReader implements AutoCloseable {
+
+    private final Path directory;
+    private final byte[] scratch;
+    private MappedByteBuffer segment;
+    private long segmentIndex = -1;
+    private long readCount;
+
+    public FrameJournalReader(Path directory) {
+        this.directory = directory;
+        this.scratch = new byte[64 * 1024];
+    }
+
+    /**
+     * Next frame in the journal, or null if none has been written yet.
+     */
+    public JournalFrame poll() throws IOException {
+        while (true) {
+            if (segment == null && !openNextSegment()) {
+                return null;
+            }
+            int position = segment.position();
+            if (segment.capacity() - position < Integer.BYTES) {
+                if (!openNextSegment()) {
+                    return null;
+                }
+                continue;
+            }
+            int length = segment.getInt(position);
+            if (length == JournalFiles.END_OF_SEGMENT) {
+                if (!openNextSegment()) {
+                    return null;
+                }
+                continue;
+            }
+            if (length == 0) {
+                // Either the writer has not got here yet, or it stopped and a later run started a new segment
+                if (hasNewerSegment() && openNextSegment()) {
+                    continue;
+                }
+                return null;
+            }
+            if (length < 0 || position + JournalFiles.HEADER_BYTES + length > segment.capacity()) {
+                log.warn("Corrupt record at {} in journal segment {}, skipping the rest of it", position, segmentIndex);
+                if (!openNextSegment()) {
+                    segment.position(segment.capacity());
+                    return null;
+                }
+                continue;
+            }
+            int connectionId = segment.getInt(position + 4);
+            long receivedEpochNanos = segment.getLong(position + 8);
+            byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+            segment.get(position + JournalFiles.HEADER_BYTES, bytes, 0, length);
+            segment.position(position + JournalFiles.HEADER_BYTES + length);
+            readCount++;
+            return new JournalFrame(connectionId, receivedEpochNanos, new String(bytes, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Passes every frame written so far to the consumer, in order.
+     * @return the number of frames read
+     */
+    public long replay(Consumer<JournalFrame> consumer) throws IOException {
+        long count = 0;
+        JournalFrame frame;
+        while ((frame = poll()) != null) {
+            consumer.accept(frame);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Number of frames returned by this reader.
+     */
+    public long getReadCount() {
+        return readCount;
+    }
+
+    @Override
+    public void close() {
+        segment = null;
+    }
+
+    /**
+     * Maps the first segment after the current one; segments removed by retention are skipped over.
+     * @return false, keeping the current position, if there is no later segment yet
+     */
+    private boolean openNextSegment() throws IOException {
+        for (long index : JournalFiles.segmentIndexes(directory)) {
+            if (index > segmentIndex) {
+                Path path = JournalFiles.segmentPath(directory, index);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    if (channel.size() < JournalFiles.HEADER_BYTES) {
+                        // Created but not yet mapped by the writer
+                        return false;
+                    }
+                    segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+                segmentIndex = index;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasNewerSegment() throws IOException {
+        long[] indexes = JournalFiles.segmentIndexes(directory);
+        return indexes.length > 0 && indexes[indexes.length - 1] > segmentIndex;
+    }
+}
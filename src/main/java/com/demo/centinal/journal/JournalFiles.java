@@ -0,0 +1,44 @@
+package com.demo.centinal.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Segment file layout shared by the journal writer and reader.
+ * Segments are named by a zero-padded, increasing index so they sort in write order. Each holds records of
+ * {@code int length | int connectionId | long receivedEpochNanos | length bytes of UTF-8}; a length of 0 marks
+ * space not written yet and {@link #END_OF_SEGMENT} tells readers to move on to the next segment.
+ */
+final class JournalFiles {
+
+    static final int HEADER_BYTES = 16;
+    static final int END_OF_SEGMENT = -1;
+
+    private static final String PREFIX = "frames-";
+    private static final String SUFFIX = ".journal";
+
+    private JournalFiles() {
+    }
+
+    static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, index, SUFFIX));
+    }
+
+    /**
+     * Indexes of the segments present in the directory, ascending.
+     */
+    static long[] segmentIndexes(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new long[0];
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                .mapToLong(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                .sorted()
+                .toArray();
+        }
+    }
+}
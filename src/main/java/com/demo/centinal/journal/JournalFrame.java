@@ -0,0 +1,16 @@
+package com.demo.centinal.journal;
+
+import java.time.Instant;
+
+/**
+ * One raw feed frame read back from the journal.
+ * @param connectionId the feed connection the frame arrived on
+ * @param receivedEpochNanos wall-clock receive time in nanoseconds since the epoch
+ * @param message the frame text exactly as received
+ */
+public record JournalFrame(int connectionId, long receivedEpochNanos, String message) {
+
+    public Instant receivedAt() {
+        return Instant.ofEpochSecond(0, receivedEpochNanos);
+    }
+}
@@ -0,0 +1,117 @@
+package com.demo.centinal.journal;
+
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.persistence.CopyMarketDataBatchSink;
+import com.demo.centinal.persistence.MarketDataBatchSink;
+import com.demo.centinal.service.MarketDataStreamingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds market data from a {@link FrameJournal} instead of the live feed.
+ * Frames go through the normal parser, so tick listeners such as candles and quotes see them too,
+ * and the ticks are written straight to the {@link MarketDataBatchSink} in large batches. With the JDBC sink,
+ * rows already stored are skipped, so a journal can be replayed into a populated table.
+ * Runs once at startup; the WebSocket is not connected while replay is enabled.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "market.data.replay.enabled", havingValue = "true")
+public class JournalReplayer implements ApplicationRunner {
+
+    private final MarketDataStreamingService streamingService;
+    private final MarketDataBatchSink batchSink;
+    private final Path directory;
+    private final double speed;
+    private final int batchSize;
+
+    public JournalReplayer(MarketDataStreamingService streamingService,
+                           MarketDataBatchSink batchSink,
+                           @Value("${market.data.replay.dir:${market.data.journal.dir:journal}}") String directory,
+                           @Value("${market.data.replay.speed:0}") double speed,
+                           @Value("${market.data.replay.batch-size:5000}") int batchSize) {
+        if (speed < 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Replay speed must be non-negative and batch size positive");
+        }
+        this.streamingService = streamingService;
+        this.batchSink = batchSink;
+        this.directory = Path.of(directory);
+        this.speed = speed;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (batchSink instanceof CopyMarketDataBatchSink) {
+            log.warn("The copy sink cannot skip duplicates; ticks already in market_data will be stored twice");
+        }
+        log.info("Replaying journal {} at {}", directory.toAbsolutePath(), speed > 0 ? speed + "x" : "full speed");
+        long start = System.nanoTime();
+        long written = replay();
+        log.info("Journal replay finished: {} ticks written in {} ms",
+            written, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Replays every frame currently in the journal.
+     * With a positive speed frames keep their recorded spacing divided by the speed, otherwise they are
+     * replayed as fast as they can be parsed and written.
+     * @return the number of ticks written
+     */
+    public long replay() throws IOException, InterruptedException {
+        MarketTick tick = new MarketTick();
+        List<MarketData> batch = new ArrayList<>(batchSize);
+        long written = 0;
+        long firstFrameNanos = 0;
+        long startNanos = System.nanoTime();
+        boolean first = true;
+        try (FrameJournalReader reader = new FrameJournalReader(directory)) {
+            JournalFrame frame;
+            while ((frame = reader.poll()) != null) {
+                if (speed > 0) {
+                    if (first) {
+                        firstFrameNanos = frame.receivedEpochNanos();
+                        first = false;
+                    }
+                    long dueNanos = (long) ((frame.receivedEpochNanos() - firstFrameNanos) / speed);
+                    long waitNanos = dueNanos - (System.nanoTime() - startNanos);
+                    if (waitNanos > 0) {
+                        // Do not hold ticks back while waiting for the next frame
+                        written += flush(batch);
+                        TimeUnit.NANOSECONDS.sleep(waitNanos);
+                    }
+                }
+                // A receive time of 0 keeps replayed frames out of the live latency histograms
+                MarketData marketData = streamingService.parseMarketDataMessage(frame.message(), tick, 0);
+                if (marketData != null) {
+                    batch.add(marketData);
+                    if (batch.size() >= batchSize) {
+                        written += flush(batch);
+                    }
+                }
+            }
+        }
+        return written + flush(batch);
+    }
+
+    private int flush(List<MarketData> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int size = batch.size();
+        batchSink.writeBatch(batch);
+        batch.clear();
+        return size;
+    }
+}
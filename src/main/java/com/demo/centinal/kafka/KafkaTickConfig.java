@@ -0,0 +1,59 @@
+package com.demo.centinal.kafka;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.Map;
+
+/**
+ * Producer and topic for {@link KafkaTickPublisher}.
+ * Connection and tuning come from {@code spring.kafka.producer.*}; the serializers are fixed here (values arrive
+ * already encoded by the publisher), and batching, compression and idempotence get throughput-oriented
+ * defaults unless configured explicitly.
+ */
+@Configuration
+@ConditionalOnProperty(name = "market.data.kafka.enabled", havingValue = "true")
+public class KafkaTickConfig {
+
+    /**
+     * Producer settings used when {@code spring.kafka.producer} does not set them.
+     */
+    static Map<String, Object> producerDefaults() {
+        return Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 5,
+            ProducerConfig.BATCH_SIZE_CONFIG, 128 * 1024,
+            ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4",
+            ProducerConfig.ACKS_CONFIG, "all",
+            ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+    }
+
+    @Bean
+    public ProducerFactory<String, byte[]> tickProducerFactory(KafkaProperties kafkaProperties) {
+        Map<String, Object> config = kafkaProperties.buildProducerProperties(null);
+        producerDefaults().forEach(config::putIfAbsent);
+        return new DefaultKafkaProducerFactory<>(config, new StringSerializer(), new ByteArraySerializer());
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> tickKafkaTemplate(ProducerFactory<String, byte[]> tickProducerFactory) {
+        return new KafkaTemplate<>(tickProducerFactory);
+    }
+
+    @Bean
+    public NewTopic tickTopic(@Value("${market.data.kafka.topic:market-data.ticks}") String topic,
+                              @Value("${market.data.kafka.partitions:12}") int partitions,
+                              @Value("${market.data.kafka.replicas:1}") short replicas) {
+        return TopicBuilder.name(topic).partitions(partitions).replicas(replicas).build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.demo.centinal.kafka;
+
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.persistence.CopyMarketDataBatchSink;
+import com.demo.centinal.persistence.MarketDataBatchSink;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persistence worker: consumes the tick topic as part of a consumer group and writes each polled batch
+ * straight to the {@link MarketDataBatchSink}. Offsets are committed only after the sink has committed,
+ * so a crash redelivers the batch (at-least-once) and the sink's idempotent insert drops the repeats.
+ * A failed write is retried indefinitely, pausing the assigned partitions until the database is back.
+ * Kafka values carry no exchange frame, so the rows written here have no {@code raw_data}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "market.data.kafka.consumer.enabled", havingValue = "true")
+public class KafkaTickConsumer implements BatchMessageListener<String, MarketData> {
+
+    private final ConsumerFactory<String, MarketData> consumerFactory;
+    private final MarketDataBatchSink batchSink;
+    private final String topic;
+    private final int concurrency;
+    private final long retryIntervalMs;
+    private ConcurrentMessageListenerContainer<String, MarketData> container;
+
+    public KafkaTickConsumer(ConsumerFactory<String, MarketData> tickConsumerFactory,
+                             MarketDataBatchSink batchSink,
+                             @Value("${market.data.kafka.topic:market-data.ticks}") String topic,
+                             @Value("${market.data.kafka.consumer.concurrency:1}") int concurrency,
+                             @Value("${market.data.kafka.consumer.retry-interval-ms:1000}") long retryIntervalMs) {
+        if (concurrency <= 0 || retryIntervalMs < 0) {
+            throw new IllegalArgumentException("Consumer concurrency must be positive and retry interval non-negative");
+        }
+        this.consumerFactory = tickConsumerFactory;
+        this.batchSink = batchSink;
+        this.topic = topic;
+        this.concurrency = concurrency;
+        this.retryIntervalMs = retryIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (batchSink instanceof CopyMarketDataBatchSink) {
+            log.warn("The copy sink cannot skip duplicates; redelivered Kafka batches will be stored twice");
+        }
+        ContainerProperties properties = new ContainerProperties(topic);
+        // Commit the polled offsets once onMessage has returned, i.e. after the database commit
+        properties.setAckMode(ContainerProperties.AckMode.BATCH);
+        properties.setMessageListener(this);
+        container = new ConcurrentMessageListenerContainer<>(consumerFactory, properties);
+        container.setConcurrency(concurrency);
+        container.setCommonErrorHandler(new DefaultErrorHandler(
+            new FixedBackOff(retryIntervalMs, FixedBackOff.UNLIMITED_ATTEMPTS)));
+        container.start();
+        log.info("Consuming {} with {} consumer thread(s)", topic, concurrency);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Override
+    public void onMessage(List<ConsumerRecord<String, MarketData>> records) {
+        List<MarketData> batch = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, MarketData> record : records) {
+            // Null when the value could not be decoded; skip it rather than blocking the partition
+            if (record.value() == null) {
+                log.warn("Skipping undecodable tick at {}-{}@{}", record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            batch.add(record.value());
+        }
+        if (!batch.isEmpty()) {
+            batchSink.writeBatch(batch);
+        }
+    }
+}
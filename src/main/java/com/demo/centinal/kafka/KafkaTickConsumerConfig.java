@@ -0,0 +1,52 @@
+package com.demo.centinal.kafka;
+
+import com.demo.centinal.codec.IdDictionary;
+import com.demo.centinal.entities.MarketData;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+import java.util.Map;
+
+/**
+ * Consumer for {@link KafkaTickConsumer}.
+ * Connection and tuning come from {@code spring.kafka.consumer.*}; auto-commit is always off because the
+ * worker commits after each database flush, and undecodable values arrive as null instead of failing the poll.
+ */
+@Configuration
+@ConditionalOnProperty(name = "market.data.kafka.consumer.enabled", havingValue = "true")
+public class KafkaTickConsumerConfig {
+
+    /**
+     * Consumer settings used when {@code spring.kafka.consumer} does not set them.
+     */
+    static Map<String, Object> consumerDefaults() {
+        return Map.of(
+            ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 5000,
+            ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 64 * 1024,
+            ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 50,
+            ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    }
+
+    @Bean
+    public ConsumerFactory<String, MarketData> tickConsumerFactory(
+            KafkaProperties kafkaProperties,
+            @Qualifier("tickSymbolDictionary") IdDictionary symbols,
+            @Qualifier("tickExchangeDictionary") IdDictionary exchanges,
+            @Value("${market.data.kafka.consumer.group-id:centinal-writers}") String groupId) {
+        Map<String, Object> config = kafkaProperties.buildConsumerProperties(null);
+        consumerDefaults().forEach(config::putIfAbsent);
+        config.putIfAbsent(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(),
+            new ErrorHandlingDeserializer<>(new MarketDataDeserializer(symbols, exchanges)));
+    }
+}
@@ -0,0 +1,84 @@
+package com.demo.centinal.kafka;
+
+import com.demo.centinal.codec.IdDictionary;
+import com.demo.centinal.codec.IsoTimestamps;
+import com.demo.centinal.codec.TickWireCodec;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.service.MarketTickListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Publishes every accepted tick to a Kafka topic keyed by symbol, so all ticks of a symbol land on one
+ * partition in order. The tick is encoded straight from its fixed-point fields into a {@link TickWireCodec}
+ * message, the same value format {@link MarketDataSerializer} writes. Sends are asynchronous: the producer
+ * batches and compresses them in the background, and a failed send, whether it throws or completes
+ * exceptionally, is logged and counted rather than stalling the parsing thread. Startup fails if a subscribed
+ * symbol has no wire id, rather than every one of its ticks failing to publish.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "market.data.kafka.enabled", havingValue = "true")
+public class KafkaTickPublisher implements MarketTickListener {
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final IdDictionary symbols;
+    private final IdDictionary exchanges;
+    private final String topic;
+    private final Counter failedCounter;
+
+    public KafkaTickPublisher(KafkaTemplate<String, byte[]> tickKafkaTemplate,
+                              @Qualifier("tickSymbolDictionary") IdDictionary symbols,
+                              @Qualifier("tickExchangeDictionary") IdDictionary exchanges,
+                              @Value("${market.data.symbols:BTC-USD}") List<String> subscribedSymbols,
+                              MeterRegistry meterRegistry,
+                              @Value("${market.data.kafka.topic:market-data.ticks}") String topic) {
+        for (String symbol : subscribedSymbols) {
+            if (symbols.idOf(symbol) == IdDictionary.UNKNOWN) {
+                throw new IllegalArgumentException(
+                    "Subscribed symbol " + symbol + " is missing from market.data.kafka.symbol-ids");
+            }
+        }
+        this.kafkaTemplate = tickKafkaTemplate;
+        this.symbols = symbols;
+        this.exchanges = exchanges;
+        this.topic = topic;
+        this.failedCounter = Counter.builder("market.data.kafka.failed")
+            .description("Ticks the Kafka producer failed to publish")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void onTick(MarketTick tick) {
+        // The tick holder is reused after this call, so the symbol is captured for the completion callback
+        String symbol = tick.getProductId();
+        try {
+            byte[] value = new byte[TickWireCodec.ENCODED_LENGTH];
+            TickWireCodec.encode(tick, symbols, exchanges.idOf(tick.getExchange()), IsoTimestamps.NULL,
+                ByteBuffer.wrap(value), 0);
+            kafkaTemplate.send(topic, symbol, value).whenComplete((result, ex) -> {
+                if (ex != null) {
+                    failed(symbol, ex);
+                }
+            });
+        } catch (RuntimeException e) {
+            // A symbol or exchange missing from the wire dictionaries, a full buffer past max.block.ms
+            // and a closed producer throw from here
+            failed(symbol, e);
+        }
+    }
+
+    private void failed(String symbol, Throwable cause) {
+        failedCounter.increment();
+        log.warn("Failed to publish {} tick to {}", symbol, topic, cause);
+    }
+}
@@ -0,0 +1,36 @@
+package com.demo.centinal.kafka;
+
+import com.demo.centinal.codec.IdDictionary;
+import com.demo.centinal.codec.TickWireView;
+import com.demo.centinal.entities.MarketData;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Kafka value deserializer for consumers of the tick topic, the counterpart of {@link MarketDataSerializer}.
+ */
+public class MarketDataDeserializer implements Deserializer<MarketData> {
+
+    private final IdDictionary symbols;
+    private final IdDictionary exchanges;
+
+    public MarketDataDeserializer(IdDictionary symbols, IdDictionary exchanges) {
+        this.symbols = symbols;
+        this.exchanges = exchanges;
+    }
+
+    @Override
+    public MarketData deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            // A new view per record: one deserializer instance is shared by all consumer threads
+            return new TickWireView().wrap(ByteBuffer.wrap(data), 0).toMarketData(symbols, exchanges);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Cannot decode tick from topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.demo.centinal.kafka;
+
+import com.demo.centinal.codec.IdDictionary;
+import com.demo.centinal.codec.TickWireCodec;
+import com.demo.centinal.entities.MarketData;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Kafka value serializer writing ticks as fixed {@link TickWireCodec} messages, with symbol and exchange ids
+ * from the dictionaries of {@link TickWireDictionaryConfig}.
+ */
+public class MarketDataSerializer implements Serializer<MarketData> {
+
+    private final IdDictionary symbols;
+    private final IdDictionary exchanges;
+
+    public MarketDataSerializer(IdDictionary symbols, IdDictionary exchanges) {
+        this.symbols = symbols;
+        this.exchanges = exchanges;
+    }
+
+    @Override
+    public byte[] serialize(String topic, MarketData data) {
+        if (data == null) {
+            return null;
+        }
+        byte[] bytes = new byte[TickWireCodec.ENCODED_LENGTH];
+        try {
+            TickWireCodec.encode(data, symbols, exchanges, ByteBuffer.wrap(bytes), 0);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new SerializationException("Cannot encode " + data.getSymbol() + " tick for topic " + topic, e);
+        }
+        return bytes;
+    }
+}
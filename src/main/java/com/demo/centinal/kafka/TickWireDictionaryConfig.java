@@ -0,0 +1,28 @@
+package com.demo.centinal.kafka;
+
+import com.demo.centinal.codec.IdDictionary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Symbol and exchange dictionaries of the tick topic's {@link com.demo.centinal.codec.TickWireCodec} values.
+ * Ids are list positions in {@code market.data.kafka.symbol-ids} and {@code market.data.kafka.exchanges}.
+ * Both lists are append-only registries, independent of what is subscribed: a name is never removed or moved,
+ * so ids already on the topic keep their meaning and instances with an older list still decode them.
+ */
+@Configuration
+public class TickWireDictionaryConfig {
+
+    @Bean
+    public IdDictionary tickSymbolDictionary(@Value("${market.data.kafka.symbol-ids:BTC-USD}") List<String> symbols) {
+        return new IdDictionary(symbols);
+    }
+
+    @Bean
+    public IdDictionary tickExchangeDictionary(@Value("${market.data.kafka.exchanges:coinbase}") List<String> exchanges) {
+        return new IdDictionary(exchanges);
+    }
+}
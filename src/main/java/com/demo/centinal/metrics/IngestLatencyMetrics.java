@@ -0,0 +1,93 @@
+package com.demo.centinal.metrics;
+
+import com.demo.centinal.codec.IsoTimestamps;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.MarketTick;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histograms for the ingest path:
+ * exchange time to socket receive, socket receive to parsed, and socket receive to committed.
+ * Receive times are {@link System#nanoTime()} values; they are mapped onto wall-clock time with a
+ * base captured at startup so the wire latency can be compared with the exchange timestamp.
+ */
+@Component
+public class IngestLatencyMetrics {
+
+    private final Timer wireToReceive;
+    private final Timer receiveToParse;
+    private final Timer receiveToCommit;
+    private final long baseNanos;
+    private final long baseEpochMicros;
+
+    public IngestLatencyMetrics(MeterRegistry meterRegistry) {
+        this.wireToReceive = histogram(meterRegistry, "market.data.latency.wire-to-receive",
+            "Exchange timestamp to socket receive");
+        this.receiveToParse = histogram(meterRegistry, "market.data.latency.receive-to-parse",
+            "Socket receive to parsed tick");
+        this.receiveToCommit = histogram(meterRegistry, "market.data.latency.receive-to-commit",
+            "Socket receive to committed database row");
+        Instant now = Instant.now();
+        this.baseNanos = System.nanoTime();
+        this.baseEpochMicros = now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000;
+    }
+
+    private static Timer histogram(MeterRegistry meterRegistry, String name, String description) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    /**
+     * Records wire and parse latency once a tick has been decoded.
+     */
+    public void recordParsed(MarketTick tick) {
+        long receivedNanos = tick.getReceivedNanos();
+        if (receivedNanos == 0) {
+            return;
+        }
+        receiveToParse.record(tick.getParsedNanos() - receivedNanos, TimeUnit.NANOSECONDS);
+        if (tick.getExchangeTimeMicros() != IsoTimestamps.NULL) {
+            long wireMicros = toEpochMicros(receivedNanos) - tick.getExchangeTimeMicros();
+            // Negative values only mean the clocks disagree; they carry no latency information
+            if (wireMicros >= 0) {
+                wireToReceive.record(wireMicros, TimeUnit.MICROSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Records commit latency for ticks that have just been committed.
+     */
+    public void recordCommitted(List<MarketData> committed) {
+        long committedNanos = System.nanoTime();
+        for (MarketData marketData : committed) {
+            recordCommitted(marketData, committedNanos);
+        }
+    }
+
+    public void recordCommitted(MarketData marketData) {
+        recordCommitted(marketData, System.nanoTime());
+    }
+
+    private void recordCommitted(MarketData marketData, long committedNanos) {
+        marketData.setCommittedNanos(committedNanos);
+        if (marketData.getReceivedNanos() != 0) {
+            receiveToCommit.record(committedNanos - marketData.getReceivedNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Maps a {@link System#nanoTime()} reading onto epoch microseconds.
+     */
+    public long toEpochMicros(long nanoTime) {
+        return baseEpochMicros + (nanoTime - baseNanos) / 1_000;
+    }
+}
@@ -0,0 +1,47 @@
+package com.demo.centinal.model;
+
+import java.time.Duration;
+
+/**
+ * Bar widths maintained by the candle engine. Buckets are aligned to the epoch, so a 1h bar
+ * always opens on the hour (UTC).
+ */
+public enum CandleInterval {
+    ONE_SECOND("1s", Duration.ofSeconds(1)),
+    ONE_MINUTE("1m", Duration.ofMinutes(1)),
+    FIVE_MINUTES("5m", Duration.ofMinutes(5)),
+    ONE_HOUR("1h", Duration.ofHours(1)),
+    ONE_DAY("1d", Duration.ofDays(1));
+
+    private final String label;
+    private final long millis;
+
+    CandleInterval(String label, Duration duration) {
+        this.label = label;
+        this.millis = duration.toMillis();
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Start of the bar containing the given instant, in epoch milliseconds.
+     */
+    public long bucketStart(long epochMillis) {
+        return epochMillis - Math.floorMod(epochMillis, millis);
+    }
+
+    public static CandleInterval fromLabel(String label) {
+        for (CandleInterval interval : values()) {
+            if (interval.label.equalsIgnoreCase(label.trim())) {
+                return interval;
+            }
+        }
+        throw new IllegalArgumentException("Unknown candle interval: " + label);
+    }
+}
@@ -15,10 +15,13 @@ public class MarketDataEvent {
     private String message;
     private String source;
     private long timestamp;
+    // System.nanoTime() at receive, used for latency measurement only
+    private long receivedNanos;
 
     public MarketDataEvent(String message, String source) {
         this.message = message;
         this.source = source;
         this.timestamp = System.currentTimeMillis();
+        this.receivedNanos = System.nanoTime();
     }
 }
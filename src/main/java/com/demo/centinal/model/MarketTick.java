@@ -0,0 +1,79 @@
+package com.demo.centinal.model;
+
+import com.demo.centinal.codec.FixedPoint;
+import com.demo.centinal.codec.IsoTimestamps;
+import lombok.Data;
+
+/**
+ * Reusable, mutable holder for one decoded exchange message.
+ * A single instance is filled over and over by the decoder, so consumers must copy
+ * anything they need to keep beyond the current message.
+ */
+@Data
+public class MarketTick {
+
+    private String type;
+    private String productId;
+    // Venue the tick came from, set once the ticker is accepted
+    private String exchange;
+    // Exchange sequence number, -1 if the message had none
+    private long sequence = -1;
+    private String price;
+    private String volume24h;
+    private String bid;
+    private String ask;
+    private String high24h;
+    private String low24h;
+    private String open24h;
+    // Size of the trade that produced this ticker
+    private String lastSize;
+    // Scaled long values (see FixedPoint), filled by the streaming decoder or when an accepted ticker is normalized;
+    // the text fields above stay set in the second case and are what gets persisted
+    private boolean fixedPoint;
+    private long priceFixed = FixedPoint.NULL;
+    private long volume24hFixed = FixedPoint.NULL;
+    private long bidFixed = FixedPoint.NULL;
+    private long askFixed = FixedPoint.NULL;
+    private long high24hFixed = FixedPoint.NULL;
+    private long low24hFixed = FixedPoint.NULL;
+    private long open24hFixed = FixedPoint.NULL;
+    private long lastSizeFixed = FixedPoint.NULL;
+    // Exchange "time" field in epoch microseconds, IsoTimestamps.NULL if absent
+    private long exchangeTimeMicros = IsoTimestamps.NULL;
+    // System.nanoTime() readings taken when the frame left the socket and when decoding finished
+    private long receivedNanos;
+    private long parsedNanos;
+    // Original frame text, stored as-is instead of re-serializing a parsed tree
+    private String rawMessage;
+
+    /**
+     * Clears every field before the holder is reused for the next message.
+     */
+    public void reset() {
+        type = null;
+        productId = null;
+        exchange = null;
+        sequence = -1;
+        price = null;
+        volume24h = null;
+        bid = null;
+        ask = null;
+        high24h = null;
+        low24h = null;
+        open24h = null;
+        lastSize = null;
+        fixedPoint = false;
+        priceFixed = FixedPoint.NULL;
+        volume24hFixed = FixedPoint.NULL;
+        bidFixed = FixedPoint.NULL;
+        askFixed = FixedPoint.NULL;
+        high24hFixed = FixedPoint.NULL;
+        low24hFixed = FixedPoint.NULL;
+        open24hFixed = FixedPoint.NULL;
+        lastSizeFixed = FixedPoint.NULL;
+        exchangeTimeMicros = IsoTimestamps.NULL;
+        receivedNanos = 0;
+        parsedNanos = 0;
+        rawMessage = null;
+    }
+}
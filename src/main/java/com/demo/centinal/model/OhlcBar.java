@@ -0,0 +1,18 @@
+package com.demo.centinal.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One bar of the {@code market_data_1m} or {@code market_data_1h} continuous aggregate.
+ */
+public record OhlcBar(@JsonFormat(shape = JsonFormat.Shape.STRING) Instant bucket,
+                      BigDecimal open,
+                      BigDecimal high,
+                      BigDecimal low,
+                      BigDecimal close,
+                      BigDecimal avgPrice,
+                      long tickCount) {
+}
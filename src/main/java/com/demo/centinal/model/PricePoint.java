@@ -0,0 +1,18 @@
+package com.demo.centinal.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Narrow read-only view of one stored tick, read straight from the columns without loading a {@code MarketData} entity.
+ * @param id row id, only used to break ties between ticks with the same timestamp when paging
+ */
+public record PricePoint(long id,
+                         @JsonFormat(shape = JsonFormat.Shape.STRING) Instant timestamp,
+                         BigDecimal price,
+                         BigDecimal volume,
+                         BigDecimal bid,
+                         BigDecimal ask) {
+}
@@ -0,0 +1,16 @@
+package com.demo.centinal.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One keyset page of {@link PricePoint}s, oldest first.
+ * @param nextTimestamp timestamp of the last point, passed back to fetch the next page; null on the last page
+ * @param nextId id of the last point, the tie-breaker for {@code nextTimestamp}; null on the last page
+ */
+public record PricePointPage(List<PricePoint> points,
+                             @JsonFormat(shape = JsonFormat.Shape.STRING) Instant nextTimestamp,
+                             Long nextId) {
+}
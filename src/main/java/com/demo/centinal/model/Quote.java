@@ -0,0 +1,47 @@
+package com.demo.centinal.model;
+
+import com.demo.centinal.codec.FixedPoint;
+import com.demo.centinal.codec.IsoTimestamps;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Immutable normalized ticker for one symbol, as held by the last-value cache and published to fan-out clients.
+ */
+@Value
+@Builder
+public class Quote {
+
+    String symbol;
+    BigDecimal price;
+    BigDecimal bid;
+    BigDecimal ask;
+    BigDecimal volume24h;
+    BigDecimal high24h;
+    BigDecimal low24h;
+    BigDecimal open24h;
+    // Exchange time of the tick, or local receive time when the message had none
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    Instant time;
+
+    /**
+     * Converts a normalized tick (see {@link com.demo.centinal.service.MarketTickListener}) at the JSON edge.
+     */
+    public static Quote from(MarketTick tick) {
+        return Quote.builder()
+            .symbol(tick.getProductId())
+            .price(FixedPoint.toBigDecimal(tick.getPriceFixed()))
+            .bid(FixedPoint.toBigDecimal(tick.getBidFixed()))
+            .ask(FixedPoint.toBigDecimal(tick.getAskFixed()))
+            .volume24h(FixedPoint.toBigDecimal(tick.getVolume24hFixed()))
+            .high24h(FixedPoint.toBigDecimal(tick.getHigh24hFixed()))
+            .low24h(FixedPoint.toBigDecimal(tick.getLow24hFixed()))
+            .open24h(FixedPoint.toBigDecimal(tick.getOpen24hFixed()))
+            .time(IsoTimestamps.toInstant(tick.getExchangeTimeMicros()))
+            .build();
+    }
+}
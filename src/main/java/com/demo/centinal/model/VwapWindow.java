@@ -0,0 +1,18 @@
+package com.demo.centinal.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Volume-weighted average price of one hopping window.
+ * @param vwap null when the window has no trades with a size
+ */
+public record VwapWindow(String symbol,
+                         @JsonFormat(shape = JsonFormat.Shape.STRING) Instant windowStart,
+                         @JsonFormat(shape = JsonFormat.Shape.STRING) Instant windowEnd,
+                         BigDecimal vwap,
+                         BigDecimal volume,
+                         long tradeCount) {
+}
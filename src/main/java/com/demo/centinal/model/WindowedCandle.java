@@ -0,0 +1,20 @@
+package com.demo.centinal.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * OHLCV bar read from the Kafka Streams window stores; the current bar may still be open.
+ */
+public record WindowedCandle(String symbol,
+                             String interval,
+                             @JsonFormat(shape = JsonFormat.Shape.STRING) Instant openTime,
+                             BigDecimal open,
+                             BigDecimal high,
+                             BigDecimal low,
+                             BigDecimal close,
+                             BigDecimal volume,
+                             long tradeCount) {
+}
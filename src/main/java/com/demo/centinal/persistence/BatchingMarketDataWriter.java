@@ -0,0 +1,230 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.metrics.IngestLatencyMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous group-commit writer.
+ * Ticks are queued by the caller and a dedicated flusher thread writes them to the
+ * {@link MarketDataBatchSink} once either the batch size limit or the batch delay limit is hit.
+ * When the queue is full the configured {@link OverflowPolicy} decides whether the caller waits,
+ * the oldest tick is dropped, or ticks are conflated to the newest one per symbol. A conflated tick is
+ * written in its arrival position, after every tick that was queued before it, so a batch never holds a
+ * symbol's rows out of order.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "market.data.persistence.mode", havingValue = "batched")
+public class BatchingMarketDataWriter implements MarketDataWriter {
+
+    private static final long IDLE_POLL_MS = 100;
+
+    private final MarketDataBatchSink batchSink;
+    private final IngestLatencyMetrics latencyMetrics;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<MarketData> queue;
+    private final OverflowPolicy overflowPolicy;
+    // Newest overflowing tick per symbol, only used by the CONFLATE policy
+    private final ConcurrentHashMap<String, ConflatedTick> conflated = new ConcurrentHashMap<>();
+    // Ticks accepted into the queue so far, only counted by the CONFLATE policy to place conflated ticks
+    private final AtomicLong accepted = new AtomicLong();
+    // Ticks the flusher has taken from the queue so far; flusher thread only
+    private long taken;
+    private final Counter droppedCounter;
+    private final Counter conflatedCounter;
+    private final Thread flusher;
+    private volatile boolean running;
+
+    public BatchingMarketDataWriter(MarketDataBatchSink batchSink,
+                                    IngestLatencyMetrics latencyMetrics,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${market.data.persistence.overflow-policy:block}") String overflowPolicy,
+                                    @Value("${market.data.persistence.batch.max-size:500}") int maxBatchSize,
+                                    @Value("${market.data.persistence.batch.max-delay-ms:50}") long maxDelayMs,
+                                    @Value("${market.data.persistence.batch.queue-capacity:65536}") int queueCapacity) {
+        if (maxBatchSize <= 0 || maxDelayMs < 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Batch size and queue capacity must be positive and delay non-negative");
+        }
+        this.batchSink = batchSink;
+        this.latencyMetrics = latencyMetrics;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflowPolicy = OverflowPolicy.fromName(overflowPolicy);
+        this.droppedCounter = Counter.builder("market.data.backpressure.dropped")
+            .description("Ticks evicted from the write queue because the database fell behind")
+            .register(meterRegistry);
+        this.conflatedCounter = Counter.builder("market.data.backpressure.conflated")
+            .description("Ticks replaced by a newer tick for the same symbol while the write queue was full")
+            .register(meterRegistry);
+        meterRegistry.gauge("market.data.persistence.pending", this, BatchingMarketDataWriter::getPendingCount);
+        this.flusher = new Thread(this::runFlushLoop, "market-data-batch-writer");
+        this.flusher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher.start();
+        log.info("Batched market data writer started: maxBatchSize={}, maxDelayMs={}, overflowPolicy={}",
+            maxBatchSize, TimeUnit.NANOSECONDS.toMillis(maxDelayNanos), overflowPolicy);
+    }
+
+    /**
+     * Stops accepting new work and flushes whatever is still queued.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues a tick for the next batch, applying the overflow policy if the queue is full.
+     */
+    @Override
+    public void write(MarketData marketData) {
+        if (queue.offer(marketData)) {
+            if (overflowPolicy == OverflowPolicy.CONFLATE) {
+                accepted.incrementAndGet();
+            }
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(marketData);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Interrupted while queueing market data for {}", marketData.getSymbol());
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(marketData)) {
+                    if (queue.poll() != null) {
+                        droppedCounter.increment();
+                    }
+                }
+            }
+            case CONFLATE -> {
+                // A symbol is written by one thread, so its queued ticks are all counted by now
+                if (conflated.put(marketData.getSymbol(), new ConflatedTick(marketData, accepted.get())) != null) {
+                    conflatedCounter.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Number of ticks waiting for the next flush.
+     */
+    public int getPendingCount() {
+        return queue.size() + conflated.size();
+    }
+
+    private void runFlushLoop() {
+        List<MarketData> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty() || !conflated.isEmpty()) {
+            try {
+                MarketData first = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    fillBatch(batch, System.nanoTime() + maxDelayNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            taken += batch.size();
+            drainConflated(batch);
+            flush(batch);
+        }
+    }
+
+    /**
+     * Inserts each conflated tick whose predecessors have all been taken from the queue right after the last of
+     * them; the others wait for a later batch. The batch may exceed the size limit by at most one row per symbol.
+     */
+    private void drainConflated(List<MarketData> batch) {
+        if (conflated.isEmpty()) {
+            return;
+        }
+        List<ConflatedTick> due = new ArrayList<>();
+        for (ConflatedTick entry : conflated.values()) {
+            if (entry.after() <= taken && conflated.remove(entry.tick().getSymbol(), entry)) {
+                due.add(entry);
+            }
+        }
+        due.sort((a, b) -> Long.compare(a.after(), b.after()));
+        long firstInBatch = taken - batch.size();
+        int inserted = 0;
+        for (ConflatedTick entry : due) {
+            int index = (int) Math.max(0, entry.after() - firstInBatch) + inserted;
+            batch.add(Math.min(index, batch.size()), entry.tick());
+            inserted++;
+        }
+    }
+
+    /**
+     * Keeps collecting ticks until the batch is full or the deadline of its oldest tick passes.
+     */
+    private void fillBatch(List<MarketData> batch, long deadline) throws InterruptedException {
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            if (batch.size() >= maxBatchSize) {
+                return;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !running) {
+                return;
+            }
+            MarketData next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<MarketData> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            batchSink.writeBatch(batch);
+            latencyMetrics.recordCommitted(batch);
+            log.debug("Flushed batch of {} market data rows", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to flush batch of {} market data rows", batch.size(), e);
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * An overflowing tick and the number of ticks queued before it.
+     */
+    private record ConflatedTick(MarketData tick, long after) {
+    }
+}
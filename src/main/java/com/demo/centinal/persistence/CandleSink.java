@@ -0,0 +1,22 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.Candle;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Stores closed candles; writing the same bar twice must replace it.
+ */
+public interface CandleSink {
+
+    void writeCandles(List<Candle> candles);
+
+    /**
+     * The newest stored bar of each symbol that opened at or after {@code since}, used to resume the bars that
+     * were still open when the service restarted.
+     */
+    default List<Candle> findLatest(String interval, Instant since) {
+        return List.of();
+    }
+}
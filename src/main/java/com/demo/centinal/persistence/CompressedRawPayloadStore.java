@@ -0,0 +1,152 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.codec.RawPayloadCompressor;
+import com.demo.centinal.entities.MarketData;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves raw payloads out of {@code market_data} into {@code market_data_raw}, zstd-compressed against a
+ * dictionary trained on the feed. Only every {@code sample-every}-th payload is kept; the others are dropped.
+ * Dictionaries go to {@code market_data_raw_dictionaries} and the newest one is reused after a restart.
+ * A new dictionary is committed in its own transaction before any payload uses it, so a rolled-back batch
+ * cannot leave later payloads pointing at a dictionary that was never stored. Like {@code market_data}, rows are
+ * keyed on symbol, timestamp and exchange sequence, so a replayed or redelivered batch stores nothing twice.
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(name = "market.data.raw.storage", havingValue = "separate")
+public class CompressedRawPayloadStore implements RawPayloadStore {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO market_data_raw (timestamp, symbol, sequence, dictionary_id, raw_size, payload)
+        VALUES (?, ?, ?, ?, ?, ?)
+        ON CONFLICT DO NOTHING
+        """;
+    private static final String INSERT_DICTIONARY_SQL = """
+        INSERT INTO market_data_raw_dictionaries (dictionary, created_at) VALUES (?, ?) RETURNING id
+        """;
+    private static final String LATEST_DICTIONARY_SQL = """
+        SELECT id, dictionary FROM market_data_raw_dictionaries ORDER BY id DESC LIMIT 1
+        """;
+    private static final String DICTIONARY_SQL = """
+        SELECT dictionary FROM market_data_raw_dictionaries WHERE id = ?
+        """;
+    private static final String SELECT_SQL = """
+        SELECT dictionary_id, raw_size, payload FROM market_data_raw
+        WHERE symbol = ? AND timestamp >= ? AND timestamp < ?
+        ORDER BY timestamp, id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    // Stores new dictionaries independently of the batch transaction the payloads are written in
+    private final TransactionTemplate dictionaryTransaction;
+    private final RawPayloadCompressor compressor;
+    // Dictionaries by id for decompression; they never change once stored
+    private final Map<Integer, byte[]> dictionaries = new ConcurrentHashMap<>();
+    private final int sampleEvery;
+    private long seen;
+
+    public CompressedRawPayloadStore(JdbcTemplate jdbcTemplate,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${market.data.raw.compression-level:3}") int compressionLevel,
+                                     @Value("${market.data.raw.dictionary.training-samples:5000}") int trainingSamples,
+                                     @Value("${market.data.raw.dictionary.size:16384}") int dictionarySize,
+                                     @Value("${market.data.raw.sample-every:1}") int sampleEvery) {
+        if (sampleEvery <= 0) {
+            throw new IllegalArgumentException("Raw payload sampling interval must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dictionaryTransaction = new TransactionTemplate(transactionManager);
+        this.dictionaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.compressor = new RawPayloadCompressor(compressionLevel, trainingSamples, dictionarySize);
+        this.sampleEvery = sampleEvery;
+    }
+
+    /**
+     * Picks up the newest stored dictionary so payloads keep compressing well right after a restart.
+     */
+    @PostConstruct
+    public void loadDictionary() {
+        try {
+            jdbcTemplate.query(LATEST_DICTIONARY_SQL, rs -> {
+                compressor.useDictionary(rs.getInt("id"), rs.getBytes("dictionary"));
+                dictionaries.put(rs.getInt("id"), rs.getBytes("dictionary"));
+                log.info("Compressing raw payloads with stored dictionary {}", compressor.getDictionaryId());
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not load a raw payload dictionary, a new one will be trained", e);
+        }
+    }
+
+    @Override
+    public synchronized void store(List<MarketData> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (MarketData marketData : batch) {
+            String rawData = marketData.getRawData();
+            marketData.setRawData(null);
+            if (rawData == null || seen++ % sampleEvery != 0) {
+                continue;
+            }
+            byte[] payload = rawData.getBytes(StandardCharsets.UTF_8);
+            byte[] dictionary = compressor.sample(payload);
+            if (dictionary != null) {
+                Integer id = dictionaryTransaction.execute(status -> jdbcTemplate.queryForObject(
+                    INSERT_DICTIONARY_SQL, Integer.class, dictionary, Timestamp.from(Instant.now())));
+                compressor.useDictionary(id, dictionary);
+                dictionaries.put(id, dictionary);
+                log.info("Trained raw payload dictionary {} ({} bytes)", id, dictionary.length);
+            }
+            rows.add(new Object[] {
+                Timestamp.from(marketData.getTimestamp()),
+                marketData.getSymbol(),
+                marketData.getSequence(),
+                compressor.getDictionaryId(),
+                payload.length,
+                compressor.compress(payload)
+            });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, new int[] {
+                Types.TIMESTAMP, Types.VARCHAR, Types.BIGINT, Types.INTEGER, Types.INTEGER, Types.BINARY});
+        }
+    }
+
+    /**
+     * Decompressed raw payloads of a symbol stored for ticks in {@code [start, end)}, oldest first.
+     */
+    public List<String> load(String symbol, Instant start, Instant end) {
+        return jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+            int dictionaryId = rs.getInt("dictionary_id");
+            byte[] dictionary = dictionaryId == RawPayloadCompressor.NO_DICTIONARY ? null
+                : dictionaries.computeIfAbsent(dictionaryId,
+                    id -> jdbcTemplate.queryForObject(DICTIONARY_SQL, byte[].class, id));
+            byte[] payload = RawPayloadCompressor.decompress(rs.getBytes("payload"), dictionary, rs.getInt("raw_size"));
+            return new String(payload, StandardCharsets.UTF_8);
+        }, symbol, Timestamp.from(start), Timestamp.from(end));
+    }
+
+    /**
+     * Id of the dictionary new payloads are compressed with, 0 while none has been trained.
+     */
+    public synchronized int getDictionaryId() {
+        return compressor.getDictionaryId();
+    }
+}
@@ -0,0 +1,84 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.MarketData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Batch sink that streams ticks into {@code market_data} with PostgreSQL binary COPY.
+ * Bypasses JPA and per-row INSERT parsing entirely, which is the fastest ingest path
+ * for TimescaleDB hypertables.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "market.data.persistence.sink", havingValue = "copy")
+public class CopyMarketDataBatchSink implements MarketDataBatchSink {
+
+    private static final String COPY_SQL = """
+        COPY market_data (timestamp, symbol, exchange, price, volume, bid, ask,
+                          high_24h, low_24h, open_24h, raw_data, created_at, sequence)
+        FROM STDIN (FORMAT BINARY)
+        """;
+    private static final int FIELD_COUNT = 13;
+    private static final int ESTIMATED_ROW_BYTES = 512;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RawPayloadStore rawPayloadStore;
+
+    @Override
+    @Transactional
+    public void writeBatch(List<MarketData> batch) {
+        rawPayloadStore.store(batch);
+        byte[] payload = encode(batch);
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_SQL, new ByteArrayInputStream(payload));
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("Failed to stream COPY payload", e);
+            }
+        });
+        log.debug("Copied {} market data rows ({} bytes)", rows, payload.length);
+    }
+
+    private byte[] encode(List<MarketData> batch) {
+        PgBinaryCopyEncoder encoder = new PgBinaryCopyEncoder(batch.size() * ESTIMATED_ROW_BYTES);
+        Instant now = Instant.now();
+        try {
+            encoder.begin();
+            for (MarketData marketData : batch) {
+                encoder.startRow(FIELD_COUNT);
+                encoder.writeTimestamp(marketData.getTimestamp());
+                encoder.writeText(marketData.getSymbol());
+                encoder.writeText(marketData.getExchange());
+                encoder.writeNumeric(marketData.getPrice());
+                encoder.writeNumeric(marketData.getVolume());
+                encoder.writeNumeric(marketData.getBid());
+                encoder.writeNumeric(marketData.getAsk());
+                encoder.writeNumeric(marketData.getHigh24h());
+                encoder.writeNumeric(marketData.getLow24h());
+                encoder.writeNumeric(marketData.getOpen24h());
+                encoder.writeJsonb(marketData.getRawData());
+                encoder.writeTimestamp(marketData.getCreatedAt() != null ? marketData.getCreatedAt() : now);
+                encoder.writeInt8(marketData.getSequence());
+            }
+            return encoder.finish();
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Failed to encode COPY payload", e);
+        }
+    }
+}
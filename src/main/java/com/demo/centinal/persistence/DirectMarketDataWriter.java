@@ -0,0 +1,31 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.metrics.IngestLatencyMetrics;
+import com.demo.centinal.repository.MarketDataRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes every tick synchronously through {@link MarketDataRepository}.
+ * Used when no batching is configured; one round trip and one commit per tick.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "market.data.persistence.mode", havingValue = "direct", matchIfMissing = true)
+public class DirectMarketDataWriter implements MarketDataWriter {
+
+    private final MarketDataRepository marketDataRepository;
+    private final IngestLatencyMetrics latencyMetrics;
+    private final RawPayloadStore rawPayloadStore;
+
+    @Override
+    public void write(MarketData marketData) {
+        rawPayloadStore.store(List.of(marketData));
+        marketDataRepository.save(marketData);
+        latencyMetrics.recordCommitted(marketData);
+    }
+}
@@ -0,0 +1,20 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.MarketData;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps raw payloads in the {@code raw_data} column of {@code market_data}.
+ */
+@Component
+@ConditionalOnProperty(name = "market.data.raw.storage", havingValue = "inline", matchIfMissing = true)
+public class InlineRawPayloadStore implements RawPayloadStore {
+
+    @Override
+    public void store(List<MarketData> batch) {
+        // Nothing to do, the payload is written with the row
+    }
+}
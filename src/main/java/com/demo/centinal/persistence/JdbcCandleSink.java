@@ -0,0 +1,67 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.Candle;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Upserts closed candles with one JDBC batch, so a bar flushed again after a restart is overwritten.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JdbcCandleSink implements CandleSink {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO candles (symbol, candle_interval, open_time, open, high, low, close, volume, trade_count)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (symbol, candle_interval, open_time) DO UPDATE
+        SET open = EXCLUDED.open, high = EXCLUDED.high, low = EXCLUDED.low, close = EXCLUDED.close,
+            volume = EXCLUDED.volume, trade_count = EXCLUDED.trade_count
+        """;
+
+    private static final String FIND_LATEST_SQL = """
+        SELECT DISTINCT ON (symbol) symbol, open_time, open, high, low, close, volume, trade_count FROM candles
+        WHERE candle_interval = ? AND open_time >= ?
+        ORDER BY symbol, open_time DESC
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void writeCandles(List<Candle> candles) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, candles, candles.size(), (ps, candle) -> {
+            ps.setString(1, candle.getSymbol());
+            ps.setString(2, candle.getInterval());
+            ps.setTimestamp(3, Timestamp.from(candle.getOpenTime()));
+            ps.setBigDecimal(4, candle.getOpen());
+            ps.setBigDecimal(5, candle.getHigh());
+            ps.setBigDecimal(6, candle.getLow());
+            ps.setBigDecimal(7, candle.getClose());
+            ps.setBigDecimal(8, candle.getVolume());
+            ps.setLong(9, candle.getTradeCount());
+        });
+    }
+
+    @Override
+    public List<Candle> findLatest(String interval, Instant since) {
+        return jdbcTemplate.query(FIND_LATEST_SQL, (rs, rowNum) -> Candle.builder()
+                .symbol(rs.getString("symbol"))
+                .interval(interval)
+                .openTime(rs.getTimestamp("open_time").toInstant())
+                .open(rs.getBigDecimal("open"))
+                .high(rs.getBigDecimal("high"))
+                .low(rs.getBigDecimal("low"))
+                .close(rs.getBigDecimal("close"))
+                .volume(rs.getBigDecimal("volume"))
+                .tradeCount(rs.getLong("trade_count"))
+                .build(),
+            interval, Timestamp.from(since));
+    }
+}
@@ -0,0 +1,16 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.MarketData;
+
+import java.util.List;
+
+/**
+ * Destination for batches of market data collected by {@link BatchingMarketDataWriter}.
+ */
+public interface MarketDataBatchSink {
+    /**
+     * Persists the whole batch in a single database round trip and commit.
+     * @param batch the ticks to persist, never empty
+     */
+    void writeBatch(List<MarketData> batch);
+}
@@ -0,0 +1,15 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.MarketData;
+
+/**
+ * Write stage for parsed market data.
+ * Implementations decide whether a tick is persisted immediately or grouped with others.
+ */
+public interface MarketDataWriter {
+    /**
+     * Hands a tick to the write stage.
+     * @param marketData the tick to persist
+     */
+    void write(MarketData marketData);
+}
@@ -0,0 +1,19 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.MarketData;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops every tick. Used by a publish-only feed handler that leaves persistence to the Kafka
+ * workers, so ticks reach the listeners and the topic but are never written locally.
+ */
+@Component
+@ConditionalOnProperty(name = "market.data.persistence.mode", havingValue = "none")
+public class NoopMarketDataWriter implements MarketDataWriter {
+
+    @Override
+    public void write(MarketData marketData) {
+        // persisted by the consumers of the tick topic
+    }
+}
@@ -0,0 +1,22 @@
+package com.demo.centinal.persistence;
+
+import java.util.Locale;
+
+/**
+ * What the batching writer does with a new tick when its queue is full because the database is behind.
+ */
+public enum OverflowPolicy {
+    /** Wait for space; back-pressure reaches the pipeline and eventually the socket. */
+    BLOCK,
+    /** Evict the oldest queued tick to make room. */
+    DROP_OLDEST,
+    /** Keep only the newest overflowing tick per symbol until the queue has room again. */
+    CONFLATE;
+
+    /**
+     * Resolves a configured name such as {@code block} or {@code drop-oldest}.
+     */
+    public static OverflowPolicy fromName(String name) {
+        return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
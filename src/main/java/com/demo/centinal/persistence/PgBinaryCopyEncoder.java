@@ -0,0 +1,148 @@
+package com.demo.centinal.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Encoder for the PostgreSQL binary COPY format.
+ * Writes the file header, tuples and trailer into a reusable in-memory buffer.
+ * See https://www.postgresql.org/docs/current/sql-copy.html#id-1.9.3.55.9.4
+ */
+class PgBinaryCopyEncoder {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final long POSTGRES_EPOCH_MICROS = 946_684_800_000_000L;
+    private static final short NUMERIC_POS = 0x0000;
+    private static final short NUMERIC_NEG = 0x4000;
+    private static final byte JSONB_VERSION = 1;
+
+    private final ByteArrayOutputStream buffer;
+    private final DataOutputStream out;
+
+    PgBinaryCopyEncoder(int initialCapacity) {
+        this.buffer = new ByteArrayOutputStream(initialCapacity);
+        this.out = new DataOutputStream(buffer);
+    }
+
+    /**
+     * Clears the buffer and writes the COPY header.
+     */
+    void begin() throws IOException {
+        buffer.reset();
+        out.write(SIGNATURE);
+        out.writeInt(0); // flags
+        out.writeInt(0); // header extension length
+    }
+
+    void startRow(int fieldCount) throws IOException {
+        out.writeShort(fieldCount);
+    }
+
+    void writeNull() throws IOException {
+        out.writeInt(-1);
+    }
+
+    void writeTimestamp(Instant value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        long micros = Math.addExact(Math.multiplyExact(value.getEpochSecond(), 1_000_000L), value.getNano() / 1_000);
+        out.writeInt(8);
+        out.writeLong(micros - POSTGRES_EPOCH_MICROS);
+    }
+
+    void writeInt8(Long value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        out.writeInt(8);
+        out.writeLong(value);
+    }
+
+    void writeText(String value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    void writeJsonb(String value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length + 1);
+        out.writeByte(JSONB_VERSION);
+        out.write(bytes);
+    }
+
+    /**
+     * Writes a NUMERIC as base-10000 digit groups with weight, sign and display scale.
+     */
+    void writeNumeric(BigDecimal value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        BigDecimal normalized = value.scale() < 0 ? value.setScale(0) : value;
+        int scale = normalized.scale();
+        String digits = normalized.unscaledValue().abs().toString();
+
+        int integerLength = digits.length() - scale;
+        String integerPart = integerLength > 0 ? digits.substring(0, integerLength) : "";
+        String fractionPart = integerLength > 0
+            ? digits.substring(integerLength)
+            : "0".repeat(-integerLength) + digits;
+
+        integerPart = "0".repeat((4 - integerPart.length() % 4) % 4) + integerPart;
+        fractionPart = fractionPart + "0".repeat((4 - fractionPart.length() % 4) % 4);
+        String groups = integerPart + fractionPart;
+
+        int weight = integerPart.length() / 4 - 1;
+        int first = 0;
+        int last = groups.length() / 4;
+        while (first < last && groupAt(groups, first) == 0) {
+            first++;
+            weight--;
+        }
+        while (last > first && groupAt(groups, last - 1) == 0) {
+            last--;
+        }
+        int ndigits = last - first;
+        if (ndigits == 0) {
+            weight = 0;
+        }
+
+        out.writeInt(8 + ndigits * 2);
+        out.writeShort(ndigits);
+        out.writeShort(weight);
+        out.writeShort(normalized.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS);
+        out.writeShort(scale);
+        for (int i = first; i < last; i++) {
+            out.writeShort(groupAt(groups, i));
+        }
+    }
+
+    /**
+     * Writes the COPY trailer and returns the encoded payload.
+     */
+    byte[] finish() throws IOException {
+        out.writeShort(-1);
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    private static int groupAt(String groups, int index) {
+        return Integer.parseInt(groups, index * 4, index * 4 + 4, 10);
+    }
+}
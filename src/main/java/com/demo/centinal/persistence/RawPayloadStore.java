@@ -0,0 +1,18 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.MarketData;
+
+import java.util.List;
+
+/**
+ * Decides where the raw exchange payload of each tick is kept.
+ * Writers call it just before the rows go to {@code market_data}; an implementation that stores
+ * payloads elsewhere clears {@link MarketData#getRawData()} so the hot table stays narrow.
+ */
+public interface RawPayloadStore {
+    /**
+     * Takes care of the raw payloads of ticks about to be written.
+     * @param batch the ticks to be written, never empty
+     */
+    void store(List<MarketData> batch);
+}
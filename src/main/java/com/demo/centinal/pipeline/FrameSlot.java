@@ -0,0 +1,27 @@
+package com.demo.centinal.pipeline;
+
+import com.demo.centinal.model.MarketTick;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Pre-allocated ring buffer slot carrying one WebSocket frame through the pipeline.
+ * Filled by the socket thread, enriched by the parse stage and drained by the persist stage.
+ */
+@Getter
+@Setter
+public class FrameSlot {
+    private String message;
+    private String source;
+    private long receivedNanos;
+    // True when the parse stage accepted the frame as a ticker, which the tick then holds
+    private boolean ticker;
+    // Decoder holder owned by this slot and reused for every frame that passes through it
+    private final MarketTick tick = new MarketTick();
+
+    void clear() {
+        message = null;
+        source = null;
+        ticker = false;
+    }
+}
@@ -0,0 +1,132 @@
+package com.demo.centinal.pipeline;
+
+import com.demo.centinal.client.CoinbaseWebsocketClient;
+import com.demo.centinal.persistence.MarketDataWriter;
+import com.demo.centinal.service.MarketDataStreamingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ring buffer pipeline between the WebSocket callback and persistence.
+ * The socket thread only copies the frame into a pre-allocated slot; a parse stage and a
+ * persist stage then run on their own threads, so slow commits never stall the read loop.
+ * Each feed connection gets its own lane (ring buffer and stages), keeping every ring single-producer.
+ */
+@Slf4j
+@Component
+// Symbol lanes take over the socket callback when enabled, so the two never run together
+@ConditionalOnExpression("${market.data.pipeline.enabled:false} and !${market.data.lanes.enabled:false}")
+public class MarketDataPipeline {
+
+    private final CoinbaseWebsocketClient coinbaseClient;
+    private final MarketDataStreamingService streamingService;
+    private final MarketDataWriter marketDataWriter;
+    private final Lane[] lanes;
+
+    public MarketDataPipeline(CoinbaseWebsocketClient coinbaseClient,
+                              MarketDataStreamingService streamingService,
+                              MarketDataWriter marketDataWriter,
+                              @Value("${market.data.connections:1}") int connectionCount,
+                              @Value("${market.data.pipeline.buffer-size:65536}") int bufferSize,
+                              @Value("${market.data.pipeline.publish-wait-strategy:yield}") String publishWaitStrategy,
+                              @Value("${market.data.pipeline.parse-wait-strategy:yield}") String parseWaitStrategy,
+                              @Value("${market.data.pipeline.persist-wait-strategy:park}") String persistWaitStrategy) {
+        this.coinbaseClient = coinbaseClient;
+        this.streamingService = streamingService;
+        this.marketDataWriter = marketDataWriter;
+        this.lanes = new Lane[Math.max(1, connectionCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i, bufferSize, WaitStrategy.fromName(publishWaitStrategy),
+                WaitStrategy.fromName(parseWaitStrategy), WaitStrategy.fromName(persistWaitStrategy));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        for (Lane lane : lanes) {
+            lane.start();
+        }
+        coinbaseClient.setFrameHandler(this::publish);
+        log.info("Market data pipeline started with {} lane(s) of {} slots",
+            lanes.length, lanes[0].ringBuffer.getBufferSize());
+    }
+
+    /**
+     * Detaches from the socket and lets every lane drain what was already published.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        coinbaseClient.setFrameHandler(null);
+        for (Lane lane : lanes) {
+            lane.stop();
+        }
+    }
+
+    /**
+     * Called on the reader thread of the given connection; copies the frame into the next free slot of its lane.
+     */
+    public void publish(int connectionId, String message, String source, long receivedNanos) {
+        RingBuffer<FrameSlot> ringBuffer = lanes[Math.floorMod(connectionId, lanes.length)].ringBuffer;
+        long sequence = ringBuffer.next();
+        FrameSlot slot = ringBuffer.get(sequence);
+        slot.setMessage(message);
+        slot.setSource(source);
+        slot.setReceivedNanos(receivedNanos);
+        ringBuffer.publish(sequence);
+    }
+
+    /**
+     * Total number of frames published but not yet persisted across all lanes.
+     */
+    public long getBacklog() {
+        long backlog = 0;
+        for (Lane lane : lanes) {
+            backlog += lane.ringBuffer.getBacklog();
+        }
+        return backlog;
+    }
+
+    private void parse(FrameSlot slot, long sequence, boolean endOfBatch) {
+        slot.setTicker(streamingService.parseTick(slot.getMessage(), slot.getTick(), slot.getReceivedNanos()));
+    }
+
+    private void persist(FrameSlot slot, long sequence, boolean endOfBatch) {
+        // The slot is not reused before this stage releases it, so the tick is still intact here
+        if (slot.isTicker()) {
+            marketDataWriter.write(streamingService.toMarketData(slot.getTick()));
+        }
+        slot.clear();
+    }
+
+    /**
+     * Ring buffer plus parse and persist stages serving one feed connection.
+     */
+    private class Lane {
+        private final RingBuffer<FrameSlot> ringBuffer;
+        private final PipelineStage<FrameSlot> parseStage;
+        private final PipelineStage<FrameSlot> persistStage;
+
+        Lane(int id, int bufferSize, WaitStrategy publishWait, WaitStrategy parseWait, WaitStrategy persistWait) {
+            ringBuffer = new RingBuffer<>(bufferSize, FrameSlot::new, publishWait);
+            parseStage = new PipelineStage<>("market-data-parse-" + id, ringBuffer, ringBuffer.getCursor(),
+                parseWait, MarketDataPipeline.this::parse);
+            persistStage = new PipelineStage<>("market-data-persist-" + id, ringBuffer, parseStage.getSequence(),
+                persistWait, MarketDataPipeline.this::persist);
+            ringBuffer.setGatingSequence(persistStage.getSequence());
+        }
+
+        void start() {
+            parseStage.start();
+            persistStage.start();
+        }
+
+        void stop() throws InterruptedException {
+            parseStage.stop();
+            persistStage.stop();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.demo.centinal.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Consumer thread of a {@link RingBuffer}.
+ * Processes every slot up to its barrier sequence (the producer cursor or the sequence of the
+ * previous stage) in batches, then advances its own sequence so downstream stages can follow.
+ *
+ * @param <E> type of the ring buffer slot
+ */
+@Slf4j
+public final class PipelineStage<E> implements Runnable {
+
+    private final String name;
+    private final RingBuffer<E> ringBuffer;
+    private final Sequence barrier;
+    private final WaitStrategy waitStrategy;
+    private final StageHandler<E> handler;
+    private final Sequence sequence = new Sequence(-1);
+    private volatile boolean running = true;
+    private Thread thread;
+
+    public PipelineStage(String name, RingBuffer<E> ringBuffer, Sequence barrier,
+                         WaitStrategy waitStrategy, StageHandler<E> handler) {
+        this.name = name;
+        this.ringBuffer = ringBuffer;
+        this.barrier = barrier;
+        this.waitStrategy = waitStrategy;
+        this.handler = handler;
+    }
+
+    public Sequence getSequence() {
+        return sequence;
+    }
+
+    public void start() {
+        thread = new Thread(this, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the stage once every slot published before the call has been processed.
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    @Override
+    public void run() {
+        long next = sequence.get() + 1;
+        while (true) {
+            long available = barrier.get();
+            if (available < next) {
+                if (!running) {
+                    return;
+                }
+                waitStrategy.idle();
+                continue;
+            }
+            for (long current = next; current <= available; current++) {
+                try {
+                    handler.onEvent(ringBuffer.get(current), current, current == available);
+                } catch (Exception e) {
+                    log.error("Stage {} failed to process sequence {}", name, current, e);
+                }
+            }
+            sequence.set(available);
+            next = available + 1;
+        }
+    }
+}
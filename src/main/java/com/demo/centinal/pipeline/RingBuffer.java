@@ -0,0 +1,88 @@
+package com.demo.centinal.pipeline;
+
+import java.util.function.Supplier;
+
+/**
+ * Pre-allocated single-producer ring buffer.
+ * Slots are created once up front and reused; the producer claims a sequence, fills the slot
+ * in place and publishes it. Consumers track their own {@link Sequence} and the producer never
+ * overwrites a slot the slowest (gating) consumer has not finished with.
+ *
+ * @param <E> type of the pre-allocated slot
+ */
+public final class RingBuffer<E> {
+
+    private final Object[] entries;
+    private final int mask;
+    private final WaitStrategy publishWaitStrategy;
+    private final Sequence cursor = new Sequence(-1);
+    private volatile Sequence gatingSequence = cursor;
+
+    // Producer-only state; never read by consumers.
+    private long nextValue = -1;
+    private long cachedGatingValue = -1;
+
+    public RingBuffer(int bufferSize, Supplier<E> slotFactory, WaitStrategy publishWaitStrategy) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of 2: " + bufferSize);
+        }
+        this.entries = new Object[bufferSize];
+        this.mask = bufferSize - 1;
+        this.publishWaitStrategy = publishWaitStrategy;
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = slotFactory.get();
+        }
+    }
+
+    /**
+     * Sets the sequence of the last consumer in the chain; the producer waits on it when the buffer is full.
+     */
+    public void setGatingSequence(Sequence gatingSequence) {
+        this.gatingSequence = gatingSequence;
+    }
+
+    /**
+     * Claims the next slot, waiting with the publish wait strategy while the buffer is full.
+     * Must only be called from the single producer thread.
+     */
+    public long next() {
+        long next = nextValue + 1;
+        long wrapPoint = next - entries.length;
+        if (wrapPoint > cachedGatingValue) {
+            long minSequence;
+            while (wrapPoint > (minSequence = gatingSequence.get())) {
+                publishWaitStrategy.idle();
+            }
+            cachedGatingValue = minSequence;
+        }
+        nextValue = next;
+        return next;
+    }
+
+    /**
+     * Makes the slot at the given sequence visible to consumers.
+     */
+    public void publish(long sequence) {
+        cursor.set(sequence);
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) (sequence & mask)];
+    }
+
+    public Sequence getCursor() {
+        return cursor;
+    }
+
+    public int getBufferSize() {
+        return entries.length;
+    }
+
+    /**
+     * Number of published slots not yet released by the gating consumer.
+     */
+    public long getBacklog() {
+        return cursor.get() - gatingSequence.get();
+    }
+}
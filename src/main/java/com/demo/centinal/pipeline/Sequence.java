@@ -0,0 +1,47 @@
+package com.demo.centinal.pipeline;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Padding placed before the sequence value so that it does not share a cache line with
+ * neighbouring objects written by other threads.
+ */
+abstract class SequenceLeftPadding {
+    protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class SequenceValue extends SequenceLeftPadding {
+    protected volatile long value;
+}
+
+/**
+ * Cache-line padded counter tracking the progress of a producer or a pipeline stage.
+ * Writes use release semantics and reads use volatile semantics, which is all the
+ * single-writer ring buffer protocol needs.
+ */
+public final class Sequence extends SequenceValue {
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    protected long p9, p10, p11, p12, p13, p14, p15;
+
+    public Sequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    public long get() {
+        return value;
+    }
+
+    public void set(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+}
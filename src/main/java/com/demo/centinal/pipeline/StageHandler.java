@@ -0,0 +1,16 @@
+package com.demo.centinal.pipeline;
+
+/**
+ * Callback invoked by a {@link PipelineStage} for every slot it consumes.
+ *
+ * @param <E> type of the ring buffer slot
+ */
+@FunctionalInterface
+public interface StageHandler<E> {
+    /**
+     * @param slot the slot to process; only valid for the duration of the call
+     * @param sequence the sequence of the slot
+     * @param endOfBatch true if this is the last slot currently available
+     */
+    void onEvent(E slot, long sequence, boolean endOfBatch) throws Exception;
+}
@@ -0,0 +1,182 @@
+package com.demo.centinal.pipeline;
+
+import com.demo.centinal.client.CoinbaseWebsocketClient;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.persistence.MarketDataWriter;
+import com.demo.centinal.service.MarketDataStreamingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads frames over parallel lanes by {@code product_id}, so every symbol is parsed and handed
+ * to the writer strictly in arrival order while different symbols use different cores.
+ * The symbol is found with a scan of the raw frame, so routing happens before any JSON parsing.
+ * Lanes run on virtual threads or on dedicated platform threads. Replaces the ring buffer
+ * pipeline when enabled.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "market.data.lanes.enabled", havingValue = "true")
+public class SymbolLaneDispatcher {
+
+    private static final String PRODUCT_ID_FIELD = "\"product_id\"";
+    private static final long IDLE_POLL_MS = 100;
+
+    private final CoinbaseWebsocketClient coinbaseClient;
+    private final MarketDataStreamingService streamingService;
+    private final MarketDataWriter marketDataWriter;
+    private final Lane[] lanes;
+    private final ThreadFactory threadFactory;
+    private volatile boolean running;
+
+    public SymbolLaneDispatcher(CoinbaseWebsocketClient coinbaseClient,
+                                MarketDataStreamingService streamingService,
+                                MarketDataWriter marketDataWriter,
+                                @Value("${market.data.lanes.count:0}") int laneCount,
+                                @Value("${market.data.lanes.threads:virtual}") String threads,
+                                @Value("${market.data.lanes.queue-capacity:8192}") int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Lane queue capacity must be positive");
+        }
+        this.coinbaseClient = coinbaseClient;
+        this.streamingService = streamingService;
+        this.marketDataWriter = marketDataWriter;
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new Lane[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new Lane(queueCapacity);
+        }
+        this.threadFactory = switch (threads.trim().toLowerCase(Locale.ROOT)) {
+            case "virtual" -> Thread.ofVirtual().name("market-data-lane-", 0).factory();
+            case "platform" -> Thread.ofPlatform().daemon().name("market-data-lane-", 0).factory();
+            default -> throw new IllegalArgumentException("Unknown lane thread type: " + threads);
+        };
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (Lane lane : lanes) {
+            lane.thread = threadFactory.newThread(lane::run);
+            lane.thread.start();
+        }
+        coinbaseClient.setFrameHandler(this::dispatch);
+        log.info("Symbol lane dispatcher started with {} lane(s)", lanes.length);
+    }
+
+    /**
+     * Detaches from the socket and lets every lane drain its queue.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        coinbaseClient.setFrameHandler(null);
+        running = false;
+        for (Lane lane : lanes) {
+            if (lane.thread != null) {
+                lane.thread.join(TimeUnit.SECONDS.toMillis(10));
+            }
+        }
+    }
+
+    /**
+     * Called on a socket reader thread; queues the frame on the lane of its symbol, blocking while that lane is full.
+     */
+    public void dispatch(int connectionId, String message, String source, long receivedNanos) {
+        Lane lane = lanes[laneOf(message, lanes.length)];
+        try {
+            lane.queue.put(new Frame(message, receivedNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while dispatching frame from connection {}", connectionId);
+        }
+    }
+
+    /**
+     * Total number of frames queued across all lanes.
+     */
+    public long getBacklog() {
+        long backlog = 0;
+        for (Lane lane : lanes) {
+            backlog += lane.queue.size();
+        }
+        return backlog;
+    }
+
+    /**
+     * Lane for a raw frame: the hash of its {@code product_id} value, lane 0 for frames without one.
+     * Equivalent to {@code productId.hashCode()} without extracting the substring.
+     */
+    static int laneOf(String message, int laneCount) {
+        if (message == null || laneCount == 1) {
+            return 0;
+        }
+        int field = message.indexOf(PRODUCT_ID_FIELD);
+        if (field < 0) {
+            return 0;
+        }
+        int i = field + PRODUCT_ID_FIELD.length();
+        int length = message.length();
+        while (i < length && message.charAt(i) != '"') {
+            char c = message.charAt(i);
+            if (c != ':' && !Character.isWhitespace(c)) {
+                return 0;
+            }
+            i++;
+        }
+        int hash = 0;
+        for (i++; i < length && message.charAt(i) != '"'; i++) {
+            hash = 31 * hash + message.charAt(i);
+        }
+        return Math.floorMod(hash, laneCount);
+    }
+
+    private record Frame(String message, long receivedNanos) {
+    }
+
+    /**
+     * One ordered queue and its single consumer; the decoder holder is reused for every frame of the lane.
+     */
+    private class Lane {
+        private final BlockingQueue<Frame> queue;
+        private final MarketTick tick = new MarketTick();
+        private Thread thread;
+
+        Lane(int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        void run() {
+            while (running || !queue.isEmpty()) {
+                Frame frame;
+                try {
+                    frame = queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (frame == null) {
+                    continue;
+                }
+                try {
+                    MarketData marketData = streamingService.parseMarketDataMessage(frame.message(), tick, frame.receivedNanos());
+                    if (marketData != null) {
+                        marketDataWriter.write(marketData);
+                    }
+                } catch (Exception e) {
+                    log.error("Lane failed to process frame: {}", frame.message(), e);
+                }
+            }
+        }
+    }
+}
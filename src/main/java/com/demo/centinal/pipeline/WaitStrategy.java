@@ -0,0 +1,43 @@
+package com.demo.centinal.pipeline;
+
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How a pipeline thread idles while waiting for the next sequence to become available.
+ * Trades CPU usage against wake-up latency.
+ */
+public enum WaitStrategy {
+    /** Spins on the CPU; lowest latency, burns a full core. */
+    BUSY_SPIN {
+        @Override
+        public void idle() {
+            Thread.onSpinWait();
+        }
+    },
+    /** Gives up the time slice to other runnable threads between checks. */
+    YIELD {
+        @Override
+        public void idle() {
+            Thread.yield();
+        }
+    },
+    /** Parks the thread briefly; lowest CPU usage, adds tens of microseconds of latency. */
+    PARK {
+        @Override
+        public void idle() {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    };
+
+    private static final long PARK_NANOS = 50_000;
+
+    public abstract void idle();
+
+    /**
+     * Resolves a configured name such as {@code busy-spin}, {@code yield} or {@code park}.
+     */
+    public static WaitStrategy fromName(String name) {
+        return valueOf(name.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,18 @@
+package com.demo.centinal.repository;
+
+import com.demo.centinal.entities.Candle;
+import com.demo.centinal.entities.CandleId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface CandleRepository extends JpaRepository<Candle, CandleId> {
+    /**
+     * Closed bars of one interval for a symbol, oldest first.
+     */
+    List<Candle> findBySymbolAndIntervalAndOpenTimeBetweenOrderByOpenTime(
+            String symbol, String interval, Instant startTime, Instant endTime);
+}
@@ -15,12 +15,15 @@ import java.util.List;
 public interface MarketDataRepository extends JpaRepository<MarketData, Long> {
     /**
      * Find market data with price above threshold in time range.
+     * Loads whole entities into memory; use {@code MarketDataQueryService} for large ranges.
      */
     List<MarketData> findBySymbolAndPriceGreaterThanAndTimestampBetween(
             String symbol, BigDecimal price, Instant startTime, Instant endTime);
 
     /**
      * Custom query for time-series aggregation (e.g., OHLC data).
+     * Scans the raw ticks of the range, so keep it to short ranges; {@code MarketDataQueryService.ohlc}
+     * reads bars from the continuous aggregates instead.
      */
     @Query("""
         SELECT m.symbol, 
@@ -0,0 +1,332 @@
+package com.demo.centinal.service;
+
+import com.demo.centinal.codec.FixedPoint;
+import com.demo.centinal.entities.Candle;
+import com.demo.centinal.model.CandleInterval;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.persistence.CandleSink;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental OHLCV candle builder fed from the tick stream.
+ * Keeps one open bar per symbol and interval and updates it in place for every tick; a bar is
+ * closed when the first tick of the next bucket arrives, or by the flusher once its end time plus
+ * a grace period has passed. Closed bars are written to the {@link CandleSink} in the background.
+ * Bars are bucketed by the tick timestamp (exchange time when available), volume is the sum of
+ * trade sizes. Prices stay in fixed point (see {@link FixedPoint}) while a bar is open, and volume is
+ * split into whole units and a fixed-point fraction so busy daily bars cannot overflow; both only
+ * become BigDecimals when the bar is handed out as a {@link Candle}. The bars that were open when the
+ * service last stopped are loaded once at startup and resumed from memory, so ticks from before the restart
+ * are kept without a database round trip on the tick path; ticks older than a stored bar are ignored as late.
+ * During journal replay the ticks are historical, so bars close on the newest tick time seen instead of the
+ * wall clock, and replayed bars replace the stored ones instead of resuming them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "market.data.candles.enabled", havingValue = "true", matchIfMissing = true)
+public class CandleEngine implements MarketTickListener {
+
+    private final CandleSink candleSink;
+    private final CandleInterval[] intervals;
+    private final long flushIntervalMs;
+    private final long closeGraceMs;
+    private final boolean replay;
+    // Newest tick time seen, the clock bars close on during replay
+    private volatile long eventTimeMillis = Long.MIN_VALUE;
+    // Newest stored bar per symbol and interval, loaded at startup and taken when the symbol's bars are created
+    private final ConcurrentHashMap<BarKey, Candle> storedBars = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SymbolBars> symbolBars = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Candle> closedBars = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "candle-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CandleEngine(CandleSink candleSink,
+                        @Value("${market.data.candles.intervals:1s,1m,5m,1h,1d}") List<String> intervals,
+                        @Value("${market.data.candles.flush-interval-ms:1000}") long flushIntervalMs,
+                        @Value("${market.data.candles.close-grace-ms:2000}") long closeGraceMs,
+                        @Value("${market.data.replay.enabled:false}") boolean replay) {
+        if (intervals.isEmpty() || flushIntervalMs <= 0 || closeGraceMs < 0) {
+            throw new IllegalArgumentException("Candle intervals and flush interval are required, grace must be non-negative");
+        }
+        this.candleSink = candleSink;
+        this.intervals = intervals.stream().map(CandleInterval::fromLabel).distinct().toArray(CandleInterval[]::new);
+        this.flushIntervalMs = flushIntervalMs;
+        this.closeGraceMs = closeGraceMs;
+        this.replay = replay;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!replay) {
+            loadStoredBars(System.currentTimeMillis());
+        }
+        flusher.scheduleWithFixedDelay(() -> flush(clockMillis()),
+            flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Candle engine started for intervals {} on {} time", List.of(intervals), replay ? "tick" : "wall-clock");
+    }
+
+    /**
+     * Loads the newest stored bar of every symbol from the current and previous bucket of each interval, so a
+     * restart can continue them. Older rows are complete, and a bar missing here simply starts from scratch.
+     */
+    void loadStoredBars(long nowMillis) {
+        for (CandleInterval interval : intervals) {
+            Instant since = Instant.ofEpochMilli(interval.bucketStart(nowMillis) - interval.getMillis());
+            try {
+                for (Candle stored : candleSink.findLatest(interval.getLabel(), since)) {
+                    storedBars.put(new BarKey(stored.getSymbol(), interval), stored);
+                }
+            } catch (Exception e) {
+                log.warn("Could not load stored {} bars, starting them from scratch", interval.getLabel(), e);
+            }
+        }
+    }
+
+    /**
+     * Stops the flusher and writes every bar, including the ones still open.
+     */
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onTick(MarketTick tick) {
+        long price = tick.getPriceFixed();
+        if (FixedPoint.isNull(price)) {
+            return;
+        }
+        long epochMillis = Math.floorDiv(tick.getExchangeTimeMicros(), 1_000L);
+        if (replay && epochMillis > eventTimeMillis) {
+            // Replay runs on a single thread, so the check-then-set cannot race
+            eventTimeMillis = epochMillis;
+        }
+        long size = FixedPoint.isNull(tick.getLastSizeFixed()) ? 0 : tick.getLastSizeFixed();
+        SymbolBars bars = symbolBars.computeIfAbsent(tick.getProductId(), SymbolBars::new);
+        synchronized (bars) {
+            for (MutableBar bar : bars.bars) {
+                bar.update(epochMillis, price, size);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the bar currently being built for the symbol and interval.
+     */
+    public Optional<Candle> getCurrent(String symbol, CandleInterval interval) {
+        SymbolBars bars = symbolBars.get(symbol);
+        if (bars == null) {
+            return Optional.empty();
+        }
+        synchronized (bars) {
+            for (MutableBar bar : bars.bars) {
+                if (bar.interval == interval && bar.isOpen()) {
+                    return Optional.of(bar.toCandle());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Time bars are closed against: the newest tick time during replay, the wall clock otherwise.
+     */
+    long clockMillis() {
+        return replay ? eventTimeMillis : System.currentTimeMillis();
+    }
+
+    /**
+     * Closes bars whose end plus the grace period is before {@code nowMillis}, then writes every closed bar.
+     */
+    void flush(long nowMillis) {
+        for (SymbolBars bars : symbolBars.values()) {
+            synchronized (bars) {
+                for (MutableBar bar : bars.bars) {
+                    long closeAt = bar.openMillis + bar.interval.getMillis() + closeGraceMs;
+                    if (bar.isOpen() && closeAt <= nowMillis) {
+                        bar.close();
+                    }
+                }
+            }
+        }
+        List<Candle> batch = new ArrayList<>();
+        Candle candle;
+        while ((candle = closedBars.poll()) != null) {
+            batch.add(candle);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            candleSink.writeCandles(batch);
+            log.debug("Flushed {} closed candles", batch.size());
+        } catch (Exception e) {
+            log.error("Failed to flush {} closed candles", batch.size(), e);
+        }
+    }
+
+    private record BarKey(String symbol, CandleInterval interval) {
+    }
+
+    /**
+     * The open bars of one symbol, one per configured interval; guarded by its own monitor.
+     */
+    private class SymbolBars {
+        private final MutableBar[] bars;
+
+        SymbolBars(String symbol) {
+            bars = new MutableBar[intervals.length];
+            for (int i = 0; i < intervals.length; i++) {
+                bars[i] = new MutableBar(symbol, intervals[i], storedBars.remove(new BarKey(symbol, intervals[i])));
+            }
+        }
+    }
+
+    private class MutableBar {
+        private final String symbol;
+        private final CandleInterval interval;
+        // Open time of the current bar in epoch millis, -1 while no bar is open
+        private long openMillis = -1;
+        // Open time of the last bar handed to the sink; ticks for it or older buckets are late and ignored
+        private long lastClosedMillis = -1;
+        // Fixed-point values, see FixedPoint
+        private long open;
+        private long high;
+        private long low;
+        private long close;
+        // Volume as whole units plus a fixed-point fraction in [0, FixedPoint.ONE)
+        private long volumeUnits;
+        private long volumeFraction;
+        private long tradeCount;
+        // Stored row to continue when its bucket opens; cleared once a bar opens
+        private Candle stored;
+
+        MutableBar(String symbol, CandleInterval interval, Candle stored) {
+            this.symbol = symbol;
+            this.interval = interval;
+            if (stored != null) {
+                this.stored = stored;
+                // Buckets before the stored one were already written in full
+                this.lastClosedMillis = stored.getOpenTime().toEpochMilli() - 1;
+            }
+        }
+
+        boolean isOpen() {
+            return openMillis >= 0;
+        }
+
+        void update(long epochMillis, long price, long size) {
+            long bucket = interval.bucketStart(epochMillis);
+            if (bucket <= lastClosedMillis || (isOpen() && bucket < openMillis)) {
+                return;
+            }
+            if (isOpen() && bucket > openMillis) {
+                close();
+            }
+            if (!isOpen()) {
+                openMillis = bucket;
+                open = price;
+                high = price;
+                low = price;
+                volumeUnits = 0;
+                volumeFraction = 0;
+                tradeCount = 0;
+                if (stored != null) {
+                    if (stored.getOpenTime().toEpochMilli() == bucket) {
+                        resume(stored);
+                    }
+                    stored = null;
+                }
+            }
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            close = price;
+            addVolume(size);
+            tradeCount++;
+        }
+
+        private void addVolume(long size) {
+            volumeUnits += Math.floorDiv(size, FixedPoint.ONE);
+            volumeFraction += Math.floorMod(size, FixedPoint.ONE);
+            if (volumeFraction >= FixedPoint.ONE) {
+                volumeFraction -= FixedPoint.ONE;
+                volumeUnits++;
+            }
+        }
+
+        /**
+         * Continues the stored bar of the bucket that just opened. Runs at most once per bar after startup.
+         */
+        void resume(Candle stored) {
+            if (stored.getOpen() == null || stored.getHigh() == null || stored.getLow() == null) {
+                return;
+            }
+            try {
+                // Convert everything first so an out-of-range row leaves the fresh bar untouched
+                long storedOpen = FixedPoint.fromBigDecimal(stored.getOpen());
+                long storedHigh = FixedPoint.fromBigDecimal(stored.getHigh());
+                long storedLow = FixedPoint.fromBigDecimal(stored.getLow());
+                BigDecimal storedVolume = stored.getVolume() != null
+                    ? stored.getVolume().setScale(FixedPoint.SCALE, RoundingMode.DOWN)
+                    : BigDecimal.ZERO;
+                long storedUnits = storedVolume.setScale(0, RoundingMode.FLOOR).longValueExact();
+                long storedFraction = storedVolume.subtract(BigDecimal.valueOf(storedUnits))
+                    .movePointRight(FixedPoint.SCALE).longValueExact();
+                open = storedOpen;
+                high = storedHigh;
+                low = storedLow;
+                volumeUnits = storedUnits;
+                volumeFraction = storedFraction;
+                tradeCount = stored.getTradeCount();
+            } catch (ArithmeticException e) {
+                log.warn("Stored {} {} bar is out of range, starting it from scratch", symbol, interval.getLabel(), e);
+            }
+        }
+
+        void close() {
+            closedBars.add(toCandle());
+            lastClosedMillis = openMillis;
+            openMillis = -1;
+        }
+
+        Candle toCandle() {
+            return Candle.builder()
+                .symbol(symbol)
+                .interval(interval.getLabel())
+                .openTime(Instant.ofEpochMilli(openMillis))
+                .open(FixedPoint.toBigDecimal(open))
+                .high(FixedPoint.toBigDecimal(high))
+                .low(FixedPoint.toBigDecimal(low))
+                .close(FixedPoint.toBigDecimal(close))
+                .volume(BigDecimal.valueOf(volumeUnits).add(BigDecimal.valueOf(volumeFraction, FixedPoint.SCALE)))
+                .tradeCount(tradeCount)
+                .build();
+        }
+    }
+}
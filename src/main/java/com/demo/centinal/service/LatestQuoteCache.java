@@ -0,0 +1,85 @@
+package com.demo.centinal.service;
+
+import com.demo.centinal.codec.FixedPoint;
+import com.demo.centinal.codec.IsoTimestamps;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.model.Quote;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-symbol last-value cache updated from the tick stream, so "latest price" reads never hit the database.
+ * Each tick replaces the symbol's snapshot as a whole, so readers always see a consistent one;
+ * a tick older than the cached one (e.g. after a reconnect) does not overwrite it.
+ * Snapshots keep the tick's fixed-point values and only become a {@link Quote} when read.
+ */
+@Component
+public class LatestQuoteCache implements MarketTickListener {
+
+    private final ConcurrentHashMap<String, Snapshot> quotes = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTick(MarketTick tick) {
+        Snapshot snapshot = new Snapshot(tick.getProductId(), tick.getPriceFixed(), tick.getBidFixed(),
+            tick.getAskFixed(), tick.getVolume24hFixed(), tick.getHigh24hFixed(), tick.getLow24hFixed(),
+            tick.getOpen24hFixed(), tick.getExchangeTimeMicros());
+        quotes.merge(snapshot.symbol(), snapshot, LatestQuoteCache::newer);
+    }
+
+    private static Snapshot newer(Snapshot cached, Snapshot candidate) {
+        return candidate.timeMicros() < cached.timeMicros() ? cached : candidate;
+    }
+
+    public Optional<Quote> get(String symbol) {
+        Snapshot snapshot = quotes.get(symbol);
+        return snapshot != null ? Optional.of(snapshot.toQuote()) : Optional.empty();
+    }
+
+    /**
+     * Latest quotes for the given symbols in request order; symbols without a quote yet are skipped.
+     */
+    public List<Quote> getAll(Collection<String> symbols) {
+        List<Quote> result = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            Snapshot snapshot = quotes.get(symbol);
+            if (snapshot != null) {
+                result.add(snapshot.toQuote());
+            }
+        }
+        return result;
+    }
+
+    public List<Quote> getAll() {
+        List<Quote> result = new ArrayList<>(quotes.size());
+        for (Snapshot snapshot : quotes.values()) {
+            result.add(snapshot.toQuote());
+        }
+        return result;
+    }
+
+    /**
+     * Fixed-point copy of the quote fields of one tick, see {@link FixedPoint}.
+     */
+    private record Snapshot(String symbol, long price, long bid, long ask, long volume24h,
+                            long high24h, long low24h, long open24h, long timeMicros) {
+
+        Quote toQuote() {
+            return Quote.builder()
+                .symbol(symbol)
+                .price(FixedPoint.toBigDecimal(price))
+                .bid(FixedPoint.toBigDecimal(bid))
+                .ask(FixedPoint.toBigDecimal(ask))
+                .volume24h(FixedPoint.toBigDecimal(volume24h))
+                .high24h(FixedPoint.toBigDecimal(high24h))
+                .low24h(FixedPoint.toBigDecimal(low24h))
+                .open24h(FixedPoint.toBigDecimal(open24h))
+                .time(IsoTimestamps.toInstant(timeMicros))
+                .build();
+        }
+    }
+}
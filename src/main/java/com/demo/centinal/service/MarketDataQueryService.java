@@ -0,0 +1,157 @@
+package com.demo.centinal.service;
+
+import com.demo.centinal.model.CandleInterval;
+import com.demo.centinal.model.OhlcBar;
+import com.demo.centinal.model.PricePoint;
+import com.demo.centinal.model.PricePointPage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Range reads over {@code market_data} that select only the price columns and never hydrate
+ * {@code MarketData} entities. Large ranges are either streamed through a server-side cursor or
+ * paged by keyset on {@code (timestamp, id)} within a symbol, so memory use stays bounded by the
+ * fetch size or the page size rather than the range. OHLC bars come from the {@code market_data_1m} and
+ * {@code market_data_1h} continuous aggregates, so long ranges never scan raw ticks.
+ */
+@Service
+public class MarketDataQueryService {
+
+    private static final String RANGE_SQL = """
+        SELECT id, timestamp, price, volume, bid, ask
+        FROM market_data
+        WHERE symbol = ? AND timestamp >= ? AND timestamp < ?
+        ORDER BY timestamp, id
+        """;
+    private static final String PAGE_SQL = """
+        SELECT id, timestamp, price, volume, bid, ask
+        FROM market_data
+        WHERE symbol = ? AND (timestamp, id) > (?, ?) AND timestamp < ?
+        ORDER BY timestamp, id
+        LIMIT ?
+        """;
+    // %s is the aggregate view, picked from a fixed set, never from user input
+    private static final String OHLC_SQL = """
+        SELECT bucket, open, high, low, close, avg_price, tick_count
+        FROM %s
+        WHERE symbol = ? AND bucket >= ? AND bucket < ?
+        ORDER BY bucket
+        """;
+    private static final RowMapper<OhlcBar> OHLC_BAR = (rs, rowNum) -> new OhlcBar(
+        rs.getTimestamp("bucket").toInstant(),
+        rs.getBigDecimal("open"),
+        rs.getBigDecimal("high"),
+        rs.getBigDecimal("low"),
+        rs.getBigDecimal("close"),
+        rs.getBigDecimal("avg_price"),
+        rs.getLong("tick_count"));
+    private static final RowMapper<PricePoint> PRICE_POINT = (rs, rowNum) -> new PricePoint(
+        rs.getLong("id"),
+        rs.getTimestamp("timestamp").toInstant(),
+        rs.getBigDecimal("price"),
+        rs.getBigDecimal("volume"),
+        rs.getBigDecimal("bid"),
+        rs.getBigDecimal("ask"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxPageSize;
+
+    public MarketDataQueryService(DataSource dataSource,
+                                  @Value("${market.data.query.fetch-size:1000}") int fetchSize,
+                                  @Value("${market.data.query.max-page-size:10000}") int maxPageSize) {
+        if (fetchSize <= 0 || maxPageSize <= 0) {
+            throw new IllegalArgumentException("Query fetch size and max page size must be positive");
+        }
+        // The PostgreSQL driver only uses a cursor when a fetch size is set and autocommit is off
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Streams every point of a symbol in {@code [start, end)}, oldest first, holding at most one fetch of rows in memory.
+     * The stream reads from an open cursor, so it must be consumed and closed inside the caller's transaction;
+     * see {@link #forEachPricePoint(String, Instant, Instant, Consumer)} for a self-contained variant.
+     */
+    @Transactional(propagation = Propagation.MANDATORY, readOnly = true)
+    public Stream<PricePoint> streamPricePoints(String symbol, Instant start, Instant end) {
+        return jdbcTemplate.queryForStream(RANGE_SQL, PRICE_POINT, symbol, Timestamp.from(start), Timestamp.from(end));
+    }
+
+    /**
+     * Hands every point of a symbol in {@code [start, end)} to the consumer, oldest first, in one read-only transaction.
+     */
+    @Transactional(readOnly = true)
+    public void forEachPricePoint(String symbol, Instant start, Instant end, Consumer<PricePoint> consumer) {
+        try (Stream<PricePoint> points = streamPricePoints(symbol, start, end)) {
+            points.forEach(consumer);
+        }
+    }
+
+    /**
+     * One page of points of a symbol in {@code [start, end)}, oldest first.
+     * @param afterTimestamp {@link PricePointPage#nextTimestamp()} of the previous page, null for the first page
+     * @param afterId {@link PricePointPage#nextId()} of the previous page, ignored for the first page
+     * @param limit page size, capped at {@code market.data.query.max-page-size}
+     */
+    @Transactional(readOnly = true)
+    public PricePointPage page(String symbol, Instant start, Instant end,
+                               Instant afterTimestamp, Long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+        Timestamp after;
+        long id;
+        if (afterTimestamp == null || afterTimestamp.isBefore(start)) {
+            // Start just before the range so (start, any id) is included
+            after = Timestamp.from(start);
+            id = Long.MIN_VALUE;
+        } else {
+            after = Timestamp.from(afterTimestamp);
+            id = afterId != null ? afterId : Long.MAX_VALUE;
+        }
+        List<PricePoint> points = jdbcTemplate.query(PAGE_SQL, PRICE_POINT,
+            symbol, after, id, Timestamp.from(end), pageSize);
+        if (points.size() < pageSize) {
+            return new PricePointPage(points, null, null);
+        }
+        PricePoint last = points.get(points.size() - 1);
+        return new PricePointPage(points, last.timestamp(), last.id());
+    }
+
+    /**
+     * OHLC bars of a symbol whose bucket starts in {@code [start, end)}, oldest first, read from the continuous
+     * aggregate of the resolution.
+     * @param resolution {@code 1m} or {@code 1h}
+     * @throws IllegalArgumentException for another resolution, or a range of more than
+     *         {@code market.data.query.max-page-size} bars
+     */
+    @Transactional(readOnly = true)
+    public List<OhlcBar> ohlc(String symbol, Instant start, Instant end, String resolution) {
+        CandleInterval interval = CandleInterval.fromLabel(resolution);
+        String view = switch (interval) {
+            case ONE_MINUTE -> "market_data_1m";
+            case ONE_HOUR -> "market_data_1h";
+            default -> throw new IllegalArgumentException("OHLC resolution must be 1m or 1h, not " + resolution);
+        };
+        long bars = Duration.between(start, end).toMillis() / interval.getMillis();
+        if (bars > maxPageSize) {
+            throw new IllegalArgumentException("Range covers " + bars + " bars of " + resolution
+                + ", more than " + maxPageSize + "; use a coarser resolution or a shorter range");
+        }
+        return jdbcTemplate.query(OHLC_SQL.formatted(view), OHLC_BAR, symbol, Timestamp.from(start), Timestamp.from(end));
+    }
+}
@@ -1,9 +1,14 @@
 package com.demo.centinal.service;
 
 import com.demo.centinal.client.CoinbaseWebsocketClient;
+import com.demo.centinal.codec.FixedPoint;
+import com.demo.centinal.codec.IsoTimestamps;
+import com.demo.centinal.codec.TickerJsonDecoder;
 import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.metrics.IngestLatencyMetrics;
 import com.demo.centinal.model.MarketDataEvent;
-import com.demo.centinal.repository.MarketDataRepository;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.persistence.MarketDataWriter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +17,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -28,13 +32,23 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 public class MarketDataStreamingService {
     
-    private final MarketDataRepository marketDataRepository;
+    private final MarketDataWriter marketDataWriter;
     private final CoinbaseWebsocketClient coinbaseClient;
     private final ObjectMapper objectMapper;
+    private final TickerJsonDecoder tickerDecoder;
+    private final SequenceTracker sequenceTracker;
+    private final IngestLatencyMetrics latencyMetrics;
+    private final List<MarketTickListener> tickListeners;
+    // Fallback holder for callers that do not bring their own, e.g. the event listener path
+    private final ThreadLocal<MarketTick> tickHolder = ThreadLocal.withInitial(MarketTick::new);
     
     @Value("${market.data.symbols:BTC-USD}")
     private List<String> assetSymbols;
 
+    // "tree" parses with ObjectMapper.readTree, "streaming" with the token-streaming decoder
+    @Value("${market.data.decoder:tree}")
+    private String decoder;
+
     /**
      * Starts the market data streaming process.
      * Connects to Coinbase WebSocket and begins processing messages.
@@ -67,23 +81,76 @@ public class MarketDataStreamingService {
     
     /**
      * Processes incoming market data message from WebSocket.
-     * Parses the JSON message and persists to database.
+     * Parses the JSON message and hands it to the configured write stage.
      */
     @EventListener
-    @Transactional
     public void handleMarketDataEvent(MarketDataEvent event) {
-        processMarketDataMessage(event.getMessage());
+        MarketData marketData = parseMarketDataMessage(event.getMessage(), tickHolder.get(), event.getReceivedNanos());
+        if (marketData != null) {
+            persistMarketData(marketData);
+        }
     }
 
     public void processMarketDataMessage(String message) {
+        MarketData marketData = parseMarketDataMessage(message);
+        if (marketData != null) {
+            persistMarketData(marketData);
+        }
+    }
+
+    /**
+     * Parses a raw WebSocket message.
+     * @return the tick for ticker messages, null for control messages or unparseable input
+     */
+    public MarketData parseMarketDataMessage(String message) {
+        return parseMarketDataMessage(message, tickHolder.get(), System.nanoTime());
+    }
+
+    /**
+     * Parses a raw WebSocket message using the given reusable holder and builds its entity.
+     * @param receivedNanos {@link System#nanoTime()} when the frame was read from the socket
+     * @return the tick for ticker messages, null for control messages or unparseable input
+     */
+    public MarketData parseMarketDataMessage(String message, MarketTick tick, long receivedNanos) {
+        return parseTick(message, tick, receivedNanos) ? toMarketData(tick) : null;
+    }
+
+    /**
+     * Parses a raw WebSocket message into the given reusable holder without building an entity.
+     * Accepted ticks are normalized to fixed point and handed to every {@link MarketTickListener}.
+     * @param receivedNanos {@link System#nanoTime()} when the frame was read from the socket
+     * @return true if the holder now carries an accepted ticker, false for control messages,
+     *         duplicates or unparseable input
+     */
+    public boolean parseTick(String message, MarketTick tick, long receivedNanos) {
         try {
-            JsonNode jsonNode = objectMapper.readTree(message);
+            String type;
+            if ("streaming".equals(decoder)) {
+                tickerDecoder.decode(message, tick);
+                type = tick.getType() != null ? tick.getType() : "";
+            } else {
+                JsonNode jsonNode = objectMapper.readTree(message);
+                type = jsonNode.path("type").asText();
+                if ("ticker".equals(type)) {
+                    readTickerNode(jsonNode, tick);
+                }
+            }
             
             // Handle different message types
-            String type = jsonNode.path("type").asText();
-            
             switch (type) {
-                case "ticker" -> processTickerMessage(jsonNode);
+                case "ticker" -> {
+                    tick.setReceivedNanos(receivedNanos);
+                    tick.setParsedNanos(System.nanoTime());
+                    latencyMetrics.recordParsed(tick);
+                    if (sequenceTracker.track(tick.getProductId(), tick.getSequence()) == SequenceTracker.Result.DUPLICATE) {
+                        return false;
+                    }
+                    if (!normalize(tick)) {
+                        return false;
+                    }
+                    notifyListeners(tick);
+                    return true;
+                }
                 case "heartbeat" -> log.debug("Received heartbeat: {}", message);
                 case "subscriptions" -> log.info("Subscription confirmed: {}", message);
                 case "error" -> log.error("WebSocket error: {}", message);
@@ -93,42 +160,119 @@ public class MarketDataStreamingService {
         } catch (Exception e) {
             log.error("Failed to process market data message: {}", message, e);
         }
+        return false;
     }
-    
+
+    private void notifyListeners(MarketTick tick) {
+        for (MarketTickListener listener : tickListeners) {
+            try {
+                listener.onTick(tick);
+            } catch (Exception e) {
+                log.error("Tick listener {} failed for {}", listener.getClass().getSimpleName(), tick.getProductId(), e);
+            }
+        }
+    }
+
     /**
-     * Processes a ticker message from Coinbase WebSocket.
+     * Hands a parsed tick to the configured write stage.
      */
-    private void processTickerMessage(JsonNode tickerNode) {
+    public void persistMarketData(MarketData marketData) {
         try {
-            String productId = tickerNode.path("product_id").asText();
-            String priceStr = tickerNode.path("price").asText();
-            String volumeStr = tickerNode.path("volume_24h").asText();
-            String bidStr = tickerNode.path("bid").asText();
-            String askStr = tickerNode.path("ask").asText();
-            String highStr = tickerNode.path("high_24h").asText();
-            String lowStr = tickerNode.path("low_24h").asText();
-            String openStr = tickerNode.path("open_24h").asText();
-            
-            MarketData marketData = MarketData.builder()
-                .timestamp(Instant.now())
-                .symbol(productId)
-                .exchange("coinbase")
-                .price(parseBigDecimal(priceStr))
-                .volume(parseBigDecimal(volumeStr))
-                .bid(parseBigDecimal(bidStr))
-                .ask(parseBigDecimal(askStr))
-                .high24h(parseBigDecimal(highStr))
-                .low24h(parseBigDecimal(lowStr))
-                .open24h(parseBigDecimal(openStr))
-                .rawData(tickerNode.toString())
-                .build();
-            
-            marketDataRepository.save(marketData);
-            log.debug("Saved market data for {}: price={}", productId, priceStr);
-            
+            marketDataWriter.write(marketData);
+            log.debug("Queued market data for {}: price={}", marketData.getSymbol(), marketData.getPrice());
         } catch (Exception e) {
-            log.error("Failed to process ticker message: {}", tickerNode.toString(), e);
+            log.error("Failed to persist market data for {}", marketData.getSymbol(), e);
+        }
+    }
+    
+    /**
+     * Copies the ticker fields of a parsed tree into the holder.
+     */
+    private void readTickerNode(JsonNode tickerNode, MarketTick tick) {
+        tick.reset();
+        tick.setType("ticker");
+        tick.setProductId(tickerNode.path("product_id").asText());
+        JsonNode sequenceNode = tickerNode.get("sequence");
+        if (sequenceNode != null && sequenceNode.canConvertToLong()) {
+            tick.setSequence(sequenceNode.asLong());
+        }
+        JsonNode timeNode = tickerNode.get("time");
+        if (timeNode != null && timeNode.isTextual()) {
+            tick.setExchangeTimeMicros(IsoTimestamps.parseEpochMicros(timeNode.asText()));
+        }
+        tick.setPrice(tickerNode.path("price").asText());
+        tick.setVolume24h(tickerNode.path("volume_24h").asText());
+        tick.setBid(tickerNode.path("bid").asText());
+        tick.setAsk(tickerNode.path("ask").asText());
+        tick.setHigh24h(tickerNode.path("high_24h").asText());
+        tick.setLow24h(tickerNode.path("low_24h").asText());
+        tick.setOpen24h(tickerNode.path("open_24h").asText());
+        JsonNode lastSizeNode = tickerNode.get("last_size");
+        if (lastSizeNode != null) {
+            tick.setLastSize(lastSizeNode.asText());
+        }
+        tick.setRawMessage(tickerNode.toString());
+    }
+
+    /**
+     * Brings an accepted ticker to the form listeners see: fixed-point values, an exchange time and the venue.
+     * Text values, decoded without {@code market.data.fixed-point}, are scaled here once for the listeners
+     * and kept as they are for persistence.
+     * @return false if the ticker has no product_id and must be dropped
+     */
+    private boolean normalize(MarketTick tick) {
+        if (tick.getProductId() == null || tick.getProductId().isEmpty()) {
+            log.warn("Dropping ticker without product_id: {}", tick.getRawMessage());
+            return false;
+        }
+        if (!tick.isFixedPoint()) {
+            tick.setPriceFixed(tickerDecoder.toFixed("price", tick.getPrice()));
+            tick.setVolume24hFixed(tickerDecoder.toFixed("volume_24h", tick.getVolume24h()));
+            tick.setBidFixed(tickerDecoder.toFixed("bid", tick.getBid()));
+            tick.setAskFixed(tickerDecoder.toFixed("ask", tick.getAsk()));
+            tick.setHigh24hFixed(tickerDecoder.toFixed("high_24h", tick.getHigh24h()));
+            tick.setLow24hFixed(tickerDecoder.toFixed("low_24h", tick.getLow24h()));
+            tick.setOpen24hFixed(tickerDecoder.toFixed("open_24h", tick.getOpen24h()));
+            tick.setLastSizeFixed(tickerDecoder.toFixed("last_size", tick.getLastSize()));
+            tick.setFixedPoint(true);
         }
+        // Prefer the exchange's own timestamp over the local clock
+        if (tick.getExchangeTimeMicros() == IsoTimestamps.NULL) {
+            tick.setExchangeTimeMicros(IsoTimestamps.toEpochMicros(Instant.now()));
+        }
+        tick.setExchange("coinbase");
+        return true;
+    }
+
+    /**
+     * Builds the entity for a ticker accepted by {@link #parseTick(String, MarketTick, long)}.
+     * This is the persistence boundary where fixed-point values become BigDecimals. Values decoded as
+     * text are stored exactly, without the fixed-point truncation and range limit.
+     */
+    public MarketData toMarketData(MarketTick tick) {
+        return MarketData.builder()
+            .timestamp(IsoTimestamps.toInstant(tick.getExchangeTimeMicros()))
+            .symbol(tick.getProductId())
+            .exchange(tick.getExchange())
+            .sequence(tick.getSequence() >= 0 ? tick.getSequence() : null)
+            .rawData(tick.getRawMessage())
+            .receivedNanos(tick.getReceivedNanos())
+            .price(toBigDecimal(tick.getPrice(), tick.getPriceFixed()))
+            .volume(toBigDecimal(tick.getVolume24h(), tick.getVolume24hFixed()))
+            .bid(toBigDecimal(tick.getBid(), tick.getBidFixed()))
+            .ask(toBigDecimal(tick.getAsk(), tick.getAskFixed()))
+            .high24h(toBigDecimal(tick.getHigh24h(), tick.getHigh24hFixed()))
+            .low24h(toBigDecimal(tick.getLow24h(), tick.getLow24hFixed()))
+            .open24h(toBigDecimal(tick.getOpen24h(), tick.getOpen24hFixed()))
+            .lastSize(toBigDecimal(tick.getLastSize(), tick.getLastSizeFixed()))
+            .build();
+    }
+
+    /**
+     * The text value when the tick was decoded as text, the fixed-point value otherwise.
+     */
+    private BigDecimal toBigDecimal(String text, long fixed) {
+        return text != null ? parseBigDecimal(text) : FixedPoint.toBigDecimal(fixed);
     }
     
     /**
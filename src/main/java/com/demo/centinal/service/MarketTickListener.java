@@ -0,0 +1,14 @@
+package com.demo.centinal.service;
+
+import com.demo.centinal.model.MarketTick;
+
+/**
+ * Receives every accepted ticker right after it is parsed, before it is persisted.
+ * Called on the parsing thread, so implementations must be cheap and thread-safe.
+ * The tick is the parser's reusable holder: it is normalized to fixed point ({@link MarketTick#isFixedPoint()}
+ * is true, the exchange time and exchange are set) and is refilled after the call returns, so copy what you keep.
+ */
+public interface MarketTickListener {
+
+    void onTick(MarketTick tick);
+}
@@ -0,0 +1,78 @@
+package com.demo.centinal.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the exchange {@code sequence} of every product and reports gaps and duplicates.
+ * A product is only ever fed from one connection, so updates for the same product are not
+ * expected to race; the map itself is safe for concurrent products.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SequenceTracker {
+
+    /**
+     * Outcome of checking a sequence number against the last one seen for its product.
+     */
+    public enum Result {
+        /** The message had no product or sequence. */
+        UNSEQUENCED,
+        /** First message seen for the product. */
+        FIRST,
+        /** Exactly one more than the previous sequence. */
+        IN_ORDER,
+        /** One or more sequences were skipped. */
+        GAP,
+        /** Not newer than the previous sequence; the message should be discarded. */
+        DUPLICATE
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, AtomicLong> lastSequences = new ConcurrentHashMap<>();
+
+    /**
+     * Records the sequence for the product and classifies it.
+     * @param productId the product the message belongs to
+     * @param sequence the exchange sequence, negative if absent
+     */
+    public Result track(String productId, long sequence) {
+        if (productId == null || productId.isEmpty() || sequence < 0) {
+            return Result.UNSEQUENCED;
+        }
+        AtomicLong last = lastSequences.computeIfAbsent(productId, key -> new AtomicLong(-1));
+        long previous = last.get();
+        if (previous < 0) {
+            last.set(sequence);
+            return Result.FIRST;
+        }
+        if (sequence <= previous) {
+            meterRegistry.counter("market.data.sequence.duplicates", "symbol", productId).increment();
+            log.debug("Duplicate or stale sequence {} for {} (last {})", sequence, productId, previous);
+            return Result.DUPLICATE;
+        }
+        last.set(sequence);
+        if (sequence == previous + 1) {
+            return Result.IN_ORDER;
+        }
+        long missed = sequence - previous - 1;
+        meterRegistry.counter("market.data.sequence.gaps", "symbol", productId).increment();
+        meterRegistry.counter("market.data.sequence.missed", "symbol", productId).increment(missed);
+        log.warn("Sequence gap for {}: expected {} but got {} ({} missed)", productId, previous + 1, sequence, missed);
+        return Result.GAP;
+    }
+
+    /**
+     * Last sequence seen for the product, or -1 if none.
+     */
+    public long getLastSequence(String productId) {
+        AtomicLong last = lastSequences.get(productId);
+        return last != null ? last.get() : -1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.demo.centinal.streams;
+
+import com.demo.centinal.entities.MarketData;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Running OHLCV state of one symbol's window in a Kafka Streams window store.
+ */
+@Data
+@NoArgsConstructor
+public class OhlcvAggregate {
+
+    // Event time of the ticks behind open and close, so out-of-order ticks land in the right place
+    private long openMillis = Long.MAX_VALUE;
+    private long closeMillis = Long.MIN_VALUE;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
+    private BigDecimal close;
+    private BigDecimal volume = BigDecimal.ZERO;
+    private long tradeCount;
+
+    public OhlcvAggregate add(MarketData tick) {
+        BigDecimal price = tick.getPrice();
+        long millis = tick.getTimestamp().toEpochMilli();
+        if (millis < openMillis) {
+            openMillis = millis;
+            open = price;
+        }
+        if (millis >= closeMillis) {
+            closeMillis = millis;
+            close = price;
+        }
+        if (high == null || price.compareTo(high) > 0) {
+            high = price;
+        }
+        if (low == null || price.compareTo(low) < 0) {
+            low = price;
+        }
+        if (tick.getLastSize() != null) {
+            volume = volume.add(tick.getLastSize());
+        }
+        tradeCount++;
+        return this;
+    }
+}
@@ -0,0 +1,59 @@
+package com.demo.centinal.streams;
+
+import com.demo.centinal.codec.IdDictionary;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.CandleInterval;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.KStream;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs {@link TickStreamsTopology} when {@code market.data.streams.enabled} is set.
+ * Kafka Streams itself is configured through {@code spring.kafka.streams.*} (application id, state dir,
+ * and {@code application.server} for routing interactive queries between instances).
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "market.data.streams.enabled", havingValue = "true")
+public class TickStreamsConfig {
+
+    @Bean
+    public KStream<String, MarketData> tickStatsStream(
+            StreamsBuilder streamsBuilder,
+            @Qualifier("tickSymbolDictionary") IdDictionary symbols,
+            @Qualifier("tickExchangeDictionary") IdDictionary exchanges,
+            @Value("${market.data.kafka.topic:market-data.ticks}") String topic,
+            @Value("${market.data.streams.candle-intervals:1m,1h}") List<String> candleIntervals,
+            @Value("${market.data.streams.vwap.size-ms:300000}") long vwapSizeMs,
+            @Value("${market.data.streams.vwap.advance-ms:60000}") long vwapAdvanceMs,
+            @Value("${market.data.streams.grace-ms:5000}") long graceMs,
+            @Value("${market.data.streams.retention-ms:86400000}") long retentionMs) {
+        if (candleIntervals.isEmpty() || vwapSizeMs <= 0 || vwapAdvanceMs <= 0 || vwapAdvanceMs > vwapSizeMs || graceMs < 0 || retentionMs <= 0) {
+            throw new IllegalArgumentException(
+                "Candle intervals are required, VWAP size and advance must be positive with advance <= size, grace non-negative and retention positive");
+        }
+        List<CandleInterval> intervals = candleIntervals.stream()
+            .map(CandleInterval::fromLabel)
+            .distinct()
+            .toList();
+        return TickStreamsTopology.build(streamsBuilder, topic, symbols, exchanges, intervals,
+            Duration.ofMillis(vwapSizeMs), Duration.ofMillis(vwapAdvanceMs),
+            Duration.ofMillis(graceMs), Duration.ofMillis(retentionMs));
+    }
+
+    @Bean
+    public KafkaStreamsInteractiveQueryService kafkaStreamsInteractiveQueryService(
+            StreamsBuilderFactoryBean streamsBuilderFactoryBean) {
+        return new KafkaStreamsInteractiveQueryService(streamsBuilderFactoryBean);
+    }
+}
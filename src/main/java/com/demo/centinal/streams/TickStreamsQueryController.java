@@ -0,0 +1,155 @@
+package com.demo.centinal.streams;
+
+import com.demo.centinal.model.CandleInterval;
+import com.demo.centinal.model.VwapWindow;
+import com.demo.centinal.model.WindowedCandle;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Interactive queries over the window stores of {@link TickStreamsTopology}.
+ * Each symbol's windows live on the instance that owns its partition; when {@code application.server} is
+ * configured, a request for a symbol owned elsewhere is answered with a redirect to that instance.
+ */
+@RestController
+@RequestMapping("/streams")
+@ConditionalOnProperty(name = "market.data.streams.enabled", havingValue = "true")
+public class TickStreamsQueryController {
+
+    private static final Duration DEFAULT_LOOKBACK = Duration.ofHours(1);
+
+    private final KafkaStreamsInteractiveQueryService queryService;
+    private final Set<CandleInterval> candleIntervals;
+    private final long vwapSizeMs;
+
+    public TickStreamsQueryController(KafkaStreamsInteractiveQueryService queryService,
+                                      @Value("${market.data.streams.candle-intervals:1m,1h}") List<String> candleIntervals,
+                                      @Value("${market.data.streams.vwap.size-ms:300000}") long vwapSizeMs) {
+        this.queryService = queryService;
+        this.candleIntervals = candleIntervals.stream()
+            .map(CandleInterval::fromLabel)
+            .collect(Collectors.toCollection(() -> EnumSet.noneOf(CandleInterval.class)));
+        this.vwapSizeMs = vwapSizeMs;
+    }
+
+    /**
+     * Candles of a symbol whose window starts in {@code [from, to]}, e.g.
+     * {@code /streams/candles/BTC-USD?interval=1m&from=2024-01-01T00:00:00Z}; defaults to the last hour.
+     * The newest candle is still open until its window end plus the grace period.
+     */
+    @GetMapping("/candles/{symbol}")
+    public ResponseEntity<List<WindowedCandle>> candles(@PathVariable("symbol") String symbol,
+                                                        @RequestParam(name = "interval", defaultValue = "1m") String interval,
+                                                        @RequestParam(name = "from", required = false) Instant from,
+                                                        @RequestParam(name = "to", required = false) Instant to) {
+        CandleInterval candleInterval = CandleInterval.fromLabel(interval);
+        if (!candleIntervals.contains(candleInterval)) {
+            throw new IllegalArgumentException("No " + candleInterval.getLabel()
+                + " candles are computed; see market.data.streams.candle-intervals");
+        }
+        String store = TickStreamsTopology.candleStoreName(candleInterval);
+        return query(store, symbol, from, to, (Long windowStart, OhlcvAggregate candle) -> new WindowedCandle(
+            symbol,
+            candleInterval.getLabel(),
+            Instant.ofEpochMilli(windowStart),
+            candle.getOpen(),
+            candle.getHigh(),
+            candle.getLow(),
+            candle.getClose(),
+            candle.getVolume(),
+            candle.getTradeCount()));
+    }
+
+    /**
+     * Hopping VWAP windows of a symbol whose start is in {@code [from, to]}; defaults to the last hour.
+     */
+    @GetMapping("/vwap/{symbol}")
+    public ResponseEntity<List<VwapWindow>> vwap(@PathVariable("symbol") String symbol,
+                                                 @RequestParam(name = "from", required = false) Instant from,
+                                                 @RequestParam(name = "to", required = false) Instant to) {
+        return query(TickStreamsTopology.VWAP_STORE, symbol, from, to, (Long windowStart, VwapAggregate vwap) -> new VwapWindow(
+            symbol,
+            Instant.ofEpochMilli(windowStart),
+            Instant.ofEpochMilli(windowStart + vwapSizeMs),
+            vwap.getVwap(),
+            vwap.getVolume(),
+            vwap.getTradeCount()));
+    }
+
+    private <V, R> ResponseEntity<List<R>> query(String storeName, String symbol, Instant from, Instant to,
+                                                 BiFunction<Long, V, R> mapper) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_LOOKBACK);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        URI remote = remoteLocation(storeName, symbol);
+        if (remote != null) {
+            return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(remote).build();
+        }
+        ReadOnlyWindowStore<String, V> store =
+            queryService.retrieveQueryableStore(storeName, QueryableStoreTypes.<String, V>windowStore());
+        List<R> windows = new ArrayList<>();
+        try (WindowStoreIterator<V> iterator = store.fetch(symbol, start, end)) {
+            while (iterator.hasNext()) {
+                KeyValue<Long, V> window = iterator.next();
+                windows.add(mapper.apply(window.key, window.value));
+            }
+        }
+        return ResponseEntity.ok(windows);
+    }
+
+    /**
+     * Invalid request parameters, such as an unknown or uncomputed interval or {@code from} after {@code to}.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail badRequest(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    /**
+     * Same request on the instance that owns the symbol, or null when it is this one or routing is not configured.
+     */
+    private URI remoteLocation(String storeName, String symbol) {
+        HostInfo current = queryService.getCurrentKafkaStreamsApplicationHostInfo();
+        if (current == null) {
+            return null;
+        }
+        HostInfo owner = queryService.getKafkaStreamsApplicationHostInfo(storeName, symbol, Serdes.String().serializer());
+        if (owner == null || owner.equals(current)) {
+            return null;
+        }
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+            .host(owner.host())
+            .port(owner.port())
+            .build()
+            .toUri();
+    }
+}
@@ -0,0 +1,87 @@
+package com.demo.centinal.streams;
+
+import com.demo.centinal.codec.IdDictionary;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.kafka.MarketDataDeserializer;
+import com.demo.centinal.kafka.MarketDataSerializer;
+import com.demo.centinal.model.CandleInterval;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Kafka Streams topology over the tick topic: tumbling-window OHLCV candles per configured interval and a
+ * hopping-window VWAP, all per symbol and in exchange time. Results live in persistent (RocksDB) window
+ * stores queried through {@link TickStreamsQueryController}. Ticks arriving after their window's grace
+ * period are dropped by Kafka Streams and counted in its dropped-records metric.
+ */
+public final class TickStreamsTopology {
+
+    public static final String VWAP_STORE = "vwap";
+
+    private TickStreamsTopology() {
+    }
+
+    public static String candleStoreName(CandleInterval interval) {
+        return "candles-" + interval.getLabel();
+    }
+
+    /**
+     * Adds the topology to the builder.
+     * @param symbols dictionary of the tick topic's wire values, see {@code TickWireDictionaryConfig}
+     * @param grace how long after a window ends late ticks are still applied to it
+     * @param retention how long closed windows stay queryable; at least the largest window plus grace
+     */
+    public static KStream<String, MarketData> build(StreamsBuilder builder, String topic,
+                                                    IdDictionary symbols, IdDictionary exchanges,
+                                                    List<CandleInterval> candleIntervals,
+                                                    Duration vwapSize, Duration vwapAdvance,
+                                                    Duration grace, Duration retention) {
+        Serde<MarketData> tickSerde = Serdes.serdeFrom(
+            new MarketDataSerializer(symbols, exchanges), new MarketDataDeserializer(symbols, exchanges));
+        KStream<String, MarketData> ticks = builder.stream(topic,
+            Consumed.with(Serdes.String(), tickSerde).withTimestampExtractor(new TickTimestampExtractor()));
+        // Records are already keyed by symbol, so grouping needs no repartition topic
+        KGroupedStream<String, MarketData> bySymbol = ticks
+            .filter((symbol, tick) -> symbol != null && tick != null && tick.getPrice() != null && tick.getTimestamp() != null)
+            .groupByKey(Grouped.with(Serdes.String(), tickSerde));
+
+        for (CandleInterval interval : candleIntervals) {
+            Duration size = Duration.ofMillis(interval.getMillis());
+            bySymbol.windowedBy(TimeWindows.ofSizeAndGrace(size, grace))
+                .aggregate(OhlcvAggregate::new, (symbol, tick, candle) -> candle.add(tick),
+                    Materialized.<String, OhlcvAggregate, WindowStore<Bytes, byte[]>>as(candleStoreName(interval))
+                        .withKeySerde(Serdes.String())
+                        .withValueSerde(jsonSerde(OhlcvAggregate.class))
+                        .withRetention(max(retention, size.plus(grace))));
+        }
+
+        bySymbol.windowedBy(TimeWindows.ofSizeAndGrace(vwapSize, grace).advanceBy(vwapAdvance))
+            .aggregate(VwapAggregate::new, (symbol, tick, vwap) -> vwap.add(tick),
+                Materialized.<String, VwapAggregate, WindowStore<Bytes, byte[]>>as(VWAP_STORE)
+                    .withKeySerde(Serdes.String())
+                    .withValueSerde(jsonSerde(VwapAggregate.class))
+                    .withRetention(max(retention, vwapSize.plus(grace))));
+        return ticks;
+    }
+
+    private static <T> Serde<T> jsonSerde(Class<T> type) {
+        return new JsonSerde<>(type).noTypeInfo().ignoreTypeHeaders();
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
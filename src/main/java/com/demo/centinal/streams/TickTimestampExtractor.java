@@ -0,0 +1,19 @@
+package com.demo.centinal.streams;
+
+import com.demo.centinal.entities.MarketData;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.streams.processor.TimestampExtractor;
+
+/**
+ * Windows ticks by exchange time rather than by when they were produced to Kafka.
+ */
+public class TickTimestampExtractor implements TimestampExtractor {
+
+    @Override
+    public long extract(ConsumerRecord<Object, Object> record, long partitionTime) {
+        if (record.value() instanceof MarketData tick && tick.getTimestamp() != null) {
+            return tick.getTimestamp().toEpochMilli();
+        }
+        return record.timestamp() >= 0 ? record.timestamp() : partitionTime;
+    }
+}
@@ -0,0 +1,39 @@
+package com.demo.centinal.streams;
+
+import com.demo.centinal.entities.MarketData;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Running sums for the volume-weighted average price of one symbol's window.
+ */
+@Data
+@NoArgsConstructor
+public class VwapAggregate {
+
+    private BigDecimal notional = BigDecimal.ZERO;
+    private BigDecimal volume = BigDecimal.ZERO;
+    private long tradeCount;
+
+    public VwapAggregate add(MarketData tick) {
+        // Ticks without a trade size carry no weight
+        if (tick.getLastSize() != null && tick.getLastSize().signum() > 0) {
+            notional = notional.add(tick.getPrice().multiply(tick.getLastSize()));
+            volume = volume.add(tick.getLastSize());
+            tradeCount++;
+        }
+        return this;
+    }
+
+    /**
+     * Volume-weighted average price, or null while no sized trade has been seen.
+     */
+    @JsonIgnore
+    public BigDecimal getVwap() {
+        return volume.signum() == 0 ? null : notional.divide(volume, MathContext.DECIMAL64);
+    }
+}
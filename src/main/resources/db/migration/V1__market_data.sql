@@ -0,0 +1,89 @@
+-- Base schema: the market_data hypertable and the tables that sit next to it
+
+CREATE EXTENSION IF NOT EXISTS timescaledb;
+
+-- Unique constraints on a hypertable must include its partitioning columns,
+-- so the primary key carries timestamp and symbol next to the generated id
+CREATE TABLE IF NOT EXISTS market_data (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    timestamp TIMESTAMPTZ NOT NULL,
+    symbol VARCHAR(20) NOT NULL,
+    exchange VARCHAR(50) NOT NULL,
+    price NUMERIC(20,8),
+    volume NUMERIC(20,8),
+    bid NUMERIC(20,8),
+    ask NUMERIC(20,8),
+    high_24h NUMERIC(20,8),
+    low_24h NUMERIC(20,8),
+    open_24h NUMERIC(20,8),
+    raw_data JSONB,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, timestamp, symbol)
+);
+
+-- Upgrade path for a database that already holds the plain market_data table created before these
+-- migrations (Flyway baselines it at version 0, see baseline-on-migrate). CREATE TABLE IF NOT EXISTS
+-- keeps that table, so bring it to the shape above: its primary key is id alone, which a hypertable
+-- cannot have, and its single-column indexes are covered by the hypertable's own indexes.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM timescaledb_information.hypertables
+                   WHERE hypertable_schema = current_schema() AND hypertable_name = 'market_data') THEN
+        ALTER TABLE market_data DROP CONSTRAINT IF EXISTS market_data_pkey;
+        ALTER TABLE market_data ADD CONSTRAINT market_data_pkey PRIMARY KEY (id, timestamp, symbol);
+        ALTER TABLE market_data ALTER COLUMN created_at SET DEFAULT NOW();
+        DROP INDEX IF EXISTS idx_market_data_timestamp;
+        DROP INDEX IF EXISTS idx_market_data_symbol;
+        DROP INDEX IF EXISTS idx_market_data_exchange;
+    END IF;
+END
+$$;
+
+-- Time chunks further split by symbol; existing rows are moved into chunks, which locks the table
+-- for the duration of the copy
+SELECT create_hypertable('market_data', 'timestamp',
+    partitioning_column => 'symbol',
+    number_partitions => ${symbol_partitions},
+    chunk_time_interval => INTERVAL '${chunk_interval}',
+    migrate_data => TRUE,
+    if_not_exists => TRUE);
+
+-- Every range query filters on symbol first; create_hypertable already adds (timestamp DESC)
+CREATE INDEX IF NOT EXISTS idx_market_data_symbol_timestamp ON market_data (symbol, timestamp DESC);
+
+CREATE TABLE IF NOT EXISTS candles (
+    symbol VARCHAR(20) NOT NULL,
+    candle_interval VARCHAR(8) NOT NULL,
+    open_time TIMESTAMPTZ NOT NULL,
+    open NUMERIC(20,8),
+    high NUMERIC(20,8),
+    low NUMERIC(20,8),
+    close NUMERIC(20,8),
+    volume NUMERIC(28,8),
+    trade_count BIGINT NOT NULL,
+    PRIMARY KEY (symbol, candle_interval, open_time)
+);
+
+CREATE INDEX IF NOT EXISTS idx_candles_open_time ON candles (open_time);
+
+CREATE TABLE IF NOT EXISTS market_data_raw_dictionaries (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    dictionary BYTEA NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS market_data_raw (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    timestamp TIMESTAMPTZ NOT NULL,
+    symbol VARCHAR(20) NOT NULL,
+    dictionary_id INTEGER NOT NULL,
+    raw_size INTEGER NOT NULL,
+    payload BYTEA NOT NULL,
+    PRIMARY KEY (id, timestamp)
+);
+
+SELECT create_hypertable('market_data_raw', 'timestamp',
+    chunk_time_interval => INTERVAL '${chunk_interval}',
+    if_not_exists => TRUE);
+
+CREATE INDEX IF NOT EXISTS idx_market_data_raw_symbol_timestamp ON market_data_raw (symbol, timestamp DESC);
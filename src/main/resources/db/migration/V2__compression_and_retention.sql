@@ -0,0 +1,12 @@
+-- Native columnar compression of older chunks, one segment per symbol
+ALTER TABLE market_data SET (
+    timescaledb.compress,
+    timescaledb.compress_segmentby = 'symbol',
+    timescaledb.compress_orderby = 'timestamp DESC'
+);
+
+SELECT add_compression_policy('market_data', INTERVAL '${compress_after}', if_not_exists => TRUE);
+
+-- Drop whole chunks once they age out
+SELECT add_retention_policy('market_data', INTERVAL '${retain_ticks}', if_not_exists => TRUE);
+SELECT add_retention_policy('market_data_raw', INTERVAL '${retain_raw}', if_not_exists => TRUE);
@@ -0,0 +1,46 @@
+-- 1m and 1h OHLC bars maintained by TimescaleDB, so long range queries read
+-- pre-aggregated rows instead of scanning raw ticks.
+-- Continuous aggregates cannot be created inside a transaction, see V3__continuous_aggregates.sql.conf.
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS market_data_1m
+WITH (timescaledb.continuous) AS
+SELECT symbol,
+       time_bucket(INTERVAL '1 minute', timestamp) AS bucket,
+       first(price, timestamp) AS open,
+       max(price) AS high,
+       min(price) AS low,
+       last(price, timestamp) AS close,
+       avg(price) AS avg_price,
+       count(*) AS tick_count
+FROM market_data
+GROUP BY symbol, bucket
+WITH NO DATA;
+
+CREATE MATERIALIZED VIEW IF NOT EXISTS market_data_1h
+WITH (timescaledb.continuous) AS
+SELECT symbol,
+       time_bucket(INTERVAL '1 hour', timestamp) AS bucket,
+       first(price, timestamp) AS open,
+       max(price) AS high,
+       min(price) AS low,
+       last(price, timestamp) AS close,
+       avg(price) AS avg_price,
+       count(*) AS tick_count
+FROM market_data
+GROUP BY symbol, bucket
+WITH NO DATA;
+
+SELECT add_continuous_aggregate_policy('market_data_1m',
+    start_offset => INTERVAL '1 hour',
+    end_offset => INTERVAL '1 minute',
+    schedule_interval => INTERVAL '1 minute',
+    if_not_exists => TRUE);
+
+SELECT add_continuous_aggregate_policy('market_data_1h',
+    start_offset => INTERVAL '1 day',
+    end_offset => INTERVAL '1 hour',
+    schedule_interval => INTERVAL '30 minutes',
+    if_not_exists => TRUE);
+
+-- Bars outlive the ticks they were built from
+SELECT add_retention_policy('market_data_1m', INTERVAL '${retain_1m}', if_not_exists => TRUE);
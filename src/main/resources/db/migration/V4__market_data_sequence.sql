@@ -0,0 +1,6 @@
+-- Exchange sequence number, so a redelivered tick can be recognised and skipped on insert
+ALTER TABLE market_data ADD COLUMN IF NOT EXISTS sequence BIGINT;
+
+-- Conflict target of the idempotent insert; includes both partitioning columns as TimescaleDB requires
+CREATE UNIQUE INDEX IF NOT EXISTS uq_market_data_symbol_timestamp_sequence
+    ON market_data (symbol, timestamp, sequence);
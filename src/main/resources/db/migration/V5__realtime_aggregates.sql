@@ -0,0 +1,5 @@
+-- Let reads of the continuous aggregates include ticks newer than the last refresh, so the
+-- current bucket is not missing from OHLC queries.
+
+ALTER MATERIALIZED VIEW market_data_1m SET (timescaledb.materialized_only = false);
+ALTER MATERIALIZED VIEW market_data_1h SET (timescaledb.materialized_only = false);
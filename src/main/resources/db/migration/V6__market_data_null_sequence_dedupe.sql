@@ -0,0 +1,17 @@
+-- Ticks without an exchange sequence were never deduplicated: NULLs are distinct in a plain unique
+-- index, so a redelivered sequence-less tick inserted a second row. NULLS NOT DISTINCT (PostgreSQL 15)
+-- makes (symbol, timestamp) the key of those ticks.
+
+-- Keep the first copy of every sequence-less tick stored more than once
+DELETE FROM market_data duplicate
+USING market_data original
+WHERE duplicate.sequence IS NULL
+  AND original.sequence IS NULL
+  AND duplicate.symbol = original.symbol
+  AND duplicate.timestamp = original.timestamp
+  AND duplicate.id > original.id;
+
+DROP INDEX IF EXISTS uq_market_data_symbol_timestamp_sequence;
+
+CREATE UNIQUE INDEX uq_market_data_symbol_timestamp_sequence
+    ON market_data (symbol, timestamp, sequence) NULLS NOT DISTINCT;
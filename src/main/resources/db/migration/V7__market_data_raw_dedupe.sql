@@ -0,0 +1,17 @@
+-- Raw payloads are stored before the idempotent market_data insert, but market_data_raw had no key
+-- beyond its generated id, so every replay or redelivered batch stored its payloads again. The
+-- exchange sequence makes (symbol, timestamp, sequence) the key, as it is for market_data.
+ALTER TABLE market_data_raw ADD COLUMN IF NOT EXISTS sequence BIGINT;
+
+-- Stored payloads have no sequence yet; keep the first copy of each (symbol, timestamp)
+DELETE FROM market_data_raw duplicate
+USING market_data_raw original
+WHERE duplicate.sequence IS NULL
+  AND original.sequence IS NULL
+  AND duplicate.symbol = original.symbol
+  AND duplicate.timestamp = original.timestamp
+  AND duplicate.id > original.id;
+
+-- Conflict target of the idempotent insert; includes the partitioning column as TimescaleDB requires
+CREATE UNIQUE INDEX IF NOT EXISTS uq_market_data_raw_symbol_timestamp_sequence
+    ON market_data_raw (symbol, timestamp, sequence) NULLS NOT DISTINCT;
@@ -0,0 +1,178 @@
+package com.demo.centinal.client;
+
+import com.demo.centinal.codec.TickerJsonDecoder;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.service.SequenceTracker;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the client against a local stand-in for the Coinbase feed to exercise reconnects.
+ */
+class CoinbaseWebsocketClientReconnectTest {
+
+    private StandInFeedServer server;
+    private CoinbaseWebsocketClient client;
+    private SimpleMeterRegistry meterRegistry;
+    private SequenceTracker sequenceTracker;
+    private final BlockingQueue<String> receivedFrames = new LinkedBlockingQueue<>();
+
+    static class StandInFeedServer extends WebSocketServer {
+        final BlockingQueue<String> subscriptions = new LinkedBlockingQueue<>();
+        final BlockingQueue<WebSocket> openConnections = new LinkedBlockingQueue<>();
+        final CountDownLatch started = new CountDownLatch(1);
+
+        StandInFeedServer() {
+            super(new InetSocketAddress("127.0.0.1", 0));
+            setReuseAddr(true);
+        }
+
+        @Override
+        public void onOpen(WebSocket conn, ClientHandshake handshake) {
+            openConnections.add(conn);
+        }
+
+        @Override
+        public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        public void onMessage(WebSocket conn, String message) {
+            subscriptions.add(message);
+        }
+
+        @Override
+        public void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        public void onStart() {
+            started.countDown();
+        }
+
+        void sendTicker(WebSocket conn, long sequence) {
+            conn.send("{\"type\":\"ticker\",\"sequence\":" + sequence
+                + ",\"product_id\":\"BTC-USD\",\"price\":\"50000.00\"}");
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StandInFeedServer();
+        server.start();
+        assertTrue(server.started.await(5, TimeUnit.SECONDS), "Stand-in server should start");
+
+        meterRegistry = new SimpleMeterRegistry();
+        sequenceTracker = new SequenceTracker(meterRegistry);
+        TickerJsonDecoder decoder = new TickerJsonDecoder(new ObjectMapper(), new SimpleMeterRegistry(), false);
+        MarketTick tick = new MarketTick();
+
+        client = new CoinbaseWebsocketClient(mock(ApplicationEventPublisher.class));
+        client.setUri("ws://127.0.0.1:" + server.getPort());
+        client.setReconnectInitialDelayMs(50);
+        client.setReconnectMaxDelayMs(200);
+        client.setFrameHandler((connectionId, message, source, receivedNanos) -> {
+            try {
+                decoder.decode(message, tick);
+                sequenceTracker.track(tick.getProductId(), tick.getSequence());
+            } catch (Exception e) {
+                fail(e);
+            }
+            receivedFrames.add(message);
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.shutdown();
+        server.stop(1000);
+    }
+
+    @Test
+    @DisplayName("Should reconnect, resubscribe and report the gap left by the outage")
+    void shouldReconnectAndReportGap() throws Exception {
+        // Given
+        client.connect(List.of("BTC-USD"));
+        String firstSubscribe = server.subscriptions.poll(5, TimeUnit.SECONDS);
+        assertNotNull(firstSubscribe, "Client should subscribe after connecting");
+        assertTrue(firstSubscribe.contains("BTC-USD"));
+        WebSocket firstConnection = server.openConnections.poll(5, TimeUnit.SECONDS);
+        assertNotNull(firstConnection);
+        server.sendTicker(firstConnection, 1);
+        server.sendTicker(firstConnection, 2);
+        assertNotNull(receivedFrames.poll(5, TimeUnit.SECONDS));
+        assertNotNull(receivedFrames.poll(5, TimeUnit.SECONDS));
+
+        // When
+        firstConnection.close();
+
+        // Then
+        String resubscribe = server.subscriptions.poll(5, TimeUnit.SECONDS);
+        assertNotNull(resubscribe, "Client should resubscribe after reconnecting");
+        assertTrue(resubscribe.contains("BTC-USD"));
+        WebSocket secondConnection = server.openConnections.poll(5, TimeUnit.SECONDS);
+        assertNotNull(secondConnection);
+        assertTrue(client.isConnected());
+
+        // Messages 3 and 4 were "lost" during the outage
+        server.sendTicker(secondConnection, 5);
+        assertNotNull(receivedFrames.poll(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.counter("market.data.sequence.gaps", "symbol", "BTC-USD").count());
+        assertEquals(2.0, meterRegistry.counter("market.data.sequence.missed", "symbol", "BTC-USD").count());
+        assertEquals(5, sequenceTracker.getLastSequence("BTC-USD"));
+    }
+
+    @Test
+    @DisplayName("Should not reconnect after an intentional disconnect")
+    void shouldNotReconnectAfterDisconnect() throws Exception {
+        // Given
+        client.connect(List.of("BTC-USD"));
+        assertNotNull(server.subscriptions.poll(5, TimeUnit.SECONDS));
+
+        // When
+        client.disconnect();
+
+        // Then
+        assertNull(server.subscriptions.poll(500, TimeUnit.MILLISECONDS));
+        assertFalse(client.isConnected());
+    }
+
+    @Test
+    @DisplayName("Should drop a pending reconnect when the client disconnects during the backoff")
+    void shouldDropReconnectAfterDisconnectDuringBackoff() throws Exception {
+        // Given
+        client.setReconnectInitialDelayMs(300);
+        client.connect(List.of("BTC-USD"));
+        assertNotNull(server.subscriptions.poll(5, TimeUnit.SECONDS));
+        WebSocket connection = server.openConnections.poll(5, TimeUnit.SECONDS);
+        assertNotNull(connection);
+
+        // When - the feed drops the connection and the client is disconnected before the reconnect fires
+        connection.close();
+        Thread.sleep(100);
+        client.disconnect();
+
+        // Then
+        assertNull(server.openConnections.poll(1, TimeUnit.SECONDS), "No replacement connection should be opened");
+        assertNull(client.getWebSocketClient());
+        assertFalse(client.isConnected());
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.net.URISyntaxException;
 import java.util.Arrays;
@@ -72,6 +73,40 @@ class CoinbaseWebsocketClientTest {
         }
     }
 
+    @Nested
+    @DisplayName("Connection Sharding")
+    class ConnectionShardingTests {
+
+        @Test
+        @DisplayName("Should open one connection per shard")
+        void shouldOpenConnectionPerShard() throws URISyntaxException {
+            // Given
+            ReflectionTestUtils.setField(client, "connectionCount", 2);
+            ReflectionTestUtils.setField(client, "shardAssignment", "round-robin");
+
+            // When
+            client.connect(Arrays.asList("BTC-USD", "ETH-USD", "SOL-USD"));
+
+            // Then
+            assertEquals(2, client.getConnections().size());
+            client.disconnect();
+        }
+
+        @Test
+        @DisplayName("Should not open more connections than symbols")
+        void shouldCapConnectionsAtSymbolCount() throws URISyntaxException {
+            // Given
+            ReflectionTestUtils.setField(client, "connectionCount", 8);
+
+            // When
+            client.connect(Arrays.asList("BTC-USD", "ETH-USD"));
+
+            // Then
+            assertTrue(client.getConnections().size() <= 2);
+            client.disconnect();
+        }
+    }
+
     @Nested
     @DisplayName("Message Handling")
     class MessageHandlingTests {
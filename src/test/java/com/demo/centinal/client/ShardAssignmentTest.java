@@ -0,0 +1,71 @@
+package com.demo.centinal.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardAssignmentTest {
+
+    private static final List<String> SYMBOLS = List.of("BTC-USD", "ETH-USD", "ADA-USD", "SOL-USD", "DOGE-USD");
+
+    @Nested
+    @DisplayName("Round Robin")
+    class RoundRobinTests {
+
+        @Test
+        @DisplayName("Should spread symbols evenly in configured order")
+        void shouldSpreadEvenly() {
+            // When
+            List<List<String>> shards = ShardAssignment.ROUND_ROBIN.assign(SYMBOLS, 2);
+
+            // Then
+            assertEquals(List.of("BTC-USD", "ADA-USD", "DOGE-USD"), shards.get(0));
+            assertEquals(List.of("ETH-USD", "SOL-USD"), shards.get(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Hash")
+    class HashTests {
+
+        @Test
+        @DisplayName("Should assign every symbol exactly once")
+        void shouldAssignEverySymbolOnce() {
+            // When
+            List<List<String>> shards = ShardAssignment.HASH.assign(SYMBOLS, 3);
+
+            // Then
+            assertEquals(3, shards.size());
+            assertEquals(SYMBOLS.size(), shards.stream().mapToInt(List::size).sum());
+            assertTrue(shards.stream().flatMap(List::stream).toList().containsAll(SYMBOLS));
+        }
+
+        @Test
+        @DisplayName("Should keep a symbol on the same shard when others are added")
+        void shouldBeStable() {
+            // Given
+            List<List<String>> before = ShardAssignment.HASH.assign(List.of("BTC-USD"), 4);
+
+            // When
+            List<List<String>> after = ShardAssignment.HASH.assign(SYMBOLS, 4);
+
+            // Then
+            for (int i = 0; i < 4; i++) {
+                if (before.get(i).contains("BTC-USD")) {
+                    assertTrue(after.get(i).contains("BTC-USD"));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should resolve configured rule names")
+    void shouldResolveNames() {
+        assertEquals(ShardAssignment.ROUND_ROBIN, ShardAssignment.fromName("round-robin"));
+        assertEquals(ShardAssignment.HASH, ShardAssignment.fromName("hash"));
+    }
+}
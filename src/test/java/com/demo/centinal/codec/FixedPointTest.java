@@ -0,0 +1,149 @@
+package com.demo.centinal.codec;
+
+import com.demo.centinal.model.MarketTick;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointTest {
+
+    @Nested
+    @DisplayName("Parsing")
+    class ParsingTests {
+
+        @Test
+        @DisplayName("Should scale decimals to eight places")
+        void shouldParseDecimals() {
+            assertEquals(5_000_000_000_000L, FixedPoint.parse("50000.00"));
+            assertEquals(100_050_000_000L, FixedPoint.parse("1000.5"));
+            assertEquals(1L, FixedPoint.parse("0.00000001"));
+            assertEquals(-123_456_789L, FixedPoint.parse("-1.23456789"));
+            assertEquals(42 * FixedPoint.ONE, FixedPoint.parse("42"));
+            assertEquals(50_000_000L, FixedPoint.parse(".5"));
+        }
+
+        @Test
+        @DisplayName("Should truncate digits beyond the scale")
+        void shouldTruncateExtraDigits() {
+            assertEquals(123_456_789L, FixedPoint.parse("1.234567891"));
+        }
+
+        @Test
+        @DisplayName("Should map empty and null text to the null sentinel")
+        void shouldMapMissingValues() {
+            assertEquals(FixedPoint.NULL, FixedPoint.parse((String) null));
+            assertEquals(FixedPoint.NULL, FixedPoint.parse(""));
+            assertEquals(FixedPoint.NULL, FixedPoint.parse("null"));
+        }
+
+        @Test
+        @DisplayName("Should reject malformed or oversized values")
+        void shouldRejectInvalidValues() {
+            assertThrows(NumberFormatException.class, () -> FixedPoint.parse("abc"));
+            assertThrows(NumberFormatException.class, () -> FixedPoint.parse("1e5"));
+            assertThrows(NumberFormatException.class, () -> FixedPoint.parse("-"));
+            assertThrows(NumberFormatException.class, () -> FixedPoint.parse("99999999999.0"));
+        }
+
+        @Test
+        @DisplayName("Should parse a slice of a larger buffer")
+        void shouldParseSlice() {
+            char[] buffer = "\"price\":\"123.45\"".toCharArray();
+            assertEquals(12_345_000_000L, FixedPoint.parse(buffer, 9, 6));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conversion")
+    class ConversionTests {
+
+        @Test
+        @DisplayName("Should convert to and from BigDecimal")
+        void shouldRoundTripBigDecimal() {
+            BigDecimal value = new BigDecimal("49999.12345678");
+            long scaled = FixedPoint.fromBigDecimal(value);
+            assertEquals(0, value.compareTo(FixedPoint.toBigDecimal(scaled)));
+            assertEquals(FixedPoint.SCALE, FixedPoint.toBigDecimal(scaled).scale());
+            assertNull(FixedPoint.toBigDecimal(FixedPoint.NULL));
+            assertEquals(FixedPoint.NULL, FixedPoint.fromBigDecimal(null));
+        }
+
+        @Test
+        @DisplayName("Should truncate extra decimals and reject values that do not fit")
+        void shouldRejectOverflowingBigDecimal() {
+            assertEquals(123_456_789L, FixedPoint.fromBigDecimal(new BigDecimal("1.234567891")));
+            assertEquals(-123_456_789L, FixedPoint.fromBigDecimal(new BigDecimal("-1.234567899")));
+            assertEquals(Long.MAX_VALUE, FixedPoint.fromBigDecimal(new BigDecimal("92233720368.54775807")));
+            assertThrows(ArithmeticException.class, () -> FixedPoint.fromBigDecimal(new BigDecimal("92233720368.54775808")));
+            assertThrows(ArithmeticException.class, () -> FixedPoint.fromBigDecimal(new BigDecimal("999999999999.99999999")));
+            assertThrows(ArithmeticException.class, () -> FixedPoint.fromBigDecimal(new BigDecimal("-92233720368.54775808")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Decoder Integration")
+    class DecoderIntegrationTests {
+
+        @Test
+        @DisplayName("Should decode prices into scaled longs in fixed-point mode")
+        void shouldDecodeFixedPointFields() throws Exception {
+            // Given
+            TickerJsonDecoder decoder = new TickerJsonDecoder(new ObjectMapper(), new SimpleMeterRegistry(), true);
+            MarketTick tick = new MarketTick();
+
+            // When
+            decoder.decode("""
+                {"type":"ticker","product_id":"BTC-USD","price":"50000.01","bid":null,"ask":"bad","volume_24h":12.5}
+                """, tick);
+
+            // Then
+            assertTrue(tick.isFixedPoint());
+            assertEquals(5_000_001_000_000L, tick.getPriceFixed());
+            assertEquals(1_250_000_000L, tick.getVolume24hFixed());
+            assertEquals(FixedPoint.NULL, tick.getBidFixed());
+            assertEquals(FixedPoint.NULL, tick.getAskFixed());
+            assertNull(tick.getPrice(), "Text fields should stay empty in fixed-point mode");
+            assertEquals("BTC-USD", tick.getProductId());
+        }
+
+        @Test
+        @DisplayName("Should count malformed and out-of-range values instead of dropping them silently")
+        void shouldCountRejectedValues() throws Exception {
+            // Given
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            TickerJsonDecoder decoder = new TickerJsonDecoder(new ObjectMapper(), meterRegistry, true);
+            MarketTick tick = new MarketTick();
+
+            // When
+            decoder.decode("""
+                {"type":"ticker","product_id":"BTC-USD","price":"123456789012.5","bid":null,"ask":"bad","volume_24h":""}
+                """, tick);
+
+            // Then
+            assertEquals(FixedPoint.NULL, tick.getPriceFixed());
+            assertEquals(FixedPoint.NULL, tick.getAskFixed());
+            assertEquals(2.0, meterRegistry.counter("market.data.decode.rejected").count(),
+                "Overflow and malformed text count, missing and empty values do not");
+        }
+
+        @Test
+        @DisplayName("Should apply the same handling to text values")
+        void shouldCountRejectedText() {
+            // Given
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            TickerJsonDecoder decoder = new TickerJsonDecoder(new ObjectMapper(), meterRegistry, false);
+
+            // When / Then
+            assertEquals(5_000_001_000_000L, decoder.toFixed("price", "50000.01"));
+            assertEquals(FixedPoint.NULL, decoder.toFixed("price", null));
+            assertEquals(FixedPoint.NULL, decoder.toFixed("price", "99999999999"));
+            assertEquals(1.0, meterRegistry.counter("market.data.decode.rejected").count());
+        }
+    }
+}
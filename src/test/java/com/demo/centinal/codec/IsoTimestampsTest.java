@@ -0,0 +1,45 @@
+package com.demo.centinal.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsoTimestampsTest {
+
+    @Test
+    @DisplayName("Should parse exchange timestamps to epoch microseconds")
+    void shouldParseMicros() {
+        assertEquals(Instant.parse("2024-01-01T12:34:56.123456Z"),
+            IsoTimestamps.toInstant(IsoTimestamps.parseEpochMicros("2024-01-01T12:34:56.123456Z")));
+        assertEquals(1_704_067_200_000_000L, IsoTimestamps.parseEpochMicros("2024-01-01T00:00:00Z"));
+        assertEquals(1_709_208_000_500_000L, IsoTimestamps.parseEpochMicros("2024-02-29T12:00:00.5Z"));
+    }
+
+    @Test
+    @DisplayName("Should truncate fractions beyond microseconds")
+    void shouldTruncateNanos() {
+        assertEquals(IsoTimestamps.parseEpochMicros("2024-01-01T00:00:00.123456Z"),
+            IsoTimestamps.parseEpochMicros("2024-01-01T00:00:00.123456789Z"));
+    }
+
+    @Test
+    @DisplayName("Should parse a slice of a larger buffer")
+    void shouldParseSlice() {
+        char[] buffer = "\"time\":\"2024-01-01T00:00:00Z\"".toCharArray();
+        assertEquals(1_704_067_200_000_000L, IsoTimestamps.parseEpochMicros(buffer, 8, 20));
+    }
+
+    @Test
+    @DisplayName("Should return the null sentinel for malformed input")
+    void shouldRejectMalformed() {
+        assertEquals(IsoTimestamps.NULL, IsoTimestamps.parseEpochMicros((String) null));
+        assertEquals(IsoTimestamps.NULL, IsoTimestamps.parseEpochMicros(""));
+        assertEquals(IsoTimestamps.NULL, IsoTimestamps.parseEpochMicros("2024-01-01 00:00:00Z"));
+        assertEquals(IsoTimestamps.NULL, IsoTimestamps.parseEpochMicros("2024-13-01T00:00:00Z"));
+        assertEquals(IsoTimestamps.NULL, IsoTimestamps.parseEpochMicros("2024-01-01T00:00:00+01:00"));
+        assertEquals(IsoTimestamps.NULL, IsoTimestamps.parseEpochMicros("2024-01-01T00:00:00.12x4Z"));
+    }
+}
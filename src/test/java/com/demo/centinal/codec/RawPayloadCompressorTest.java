@@ -0,0 +1,84 @@
+package com.demo.centinal.codec;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawPayloadCompressorTest {
+
+    private static final Random RANDOM = new Random(42);
+
+    private static byte[] ticker(int sequence) {
+        String[] symbols = {"BTC-USD", "ETH-USD", "SOL-USD", "ADA-USD"};
+        double price = 100 + RANDOM.nextDouble() * 50_000;
+        return String.format("{\"type\":\"ticker\",\"sequence\":%d,\"product_id\":\"%s\",\"price\":\"%.2f\","
+                + "\"open_24h\":\"%.2f\",\"volume_24h\":\"%.8f\",\"low_24h\":\"%.2f\",\"high_24h\":\"%.2f\","
+                + "\"volume_30d\":\"%.8f\",\"best_bid\":\"%.2f\",\"best_bid_size\":\"%.8f\",\"best_ask\":\"%.2f\","
+                + "\"best_ask_size\":\"%.8f\",\"side\":\"%s\",\"time\":\"2024-01-01T12:%02d:%02d.%06dZ\","
+                + "\"trade_id\":%d,\"last_size\":\"%.8f\"}",
+            sequence, symbols[sequence % symbols.length], price, price * 0.98, RANDOM.nextDouble() * 10_000,
+            price * 0.95, price * 1.05, RANDOM.nextDouble() * 300_000, price - 0.01, RANDOM.nextDouble(),
+            price + 0.01, RANDOM.nextDouble(), sequence % 2 == 0 ? "buy" : "sell", sequence % 60, sequence % 59,
+            RANDOM.nextInt(1_000_000), 1_000_000 + sequence, RANDOM.nextDouble())
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Compression")
+    class CompressionTests {
+
+        @Test
+        @DisplayName("Should round trip without a dictionary")
+        void shouldRoundTripWithoutDictionary() {
+            // Given
+            RawPayloadCompressor compressor = new RawPayloadCompressor(3, 0, 4096);
+            byte[] payload = ticker(1);
+
+            // When
+            byte[] compressed = compressor.compress(payload);
+
+            // Then
+            assertEquals(RawPayloadCompressor.NO_DICTIONARY, compressor.getDictionaryId());
+            assertArrayEquals(payload, RawPayloadCompressor.decompress(compressed, null, payload.length));
+            assertNull(compressor.sample(payload), "Training is disabled");
+        }
+
+        @Test
+        @DisplayName("Should train a dictionary that shrinks payloads further")
+        void shouldTrainDictionary() {
+            // Given
+            RawPayloadCompressor compressor = new RawPayloadCompressor(3, 2000, 4096);
+            byte[] dictionary = null;
+            for (int i = 0; i < 2000 && dictionary == null; i++) {
+                dictionary = compressor.sample(ticker(i));
+            }
+            assertNotNull(dictionary, "Dictionary should be trained once enough samples are collected");
+            byte[] payload = ticker(5000);
+            int plainSize = compressor.compress(payload).length;
+
+            // When
+            compressor.useDictionary(7, dictionary);
+            byte[] compressed = compressor.compress(payload);
+
+            // Then
+            assertEquals(7, compressor.getDictionaryId());
+            assertTrue(compressed.length < plainSize,
+                "Dictionary compression should beat plain zstd: " + compressed.length + " vs " + plainSize);
+            assertArrayEquals(payload, RawPayloadCompressor.decompress(compressed, dictionary, payload.length));
+            assertNull(compressor.sample(payload), "No further training once a dictionary is in use");
+        }
+
+        @Test
+        @DisplayName("Should reserve dictionary id zero")
+        void shouldRejectReservedId() {
+            RawPayloadCompressor compressor = new RawPayloadCompressor(3, 10, 4096);
+            assertThrows(IllegalArgumentException.class,
+                () -> compressor.useDictionary(RawPayloadCompressor.NO_DICTIONARY, new byte[16]));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.demo.centinal.codec;
+
+import com.demo.centinal.model.MarketTick;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickWireCodecTest {
+
+    private static final String TICKER = """
+        {"type":"ticker","sequence":123,"product_id":"ETH-USD","price":"2500.12345678",
+         "volume_24h":"1000.5","bid":"2500.10","ask":"2500.20","high_24h":"2600.00",
+         "low_24h":"2400.00","open_24h":"2450.00","last_size":"0.015","time":"2024-01-01T00:00:00.123456Z"}
+        """;
+
+    private final IdDictionary symbols = new IdDictionary(List.of("BTC-USD", "ETH-USD"));
+    private MarketTick tick;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tick = new MarketTick();
+        new TickerJsonDecoder(new ObjectMapper(), new SimpleMeterRegistry(), true).decode(TICKER, tick);
+    }
+
+    @Test
+    @DisplayName("Should round trip every field in place, in heap and direct buffers of either byte order")
+    void shouldRoundTripInPlace() {
+        for (ByteBuffer buffer : List.of(ByteBuffer.allocate(256), ByteBuffer.allocateDirect(256).order(ByteOrder.BIG_ENDIAN))) {
+            // Given
+            int offset = 13;
+
+            // When
+            int written = TickWireCodec.encode(tick, symbols, 0, 1_704_067_200_500_000L, buffer, offset);
+            TickWireView view = new TickWireView().wrap(buffer, offset);
+
+            // Then
+            assertEquals(TickWireCodec.ENCODED_LENGTH, written);
+            assertEquals(written, view.encodedLength());
+            assertEquals(0, buffer.position());
+            assertEquals(1, view.symbolId());
+            assertEquals(0, view.exchangeId());
+            assertEquals(123, view.sequence());
+            assertEquals(tick.getExchangeTimeMicros(), view.exchangeTimeMicros());
+            assertEquals(1_704_067_200_500_000L, view.receiveTimeMicros());
+            assertEquals(FixedPoint.parse("2500.12345678"), view.price());
+            assertEquals(FixedPoint.parse("2500.10"), view.bid());
+            assertEquals(FixedPoint.parse("2500.20"), view.ask());
+            assertEquals(FixedPoint.parse("2450.00"), view.open24h());
+            assertEquals(FixedPoint.parse("0.015"), view.lastSize());
+        }
+    }
+
+    @Test
+    @DisplayName("Should decode into a reusable tick and be several times smaller than the JSON")
+    void shouldDecodeIntoTick() {
+        // Given
+        ByteBuffer buffer = ByteBuffer.allocate(TickWireCodec.ENCODED_LENGTH);
+        TickWireCodec.encode(tick, symbols, 0, IsoTimestamps.NULL, buffer, 0);
+        MarketTick decoded = new MarketTick();
+        decoded.setRawMessage("stale");
+
+        // When
+        new TickWireView().wrap(buffer, 0).decodeInto(decoded, symbols);
+
+        // Then
+        assertEquals("ETH-USD", decoded.getProductId());
+        assertTrue(decoded.isFixedPoint());
+        assertNull(decoded.getRawMessage());
+        assertEquals(tick.getPriceFixed(), decoded.getPriceFixed());
+        assertEquals(tick.getVolume24hFixed(), decoded.getVolume24hFixed());
+        assertEquals(tick.getLow24hFixed(), decoded.getLow24hFixed());
+        assertEquals(tick.getExchangeTimeMicros(), decoded.getExchangeTimeMicros());
+        assertTrue(TICKER.length() > 3 * TickWireCodec.ENCODED_LENGTH);
+    }
+
+    @Test
+    @DisplayName("Should walk consecutive ticks and keep nulls of text-decoded ticks")
+    void shouldWalkBuffer() throws IOException {
+        // Given
+        MarketTick textTick = new MarketTick();
+        new TickerJsonDecoder(new ObjectMapper(), new SimpleMeterRegistry(), false).decode(
+            "{\"type\":\"ticker\",\"product_id\":\"BTC-USD\",\"price\":\"50000.5\"}", textTick);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(2 * TickWireCodec.ENCODED_LENGTH);
+        int next = TickWireCodec.encode(tick, symbols, 0, IsoTimestamps.NULL, buffer, 0);
+        TickWireCodec.encode(textTick, symbols, 0, IsoTimestamps.NULL, buffer, next);
+        TickWireView view = new TickWireView();
+
+        // When
+        view.wrap(buffer, 0);
+        view.wrap(buffer, view.encodedLength());
+
+        // Then
+        assertEquals(0, view.symbolId());
+        assertEquals(-1, view.sequence());
+        assertEquals(FixedPoint.parse("50000.5"), view.price());
+        assertEquals(FixedPoint.NULL, view.bid());
+        assertEquals(IsoTimestamps.NULL, view.exchangeTimeMicros());
+    }
+
+    @Test
+    @DisplayName("Should reject unknown symbols, short buffers and foreign headers")
+    void shouldRejectInvalidInput() {
+        ByteBuffer buffer = ByteBuffer.allocate(TickWireCodec.ENCODED_LENGTH);
+        tick.setProductId("SOL-USD");
+        assertThrows(IllegalArgumentException.class,
+            () -> TickWireCodec.encode(tick, symbols, 0, IsoTimestamps.NULL, buffer, 0));
+        assertThrows(IndexOutOfBoundsException.class,
+            () -> TickWireCodec.encode(tick, 0, 0, IsoTimestamps.NULL, buffer, 1));
+
+        TickWireCodec.encode(tick, 0, 0, IsoTimestamps.NULL, buffer, 0);
+        TickWireView view = new TickWireView();
+        assertThrows(IllegalArgumentException.class, () -> view.wrap(buffer.slice(0, 40), 0));
+        buffer.put(2, (byte) 9);
+        assertThrows(IllegalArgumentException.class, () -> view.wrap(buffer, 0));
+    }
+}
@@ -0,0 +1,124 @@
+package com.demo.centinal.codec;
+
+import com.demo.centinal.model.MarketTick;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickerJsonDecoderTest {
+
+    private TickerJsonDecoder decoder;
+    private MarketTick tick;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new TickerJsonDecoder(new ObjectMapper(), new SimpleMeterRegistry(), false);
+        tick = new MarketTick();
+    }
+
+    @Nested
+    @DisplayName("Ticker Decoding")
+    class TickerDecodingTests {
+
+        @Test
+        @DisplayName("Should decode every ticker field")
+        void shouldDecodeTickerFields() throws IOException {
+            // Given
+            String message = """
+                {"type":"ticker","sequence":123,"product_id":"BTC-USD","price":"50000.00",
+                 "volume_24h":"1000.5","bid":"49999.00","ask":"50001.00","high_24h":"51000.00",
+                 "low_24h":"49000.00","open_24h":"49500.00","time":"2024-01-01T00:00:00.000000Z"}
+                """;
+
+            // When
+            decoder.decode(message, tick);
+
+            // Then
+            assertEquals("ticker", tick.getType());
+            assertEquals("BTC-USD", tick.getProductId());
+            assertEquals("50000.00", tick.getPrice());
+            assertEquals("1000.5", tick.getVolume24h());
+            assertEquals("49999.00", tick.getBid());
+            assertEquals("50001.00", tick.getAsk());
+            assertEquals("51000.00", tick.getHigh24h());
+            assertEquals("49000.00", tick.getLow24h());
+            assertEquals("49500.00", tick.getOpen24h());
+        }
+
+        @Test
+        @DisplayName("Should keep the original message for raw storage")
+        void shouldKeepOriginalMessage() throws IOException {
+            // Given
+            String message = "{\"type\":\"ticker\",  \"product_id\":\"ETH-USD\"}";
+
+            // When
+            decoder.decode(message, tick);
+
+            // Then
+            assertSame(message, tick.getRawMessage());
+        }
+
+        @Test
+        @DisplayName("Should map JSON nulls to null fields")
+        void shouldMapNulls() throws IOException {
+            // When
+            decoder.decode("{\"type\":\"ticker\",\"product_id\":\"BTC-USD\",\"volume_24h\":null}", tick);
+
+            // Then
+            assertNull(tick.getVolume24h());
+            assertNull(tick.getBid());
+        }
+    }
+
+    @Nested
+    @DisplayName("Holder Reuse")
+    class HolderReuseTests {
+
+        @Test
+        @DisplayName("Should reset fields left over from the previous message")
+        void shouldResetBetweenMessages() throws IOException {
+            // Given
+            decoder.decode("{\"type\":\"ticker\",\"product_id\":\"BTC-USD\",\"price\":\"1.0\"}", tick);
+
+            // When
+            decoder.decode("{\"type\":\"heartbeat\",\"sequence\":1}", tick);
+
+            // Then
+            assertEquals("heartbeat", tick.getType());
+            assertNull(tick.getProductId());
+            assertNull(tick.getPrice());
+        }
+
+        @Test
+        @DisplayName("Should skip nested objects and arrays")
+        void shouldSkipNestedStructures() throws IOException {
+            // When
+            decoder.decode("""
+                {"type":"subscriptions","channels":[{"name":"ticker","product_ids":["BTC-USD"],"price":"9"}]}
+                """, tick);
+
+            // Then
+            assertEquals("subscriptions", tick.getType());
+            assertNull(tick.getPrice());
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalid Input")
+    class InvalidInputTests {
+
+        @Test
+        @DisplayName("Should reject non-object messages")
+        void shouldRejectNonObject() {
+            assertThrows(IOException.class, () -> decoder.decode("[1,2,3]", tick));
+            assertThrows(IOException.class, () -> decoder.decode("invalid json", tick));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.demo.centinal.config;
+
+import com.demo.centinal.controller.MarketDataController;
+import com.demo.centinal.controller.QuoteController;
+import com.demo.centinal.export.TickHistoryExporter;
+import com.demo.centinal.service.LatestQuoteCache;
+import com.demo.centinal.service.MarketDataQueryService;
+import com.demo.centinal.service.MarketDataStreamingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Replay mode keeps the application's streaming runner from starting
+@WebMvcTest(controllers = {QuoteController.class, MarketDataController.class},
+    properties = "market.data.replay.enabled=true")
+@Import(SecurityConfig.class)
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LatestQuoteCache quoteCache;
+
+    @MockitoBean
+    private MarketDataQueryService queryService;
+
+    @MockitoBean
+    private TickHistoryExporter exporter;
+
+    @MockitoBean
+    private MarketDataStreamingService streamingService;
+
+    @Test
+    @DisplayName("Should serve latest quotes without login")
+    void shouldOpenQuotes() throws Exception {
+        // Given
+        when(quoteCache.getAll()).thenReturn(List.of());
+
+        // When / Then
+        mockMvc.perform(get("/quotes/latest"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should require login for database exports")
+    void shouldProtectExport() throws Exception {
+        mockMvc.perform(get("/market-data/BTC-USD/export")
+                .param("start", "2024-01-01T00:00:00Z")
+                .param("end", "2024-01-02T00:00:00Z")
+                .header("Accept", "application/json"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should require login for database range queries")
+    void shouldProtectRangeQueries() throws Exception {
+        mockMvc.perform(get("/market-data/BTC-USD/ohlc")
+                .param("start", "2024-01-01T00:00:00Z")
+                .param("end", "2024-01-02T00:00:00Z")
+                .header("Accept", "application/json"))
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should start an export for a logged-in user")
+    void shouldAllowAuthenticatedExport() throws Exception {
+        mockMvc.perform(get("/market-data/BTC-USD/export")
+                .param("start", "2024-01-01T00:00:00Z")
+                .param("end", "2024-01-02T00:00:00Z")
+                .with(user("analyst")))
+            .andExpect(status().isOk());
+    }
+}
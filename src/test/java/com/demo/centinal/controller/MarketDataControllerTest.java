@@ -0,0 +1,50 @@
+package com.demo.centinal.controller;
+
+import com.demo.centinal.export.TickHistoryExporter;
+import com.demo.centinal.service.MarketDataQueryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MarketDataControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MarketDataController controller = new MarketDataController(
+            mock(MarketDataQueryService.class), mock(TickHistoryExporter.class), 7_200_000);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).setAsyncRequestTimeout(30_000).build();
+    }
+
+    @Test
+    @DisplayName("Should answer an unknown export format with 400")
+    void shouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/market-data/BTC-USD/export")
+                .param("start", "2024-01-01T00:00:00Z")
+                .param("end", "2024-01-02T00:00:00Z")
+                .param("format", "xml"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should give only the export stream the long async timeout")
+    void shouldScopeExportTimeout() throws Exception {
+        MvcResult result = mockMvc.perform(get("/market-data/BTC-USD/export")
+                .param("start", "2024-01-01T00:00:00Z")
+                .param("end", "2024-01-02T00:00:00Z"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        assertEquals(7_200_000, result.getRequest().getAsyncContext().getTimeout());
+    }
+}
@@ -0,0 +1,68 @@
+package com.demo.centinal.controller;
+
+import com.demo.centinal.codec.FixedPoint;
+import com.demo.centinal.codec.IsoTimestamps;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.service.LatestQuoteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class QuoteControllerTest {
+
+    private final LatestQuoteCache quoteCache = new LatestQuoteCache();
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new QuoteController(quoteCache)).build();
+        quoteCache.onTick(tick("BTC-USD", "50000.00", Instant.parse("2024-01-01T12:34:56.123456Z")));
+        quoteCache.onTick(tick("ETH-USD", "3000.00", Instant.parse("2024-01-01T12:34:56Z")));
+    }
+
+    private static MarketTick tick(String symbol, String price, Instant time) {
+        MarketTick tick = new MarketTick();
+        tick.setProductId(symbol);
+        tick.setExchangeTimeMicros(IsoTimestamps.toEpochMicros(time));
+        tick.setFixedPoint(true);
+        tick.setPriceFixed(FixedPoint.parse(price));
+        return tick;
+    }
+
+    @Test
+    @DisplayName("Should return quotes for the requested symbols")
+    void shouldReturnRequestedSymbols() throws Exception {
+        mockMvc.perform(get("/quotes/latest").param("symbols", "ETH-USD,SOL-USD"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].symbol").value("ETH-USD"))
+            .andExpect(jsonPath("$[0].price").value(3000.00));
+    }
+
+    @Test
+    @DisplayName("Should return every cached symbol when none are requested")
+    void shouldReturnAllSymbols() throws Exception {
+        mockMvc.perform(get("/quotes/latest"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Should return a single quote or 404")
+    void shouldReturnSingleQuote() throws Exception {
+        mockMvc.perform(get("/quotes/latest/BTC-USD"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.symbol").value("BTC-USD"))
+            .andExpect(jsonPath("$.time").value("2024-01-01T12:34:56.123456Z"));
+        mockMvc.perform(get("/quotes/latest/SOL-USD"))
+            .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,95 @@
+package com.demo.centinal.export;
+
+import com.demo.centinal.model.PricePoint;
+import com.demo.centinal.service.MarketDataQueryService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TickHistoryExporterTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant END = Instant.parse("2024-01-02T00:00:00Z");
+
+    @Mock
+    private MarketDataQueryService queryService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private TickHistoryExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new TickHistoryExporter(queryService, objectMapper);
+    }
+
+    private void givenTwoPoints() {
+        when(queryService.streamPricePoints("BTC-USD", START, END)).thenReturn(Stream.of(
+            new PricePoint(1, Instant.parse("2024-01-01T00:00:01.5Z"), new BigDecimal("50000.12"),
+                new BigDecimal("1000.5"), new BigDecimal("50000.11"), new BigDecimal("50000.13")),
+            new PricePoint(2, Instant.parse("2024-01-01T00:00:02Z"), new BigDecimal("1E+5"), null, null, null)));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void shouldWriteNdjson() throws Exception {
+        // Given
+        givenTwoPoints();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exporter.export("BTC-USD", START, END, TickExportFormat.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(2, count);
+        assertEquals(3, lines.length, "Every line ends with a newline");
+        assertEquals("", lines[2]);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("2024-01-01T00:00:01.500Z", first.get("timestamp").asText());
+        assertEquals(new BigDecimal("50000.12"), first.get("price").decimalValue());
+        assertEquals(2, objectMapper.readTree(lines[1]).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("Should write CSV with a header and empty cells for missing values")
+    void shouldWriteCsv() throws Exception {
+        // Given
+        givenTwoPoints();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exporter.export("BTC-USD", START, END, TickExportFormat.CSV, out);
+
+        // Then
+        assertEquals(2, count);
+        assertEquals("""
+            timestamp,price,volume,bid,ask
+            2024-01-01T00:00:01.500Z,50000.12,1000.5,50000.11,50000.13
+            2024-01-01T00:00:02Z,100000,,,
+            """, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should resolve formats case-insensitively")
+    void shouldResolveFormat() {
+        assertEquals(TickExportFormat.CSV, TickExportFormat.fromName(" CSV "));
+        assertEquals(TickExportFormat.NDJSON, TickExportFormat.fromName("ndjson"));
+        assertThrows(IllegalArgumentException.class, () -> TickExportFormat.fromName("xml"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.demo.centinal.fanout;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanoutSubscriberTest {
+
+    private static FanoutSubscriber.Frame frame(String symbol, int n) {
+        return new FanoutSubscriber.Frame(symbol, symbol + ":" + n);
+    }
+
+    @Test
+    @DisplayName("Should queue frames in order while there is room")
+    void shouldQueueInOrder() {
+        // Given
+        FanoutSubscriber subscriber = new FanoutSubscriber(4);
+
+        // When
+        assertFalse(subscriber.offer(frame("BTC-USD", 1)));
+        assertFalse(subscriber.offer(frame("ETH-USD", 1)));
+        assertFalse(subscriber.offer(frame("BTC-USD", 2)));
+        List<FanoutSubscriber.Frame> out = new ArrayList<>();
+        subscriber.drainTo(out, 10);
+
+        // Then
+        assertEquals(List.of("BTC-USD:1", "ETH-USD:1", "BTC-USD:2"), out.stream().map(FanoutSubscriber.Frame::text).toList());
+        assertEquals(0, subscriber.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest frame per symbol once the queue is full")
+    void shouldConflateWhenFull() {
+        // Given
+        FanoutSubscriber subscriber = new FanoutSubscriber(2);
+        subscriber.offer(frame("BTC-USD", 1));
+        subscriber.offer(frame("BTC-USD", 2));
+
+        // When
+        assertFalse(subscriber.offer(frame("BTC-USD", 3)), "First overflowing frame is kept");
+        assertTrue(subscriber.offer(frame("BTC-USD", 4)), "Replaces the kept frame");
+        assertFalse(subscriber.offer(frame("ETH-USD", 1)));
+        List<FanoutSubscriber.Frame> out = new ArrayList<>();
+        subscriber.drainTo(out, 10);
+
+        // Then
+        List<String> texts = out.stream().map(FanoutSubscriber.Frame::text).toList();
+        assertEquals(4, texts.size());
+        assertEquals(List.of("BTC-USD:1", "BTC-USD:2"), texts.subList(0, 2));
+        assertTrue(texts.containsAll(List.of("BTC-USD:4", "ETH-USD:1")));
+    }
+
+    @Test
+    @DisplayName("Should not deliver a queued frame after a newer conflated one")
+    void shouldKeepOrderWhileConflated() {
+        // Given
+        FanoutSubscriber subscriber = new FanoutSubscriber(1);
+        subscriber.offer(frame("BTC-USD", 1));
+        subscriber.offer(frame("BTC-USD", 2));
+        List<FanoutSubscriber.Frame> out = new ArrayList<>();
+        subscriber.drainTo(out, 1);
+
+        // When - the queue has room again but BTC-USD is still conflated
+        subscriber.offer(frame("BTC-USD", 3));
+        subscriber.drainTo(out, 10);
+
+        // Then
+        assertEquals(List.of("BTC-USD:1", "BTC-USD:3"), out.stream().map(FanoutSubscriber.Frame::text).toList());
+    }
+
+    @Test
+    @DisplayName("Should track subscriptions")
+    void shouldTrackSubscriptions() {
+        FanoutSubscriber subscriber = new FanoutSubscriber(1);
+        subscriber.subscribe(List.of("BTC-USD", "ETH-USD"));
+        subscriber.unsubscribe(List.of("ETH-USD"));
+
+        assertTrue(subscriber.isSubscribed("BTC-USD"));
+        assertFalse(subscriber.isSubscribed("ETH-USD"));
+        assertEquals(List.of("BTC-USD"), subscriber.getSymbols());
+    }
+}
@@ -0,0 +1,124 @@
+package com.demo.centinal.fanout;
+
+import com.demo.centinal.codec.FixedPoint;
+import com.demo.centinal.codec.IsoTimestamps;
+import com.demo.centinal.model.MarketTick;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.java_websocket.client.WebSocketClient;
+import org.java_websocket.handshake.ServerHandshake;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Instant;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Connects a plain WebSocket client to the fan-out server and checks the subscription protocol.
+ */
+class TickFanoutServerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private TickFanoutServer server;
+    private WebSocketClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new TickFanoutServer(objectMapper, new SimpleMeterRegistry(), "127.0.0.1", 0, 16, 1024);
+        server.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (server.getPort() <= 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        client = new WebSocketClient(new URI("ws://127.0.0.1:" + server.getPort())) {
+            @Override
+            public void onOpen(ServerHandshake handshake) {
+            }
+
+            @Override
+            public void onMessage(String message) {
+                received.add(message);
+            }
+
+            @Override
+            public void onClose(int code, String reason, boolean remote) {
+            }
+
+            @Override
+            public void onError(Exception ex) {
+            }
+        };
+        assertTrue(client.connectBlocking(5, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        client.closeBlocking();
+        server.stop();
+    }
+
+    private static MarketTick tick(String symbol, String price) {
+        MarketTick tick = new MarketTick();
+        tick.setProductId(symbol);
+        tick.setExchangeTimeMicros(IsoTimestamps.toEpochMicros(Instant.parse("2024-01-01T12:00:00Z")));
+        tick.setFixedPoint(true);
+        tick.setPriceFixed(FixedPoint.parse(price));
+        return tick;
+    }
+
+    private JsonNode next() throws Exception {
+        String message = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(message, "Expected a frame from the fan-out server");
+        return objectMapper.readTree(message);
+    }
+
+    @Test
+    @DisplayName("Should publish only the subscribed symbols")
+    void shouldPublishSubscribedSymbols() throws Exception {
+        // Given
+        client.send("{\"type\":\"subscribe\",\"symbols\":[\"BTC-USD\"]}");
+        JsonNode confirmation = next();
+        assertEquals("subscriptions", confirmation.get("type").asText());
+        assertEquals("BTC-USD", confirmation.get("symbols").get(0).asText());
+
+        // When
+        server.onTick(tick("ETH-USD", "3000.00"));
+        server.onTick(tick("BTC-USD", "50000.00"));
+
+        // Then
+        JsonNode ticker = next();
+        assertEquals("ticker", ticker.get("type").asText());
+        assertEquals("BTC-USD", ticker.get("symbol").asText());
+        assertEquals(0, new BigDecimal("50000.00").compareTo(ticker.get("price").decimalValue()));
+        assertEquals("2024-01-01T12:00:00Z", ticker.get("time").asText());
+        assertNull(received.poll(200, TimeUnit.MILLISECONDS), "ETH-USD was not subscribed");
+    }
+
+    @Test
+    @DisplayName("Should stop publishing after unsubscribe and reject unknown requests")
+    void shouldUnsubscribe() throws Exception {
+        // Given
+        client.send("{\"type\":\"subscribe\",\"symbols\":[\"BTC-USD\"]}");
+        next();
+
+        // When
+        client.send("{\"type\":\"unsubscribe\",\"symbols\":[\"BTC-USD\"]}");
+        assertEquals(0, next().get("symbols").size());
+        server.onTick(tick("BTC-USD", "50000.00"));
+        client.send("{\"type\":\"hello\"}");
+
+        // Then
+        assertEquals("error", next().get("type").asText());
+    }
+}
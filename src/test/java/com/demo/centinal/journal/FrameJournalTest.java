@@ -0,0 +1,181 @@
+package com.demo.centinal.journal;
+
+import com.demo.centinal.client.CoinbaseWebsocketClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FrameJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private CoinbaseWebsocketClient client;
+    private FrameJournal journal;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        client = new CoinbaseWebsocketClient(mock(ApplicationEventPublisher.class));
+        journal = new FrameJournal(client, directory.toString(), 1, 0);
+        journal.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.stop();
+    }
+
+    private List<JournalFrame> readAll() throws Exception {
+        List<JournalFrame> frames = new ArrayList<>();
+        try (FrameJournalReader reader = new FrameJournalReader(directory)) {
+            reader.replay(frames::add);
+        }
+        return frames;
+    }
+
+    @Nested
+    @DisplayName("Recording")
+    class RecordingTests {
+
+        @Test
+        @DisplayName("Should record frames from the client with connection id and receive time")
+        void shouldRecordClientFrames() throws Exception {
+            // Given
+            Instant before = Instant.now();
+
+            // When
+            client.getFrameRecorder().onFrame(2, "{\"type\":\"ticker\",\"product_id\":\"BTC-USD\"}", "coinbase", System.nanoTime());
+            client.getFrameRecorder().onFrame(0, "{\"type\":\"heartbeat\",\"note\":\"é€\"}", "coinbase", System.nanoTime());
+
+            // Then
+            List<JournalFrame> frames = readAll();
+            assertEquals(2, frames.size());
+            assertEquals(2, frames.get(0).connectionId());
+            assertEquals("{\"type\":\"ticker\",\"product_id\":\"BTC-USD\"}", frames.get(0).message());
+            assertEquals("{\"type\":\"heartbeat\",\"note\":\"é€\"}", frames.get(1).message());
+            Duration skew = Duration.between(before, frames.get(0).receivedAt()).abs();
+            assertTrue(skew.toSeconds() < 5, "Receive time should be close to wall-clock time");
+            assertEquals(2, journal.getAppendedCount());
+        }
+
+        @Test
+        @DisplayName("Should detach from the client on stop")
+        void shouldDetachOnStop() {
+            journal.stop();
+            assertNull(client.getFrameRecorder());
+        }
+
+        @Test
+        @DisplayName("Should roll to a new segment when the current one is full")
+        void shouldRollSegments() throws Exception {
+            // Given - 300 KB frames, three to a 1 MB segment
+            String padding = "x".repeat(300 * 1024);
+
+            // When
+            for (int i = 0; i < 10; i++) {
+                journal.append(0, i + padding, System.nanoTime());
+            }
+
+            // Then
+            assertEquals(4, JournalFiles.segmentIndexes(directory).length);
+            List<JournalFrame> frames = readAll();
+            assertEquals(10, frames.size());
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i + padding, frames.get(i).message());
+            }
+        }
+
+        @Test
+        @DisplayName("Should drop frames larger than a segment without failing")
+        void shouldDropOversizedFrames() throws Exception {
+            journal.append(0, "y".repeat(2 * 1024 * 1024), System.nanoTime());
+            journal.append(0, "after", System.nanoTime());
+
+            List<JournalFrame> frames = readAll();
+            assertEquals(1, frames.size());
+            assertEquals("after", frames.get(0).message());
+        }
+
+        @Test
+        @DisplayName("Should delete segments beyond the retention count")
+        void shouldApplyRetention() throws Exception {
+            // Given
+            journal.stop();
+            journal = new FrameJournal(client, directory.toString(), 1, 2);
+            journal.start();
+            String padding = "x".repeat(300 * 1024);
+
+            // When
+            for (int i = 0; i < 12; i++) {
+                journal.append(0, i + padding, System.nanoTime());
+            }
+
+            // Then
+            assertEquals(2, JournalFiles.segmentIndexes(directory).length);
+            List<JournalFrame> frames = readAll();
+            assertFalse(frames.isEmpty());
+            assertEquals(11 + padding, frames.get(frames.size() - 1).message());
+        }
+    }
+
+    @Nested
+    @DisplayName("Reading")
+    class ReadingTests {
+
+        @Test
+        @DisplayName("Should tail frames as they are written")
+        void shouldTail() throws Exception {
+            try (FrameJournalReader reader = new FrameJournalReader(directory)) {
+                assertNull(reader.poll());
+
+                journal.append(1, "first", System.nanoTime());
+                assertEquals("first", reader.poll().message());
+                assertNull(reader.poll());
+
+                journal.append(1, "second", System.nanoTime());
+                assertEquals("second", reader.poll().message());
+                assertEquals(2, reader.getReadCount());
+            }
+        }
+
+        @Test
+        @DisplayName("Should continue into the segment of a restarted writer")
+        void shouldFollowRestartedWriter() throws Exception {
+            // Given
+            journal.append(0, "before restart", System.nanoTime());
+            journal.stop();
+
+            // When
+            journal = new FrameJournal(client, directory.toString(), 1, 0);
+            journal.start();
+            journal.append(0, "after restart", System.nanoTime());
+
+            // Then
+            List<JournalFrame> frames = readAll();
+            assertEquals(List.of("before restart", "after restart"),
+                frames.stream().map(JournalFrame::message).toList());
+        }
+
+        @Test
+        @DisplayName("Should return nothing for a missing directory")
+        void shouldHandleMissingDirectory() throws Exception {
+            try (FrameJournalReader reader = new FrameJournalReader(directory.resolve("missing"))) {
+                assertNull(reader.poll());
+                assertEquals(0, reader.replay(frame -> fail("No frames expected")));
+            }
+        }
+    }
+}
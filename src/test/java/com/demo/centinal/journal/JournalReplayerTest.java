@@ -0,0 +1,122 @@
+package com.demo.centinal.journal;
+
+import com.demo.centinal.client.CoinbaseWebsocketClient;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.service.MarketDataStreamingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JournalReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    private FrameJournal journal;
+    private MarketDataStreamingService streamingService;
+    private final List<List<MarketData>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = new FrameJournal(new CoinbaseWebsocketClient(mock(ApplicationEventPublisher.class)),
+            directory.toString(), 1, 0);
+        journal.start();
+        streamingService = mock(MarketDataStreamingService.class);
+        // The stubbed parser reads "symbol:price" frames and ignores everything else
+        when(streamingService.parseMarketDataMessage(anyString(), any(MarketTick.class), eq(0L)))
+            .thenAnswer(invocation -> {
+                String[] parts = invocation.getArgument(0, String.class).split(":");
+                return parts.length == 2
+                    ? MarketData.builder().symbol(parts[0]).price(new BigDecimal(parts[1])).build()
+                    : null;
+            });
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.stop();
+    }
+
+    private JournalReplayer replayer(double speed, int batchSize) {
+        return new JournalReplayer(streamingService, batch -> batches.add(List.copyOf(batch)),
+            directory.toString(), speed, batchSize);
+    }
+
+    @Nested
+    @DisplayName("Replay")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Should write every recorded tick in order and in full batches")
+        void shouldReplayInBatches() throws Exception {
+            // Given
+            long now = System.nanoTime();
+            for (int i = 0; i < 25; i++) {
+                journal.append(0, "BTC-USD:" + i, now);
+            }
+            journal.append(0, "{\"type\":\"heartbeat\"}", now);
+
+            // When
+            long written = replayer(0, 10).replay();
+
+            // Then
+            assertEquals(25, written);
+            assertEquals(List.of(10, 10, 5), batches.stream().map(List::size).toList());
+            List<MarketData> ticks = batches.stream().flatMap(List::stream).toList();
+            for (int i = 0; i < 25; i++) {
+                assertEquals(BigDecimal.valueOf(i), ticks.get(i).getPrice());
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep the recorded spacing divided by the speed")
+        void shouldScaleTime() throws Exception {
+            // Given - frames recorded one second apart
+            long now = System.nanoTime();
+            for (int i = 0; i < 3; i++) {
+                journal.append(0, "ETH-USD:" + i, now + TimeUnit.SECONDS.toNanos(i));
+            }
+
+            // When
+            long start = System.nanoTime();
+            long written = replayer(10, 1000).replay();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // Then
+            assertEquals(3, written);
+            assertTrue(elapsedMs >= 190, "Two seconds at 10x should take about 200 ms, took " + elapsedMs);
+            assertEquals(3, batches.size(), "Ticks should be flushed while waiting for the next frame");
+        }
+
+        @Test
+        @DisplayName("Should write nothing for an empty journal")
+        void shouldHandleEmptyJournal() throws Exception {
+            assertEquals(0, replayer(0, 10).replay());
+            assertTrue(batches.isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should reject a negative speed")
+        void shouldRejectNegativeSpeed() {
+            assertThrows(IllegalArgumentException.class, () -> replayer(-1, 10));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.demo.centinal.kafka;
+
+import com.demo.centinal.codec.IdDictionary;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.persistence.MarketDataBatchSink;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a persistence worker against an embedded broker with an in-memory sink.
+ */
+@EmbeddedKafka(partitions = 2, topics = {KafkaTickConsumerTest.TOPIC, KafkaTickConsumerTest.RETRY_TOPIC})
+class KafkaTickConsumerTest {
+
+    static final String TOPIC = "market-data.ticks.consumer-test";
+    static final String RETRY_TOPIC = "market-data.ticks.retry-test";
+
+    private static final IdDictionary SYMBOLS = new IdDictionary(List.of("BTC-USD", "ETH-USD"));
+    private static final IdDictionary EXCHANGES = new IdDictionary(List.of("coinbase"));
+
+    private final List<MarketData> written = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final MarketDataBatchSink sink = batch -> {
+        if (failuresLeft.getAndDecrement() > 0) {
+            throw new IllegalStateException("database unavailable");
+        }
+        written.addAll(batch);
+    };
+    private KafkaTickConsumer worker;
+    private KafkaTemplate<String, MarketData> kafkaTemplate;
+
+    @AfterEach
+    void tearDown() {
+        if (worker != null) {
+            worker.stop();
+        }
+        if (kafkaTemplate != null) {
+            kafkaTemplate.destroy();
+        }
+    }
+
+    private void publish(EmbeddedKafkaBroker broker, String topic, int count) {
+        Map<String, Object> config = new HashMap<>(KafkaTickConfig.producerDefaults());
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(config,
+            new StringSerializer(), new MarketDataSerializer(SYMBOLS, EXCHANGES)));
+        for (int i = 0; i < count; i++) {
+            String symbol = i % 2 == 0 ? "BTC-USD" : "ETH-USD";
+            kafkaTemplate.send(topic, symbol, MarketData.builder()
+                .symbol(symbol)
+                .exchange("coinbase")
+                .sequence((long) i)
+                .timestamp(Instant.parse("2024-01-01T00:00:00Z").plusMillis(i))
+                .price(BigDecimal.valueOf(100 + i))
+                .build());
+        }
+        kafkaTemplate.flush();
+    }
+
+    private void startWorker(EmbeddedKafkaBroker broker, String topic) {
+        Map<String, Object> props = new HashMap<>(KafkaTickConsumerConfig.consumerDefaults());
+        props.putAll(KafkaTestUtils.consumerProps("centinal-writers", "false", broker));
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        worker = new KafkaTickConsumer(new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+            new ErrorHandlingDeserializer<>(new MarketDataDeserializer(SYMBOLS, EXCHANGES))), sink, topic, 2, 10);
+        worker.start();
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (written.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @DisplayName("Should persist every published tick and commit the offsets")
+    void shouldPersistTicks(EmbeddedKafkaBroker broker) throws Exception {
+        // Given
+        publish(broker, TOPIC, 50);
+
+        // When
+        startWorker(broker, TOPIC);
+        awaitWritten(50);
+
+        // Then
+        assertEquals(50, written.size());
+        List<Long> btcSequences = new ArrayList<>();
+        written.stream().filter(tick -> "BTC-USD".equals(tick.getSymbol()))
+            .forEach(tick -> btcSequences.add(tick.getSequence()));
+        assertEquals(btcSequences.stream().sorted().toList(), btcSequences, "Per-symbol order is kept");
+    }
+
+    @Test
+    @DisplayName("Should retry a failed write instead of skipping the batch")
+    void shouldRetryFailedWrites(EmbeddedKafkaBroker broker) throws Exception {
+        // Given
+        failuresLeft.set(3);
+        publish(broker, RETRY_TOPIC, 20);
+
+        // When
+        startWorker(broker, RETRY_TOPIC);
+        awaitWritten(20);
+
+        // Then
+        assertEquals(20, written.stream().map(MarketData::getSequence).distinct().count());
+        assertTrue(failuresLeft.get() < 0, "The failing writes were attempted");
+    }
+}
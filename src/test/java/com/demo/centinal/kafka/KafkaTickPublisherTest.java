@@ -0,0 +1,164 @@
+package com.demo.centinal.kafka;
+
+import com.demo.centinal.codec.FixedPoint;
+import com.demo.centinal.codec.IdDictionary;
+import com.demo.centinal.codec.IsoTimestamps;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.MarketTick;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Publishes through the real producer configuration to an embedded broker and reads the ticks back.
+ */
+@EmbeddedKafka(partitions = 4, topics = KafkaTickPublisherTest.TOPIC)
+class KafkaTickPublisherTest {
+
+    static final String TOPIC = "market-data.ticks";
+
+    private static final IdDictionary SYMBOLS = new IdDictionary(List.of("BTC-USD", "ETH-USD"));
+    private static final IdDictionary EXCHANGES = new IdDictionary(List.of("coinbase"));
+
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+    private Consumer<String, MarketData> consumer;
+
+    @AfterEach
+    void tearDown() {
+        if (consumer != null) {
+            consumer.close();
+        }
+        if (kafkaTemplate != null) {
+            kafkaTemplate.destroy();
+        }
+    }
+
+    private KafkaTickPublisher publisher(EmbeddedKafkaBroker broker) {
+        return publisher(broker, new SimpleMeterRegistry());
+    }
+
+    private KafkaTickPublisher publisher(EmbeddedKafkaBroker broker, SimpleMeterRegistry meterRegistry) {
+        Map<String, Object> config = new HashMap<>(KafkaTickConfig.producerDefaults());
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(config,
+            new StringSerializer(), new ByteArraySerializer()));
+        return new KafkaTickPublisher(kafkaTemplate, SYMBOLS, EXCHANGES, List.of("BTC-USD"), meterRegistry, TOPIC);
+    }
+
+    private Consumer<String, MarketData> consumer(EmbeddedKafkaBroker broker) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("tick-test", "false", broker);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new MarketDataDeserializer(SYMBOLS, EXCHANGES))
+            .createConsumer();
+        broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+        return consumer;
+    }
+
+    // Refills one holder per tick, as the parser does
+    private static MarketTick tick(MarketTick tick, String symbol, int i) {
+        tick.reset();
+        tick.setProductId(symbol);
+        tick.setExchange("coinbase");
+        tick.setExchangeTimeMicros(IsoTimestamps.toEpochMicros(
+            Instant.parse("2024-01-01T12:00:00.123456Z").plusSeconds(i)));
+        tick.setFixedPoint(true);
+        tick.setPriceFixed(FixedPoint.parse("50000.12345678") + i * FixedPoint.ONE);
+        tick.setBidFixed(FixedPoint.parse("49999.5"));
+        return tick;
+    }
+
+    @Test
+    @DisplayName("Should publish ticks keyed by symbol, in order within each partition")
+    void shouldPublishKeyedBySymbol(EmbeddedKafkaBroker broker) {
+        // Given
+        KafkaTickPublisher publisher = publisher(broker);
+        Consumer<String, MarketData> tickConsumer = consumer(broker);
+
+        // When
+        MarketTick holder = new MarketTick();
+        for (int i = 0; i < 20; i++) {
+            publisher.onTick(tick(holder, i % 2 == 0 ? "BTC-USD" : "ETH-USD", i));
+        }
+        kafkaTemplate.flush();
+
+        // Then
+        List<ConsumerRecord<String, MarketData>> records = new ArrayList<>();
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (records.size() < 20 && System.nanoTime() < deadline) {
+            ConsumerRecords<String, MarketData> polled = KafkaTestUtils.getRecords(tickConsumer, Duration.ofSeconds(1));
+            polled.forEach(records::add);
+        }
+        assertEquals(20, records.size());
+        for (String symbol : List.of("BTC-USD", "ETH-USD")) {
+            List<ConsumerRecord<String, MarketData>> forSymbol = records.stream()
+                .filter(record -> symbol.equals(record.key()))
+                .toList();
+            assertEquals(10, forSymbol.size());
+            Set<Integer> partitions = forSymbol.stream().map(ConsumerRecord::partition).collect(Collectors.toSet());
+            assertEquals(1, partitions.size(), "All ticks of a symbol go to one partition");
+            for (int i = 1; i < forSymbol.size(); i++) {
+                assertTrue(forSymbol.get(i).value().getTimestamp().isAfter(forSymbol.get(i - 1).value().getTimestamp()));
+            }
+        }
+        MarketData first = records.stream().filter(record -> "BTC-USD".equals(record.key())).findFirst()
+            .orElseThrow().value();
+        assertEquals("coinbase", first.getExchange());
+        assertEquals(Instant.parse("2024-01-01T12:00:00.123456Z"), first.getTimestamp());
+        assertEquals(0, new BigDecimal("50000.12345678").compareTo(first.getPrice()));
+        assertEquals(0, new BigDecimal("49999.5").compareTo(first.getBid()));
+        assertNull(first.getVolume());
+    }
+
+    @Test
+    @DisplayName("Should count a send that throws instead of propagating it")
+    void shouldCountSynchronousFailure(EmbeddedKafkaBroker broker) {
+        // Given - a symbol missing from the wire dictionary cannot be encoded
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        KafkaTickPublisher publisher = publisher(broker, meterRegistry);
+        MarketTick tick = tick(new MarketTick(), "SOL-USD", 0);
+
+        // When
+        assertDoesNotThrow(() -> publisher.onTick(tick));
+
+        // Then
+        assertEquals(1.0, meterRegistry.counter("market.data.kafka.failed").count());
+    }
+
+    @Test
+    @DisplayName("Should refuse to start when a subscribed symbol has no wire id")
+    void shouldRejectUnregisteredSubscription() {
+        // When
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new KafkaTickPublisher(
+            null, SYMBOLS, EXCHANGES, List.of("BTC-USD", "SOL-USD"), new SimpleMeterRegistry(), TOPIC));
+
+        // Then
+        assertTrue(e.getMessage().contains("SOL-USD"));
+    }
+}
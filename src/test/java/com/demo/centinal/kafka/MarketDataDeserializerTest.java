@@ -0,0 +1,67 @@
+package com.demo.centinal.kafka;
+
+import com.demo.centinal.codec.IdDictionary;
+import com.demo.centinal.codec.TickWireCodec;
+import com.demo.centinal.entities.MarketData;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarketDataDeserializerTest {
+
+    private static final String TOPIC = "market-data.ticks";
+
+    private final IdDictionary symbols = new IdDictionary(List.of("BTC-USD", "ETH-USD"));
+    private final IdDictionary exchanges = new IdDictionary(List.of("coinbase"));
+    private final MarketDataSerializer serializer = new MarketDataSerializer(symbols, exchanges);
+    private final MarketDataDeserializer deserializer = new MarketDataDeserializer(symbols, exchanges);
+
+    private static MarketData tick() {
+        return MarketData.builder()
+            .symbol("ETH-USD")
+            .exchange("coinbase")
+            .sequence(42L)
+            .timestamp(Instant.parse("2024-01-01T12:00:00.123456Z"))
+            .price(new BigDecimal("2500.12345678"))
+            .bid(new BigDecimal("2500.1"))
+            .lastSize(new BigDecimal("0.015"))
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should round trip a tick as a fixed-size wire message")
+    void shouldRoundTripWireValue() {
+        // When
+        byte[] bytes = serializer.serialize(TOPIC, tick());
+        MarketData decoded = deserializer.deserialize(TOPIC, bytes);
+
+        // Then
+        assertEquals(TickWireCodec.ENCODED_LENGTH, bytes.length);
+        assertEquals("ETH-USD", decoded.getSymbol());
+        assertEquals("coinbase", decoded.getExchange());
+        assertEquals(42L, decoded.getSequence());
+        assertEquals(Instant.parse("2024-01-01T12:00:00.123456Z"), decoded.getTimestamp());
+        assertEquals(0, new BigDecimal("2500.12345678").compareTo(decoded.getPrice()));
+        assertEquals(0, new BigDecimal("0.015").compareTo(decoded.getLastSize()));
+        assertNull(decoded.getVolume());
+        assertNull(decoded.getAsk());
+    }
+
+    @Test
+    @DisplayName("Should reject ticks outside the dictionaries")
+    void shouldRejectUnknownIds() {
+        MarketData unknown = tick();
+        unknown.setSymbol("SOL-USD");
+        assertThrows(SerializationException.class, () -> serializer.serialize(TOPIC, unknown));
+
+        byte[] bytes = new MarketDataSerializer(new IdDictionary(List.of("BTC-USD", "ETH-USD", "SOL-USD")), exchanges)
+            .serialize(TOPIC, unknown);
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, bytes));
+    }
+}
@@ -0,0 +1,76 @@
+package com.demo.centinal.metrics;
+
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.MarketTick;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestLatencyMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IngestLatencyMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new IngestLatencyMetrics(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should record wire and parse latency for a decoded tick")
+    void shouldRecordParsed() {
+        // Given
+        long receivedNanos = System.nanoTime();
+        MarketTick tick = new MarketTick();
+        tick.setReceivedNanos(receivedNanos);
+        tick.setParsedNanos(receivedNanos + 2_000);
+        tick.setExchangeTimeMicros(metrics.toEpochMicros(receivedNanos) - 1_500);
+
+        // When
+        metrics.recordParsed(tick);
+
+        // Then
+        assertEquals(2_000, meterRegistry.get("market.data.latency.receive-to-parse").timer()
+            .totalTime(TimeUnit.NANOSECONDS), 1);
+        assertEquals(1_500, meterRegistry.get("market.data.latency.wire-to-receive").timer()
+            .totalTime(TimeUnit.MICROSECONDS), 1);
+    }
+
+    @Test
+    @DisplayName("Should skip wire latency when the exchange clock is ahead")
+    void shouldSkipNegativeWireLatency() {
+        long receivedNanos = System.nanoTime();
+        MarketTick tick = new MarketTick();
+        tick.setReceivedNanos(receivedNanos);
+        tick.setParsedNanos(receivedNanos);
+        tick.setExchangeTimeMicros(metrics.toEpochMicros(receivedNanos) + 1_000_000);
+
+        metrics.recordParsed(tick);
+
+        assertEquals(0, meterRegistry.get("market.data.latency.wire-to-receive").timer().count());
+        assertEquals(1, meterRegistry.get("market.data.latency.receive-to-parse").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should stamp and record committed rows")
+    void shouldRecordCommitted() {
+        // Given
+        MarketData received = MarketData.builder().symbol("BTC-USD").receivedNanos(System.nanoTime()).build();
+        MarketData untracked = MarketData.builder().symbol("ETH-USD").build();
+
+        // When
+        metrics.recordCommitted(List.of(received, untracked));
+
+        // Then
+        assertTrue(received.getCommittedNanos() >= received.getReceivedNanos());
+        assertTrue(untracked.getCommittedNanos() != 0);
+        assertEquals(1, meterRegistry.get("market.data.latency.receive-to-commit").timer().count());
+    }
+}
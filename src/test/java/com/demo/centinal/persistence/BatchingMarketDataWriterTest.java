@@ -0,0 +1,250 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.metrics.IngestLatencyMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingMarketDataWriterTest {
+
+    private final List<List<MarketData>> flushedBatches = new CopyOnWriteArrayList<>();
+    private final MarketDataBatchSink recordingSink = batch -> flushedBatches.add(new ArrayList<>(batch));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IngestLatencyMetrics latencyMetrics = new IngestLatencyMetrics(meterRegistry);
+    private BatchingMarketDataWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    private MarketData tick(int i) {
+        return MarketData.builder()
+            .timestamp(Instant.now())
+            .symbol("BTC-USD")
+            .exchange("coinbase")
+            .price(new BigDecimal("50000.00").add(BigDecimal.valueOf(i)))
+            .build();
+    }
+
+    private void awaitRows(int expected, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (flushedBatches.stream().mapToInt(List::size).sum() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Nested
+    @DisplayName("Flush Triggers")
+    class FlushTriggerTests {
+
+        @Test
+        @DisplayName("Should flush full batches when size limit is reached")
+        void shouldFlushOnSizeLimit() throws Exception {
+            // Given
+            writer = new BatchingMarketDataWriter(recordingSink, latencyMetrics, meterRegistry, "block", 10, 10_000, 1000);
+            writer.start();
+
+            // When
+            for (int i = 0; i < 30; i++) {
+                writer.write(tick(i));
+            }
+            awaitRows(30, 2000);
+
+            // Then
+            assertEquals(30, flushedBatches.stream().mapToInt(List::size).sum());
+            assertTrue(flushedBatches.stream().allMatch(batch -> batch.size() <= 10),
+                "No batch should exceed the configured size limit");
+        }
+
+        @Test
+        @DisplayName("Should flush partial batch when time limit is reached")
+        void shouldFlushOnTimeLimit() throws Exception {
+            // Given
+            writer = new BatchingMarketDataWriter(recordingSink, latencyMetrics, meterRegistry, "block", 1000, 20, 1000);
+            writer.start();
+
+            // When
+            writer.write(tick(1));
+            writer.write(tick(2));
+            awaitRows(2, 2000);
+
+            // Then
+            assertEquals(1, flushedBatches.size(), "Both ticks should be committed together");
+            assertEquals(2, flushedBatches.get(0).size());
+        }
+
+        @Test
+        @DisplayName("Should flush queued ticks on shutdown")
+        void shouldFlushOnShutdown() {
+            // Given
+            writer = new BatchingMarketDataWriter(recordingSink, latencyMetrics, meterRegistry, "block", 1000, 60_000, 1000);
+            writer.start();
+            for (int i = 0; i < 5; i++) {
+                writer.write(tick(i));
+            }
+
+            // When
+            writer.stop();
+
+            // Then
+            assertEquals(5, flushedBatches.stream().mapToInt(List::size).sum());
+            assertEquals(0, writer.getPendingCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Overflow Policies")
+    class OverflowPolicyTests {
+
+        private final CountDownLatch sinkReleased = new CountDownLatch(1);
+        private final CountDownLatch sinkEntered = new CountDownLatch(1);
+        // Holds the flusher inside its first batch so the queue can be filled deterministically
+        private final MarketDataBatchSink stalledSink = batch -> {
+            sinkEntered.countDown();
+            try {
+                sinkReleased.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flushedBatches.add(new ArrayList<>(batch));
+        };
+
+        private MarketData tick(String symbol, int i) {
+            MarketData marketData = BatchingMarketDataWriterTest.this.tick(i);
+            marketData.setSymbol(symbol);
+            return marketData;
+        }
+
+        private void startStalled(String policy) throws InterruptedException {
+            writer = new BatchingMarketDataWriter(stalledSink, latencyMetrics, meterRegistry, policy, 1, 0, 2);
+            writer.start();
+            writer.write(tick("BTC-USD", 0));
+            assertTrue(sinkEntered.await(5, TimeUnit.SECONDS), "Flusher should be busy with the first tick");
+        }
+
+        @Test
+        @DisplayName("Should evict the oldest queued ticks with drop-oldest")
+        void shouldDropOldest() throws Exception {
+            // Given
+            startStalled("drop-oldest");
+
+            // When
+            for (int i = 1; i <= 5; i++) {
+                writer.write(tick("BTC-USD", i));
+            }
+            sinkReleased.countDown();
+            awaitRows(3, 2000);
+
+            // Then
+            assertEquals(3.0, meterRegistry.counter("market.data.backpressure.dropped").count());
+            List<BigDecimal> prices = flushedBatches.stream().flatMap(List::stream).map(MarketData::getPrice).toList();
+            assertEquals(List.of(new BigDecimal("50000.00"), new BigDecimal("50004.00"), new BigDecimal("50005.00")), prices);
+        }
+
+        @Test
+        @DisplayName("Should keep only the newest overflowing tick per symbol with conflate")
+        void shouldConflatePerSymbol() throws Exception {
+            // Given
+            startStalled("conflate");
+
+            // When
+            for (int i = 1; i <= 6; i++) {
+                writer.write(tick(i % 2 == 0 ? "BTC-USD" : "ETH-USD", i));
+            }
+            sinkReleased.countDown();
+            awaitRows(5, 2000);
+
+            // Then
+            // ticks 1 and 2 fill the queue, 3..6 overflow and conflate to 5 (ETH) and 6 (BTC)
+            assertEquals(2.0, meterRegistry.counter("market.data.backpressure.conflated").count());
+            List<BigDecimal> prices = flushedBatches.stream().flatMap(List::stream).map(MarketData::getPrice).toList();
+            assertEquals(5, prices.size());
+            assertTrue(prices.containsAll(List.of(new BigDecimal("50005.00"), new BigDecimal("50006.00"))));
+            assertFalse(prices.contains(new BigDecimal("50003.00")));
+            assertFalse(prices.contains(new BigDecimal("50004.00")));
+        }
+
+        @Test
+        @DisplayName("Should write a conflated tick after the ticks queued before it")
+        void shouldKeepArrivalOrderWhenConflating() throws Exception {
+            // Given - ticks 1 and 2 fill the queue, 3 overflows
+            startStalled("conflate");
+            for (int i = 1; i <= 3; i++) {
+                writer.write(tick("BTC-USD", i));
+            }
+
+            // When
+            sinkReleased.countDown();
+            awaitRows(2, 2000);
+            writer.write(tick("BTC-USD", 4));
+            awaitRows(5, 2000);
+
+            // Then
+            List<BigDecimal> prices = flushedBatches.stream().flatMap(List::stream).map(MarketData::getPrice).toList();
+            assertEquals(List.of(new BigDecimal("50000.00"), new BigDecimal("50001.00"), new BigDecimal("50002.00"),
+                new BigDecimal("50003.00"), new BigDecimal("50004.00")), prices);
+        }
+
+        @Test
+        @DisplayName("Should reject unknown policies")
+        void shouldRejectUnknownPolicy() {
+            assertThrows(IllegalArgumentException.class,
+                () -> new BatchingMarketDataWriter(recordingSink, latencyMetrics, meterRegistry, "spill", 1, 0, 2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Error Handling")
+    class ErrorHandlingTests {
+
+        @Test
+        @DisplayName("Should keep flushing after a failed batch")
+        void shouldSurviveSinkFailure() throws Exception {
+            // Given
+            List<Integer> attempts = new CopyOnWriteArrayList<>();
+            MarketDataBatchSink failingOnce = batch -> {
+                attempts.add(batch.size());
+                if (attempts.size() == 1) {
+                    throw new RuntimeException("Database unavailable");
+                }
+                flushedBatches.add(new ArrayList<>(batch));
+            };
+            writer = new BatchingMarketDataWriter(failingOnce, latencyMetrics, meterRegistry, "block", 1, 10_000, 100);
+            writer.start();
+
+            // When
+            writer.write(tick(1));
+            writer.write(tick(2));
+            awaitRows(1, 2000);
+
+            // Then
+            assertEquals(2, attempts.size());
+            assertEquals(1, flushedBatches.size());
+        }
+
+        @Test
+        @DisplayName("Should reject invalid limits")
+        void shouldRejectInvalidLimits() {
+            assertThrows(IllegalArgumentException.class,
+                () -> new BatchingMarketDataWriter(recordingSink, latencyMetrics, meterRegistry, "block", 0, 10, 10));
+            assertThrows(IllegalArgumentException.class,
+                () -> new BatchingMarketDataWriter(recordingSink, latencyMetrics, meterRegistry, "block", 10, 10, 0));
+        }
+    }
+}
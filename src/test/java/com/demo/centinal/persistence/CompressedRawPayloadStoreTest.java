@@ -0,0 +1,104 @@
+package com.demo.centinal.persistence;
+
+import com.demo.centinal.codec.RawPayloadCompressor;
+import com.demo.centinal.config.TestConfig;
+import com.demo.centinal.entities.MarketData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "market.data.raw.storage=separate",
+    "market.data.raw.dictionary.training-samples=2000",
+    "market.data.raw.dictionary.size=4096"
+})
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+class CompressedRawPayloadStoreTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private CompressedRawPayloadStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM market_data_raw");
+    }
+
+    private static List<MarketData> ticks(String symbol, int from, int count) {
+        List<MarketData> batch = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            batch.add(MarketData.builder()
+                .symbol(symbol)
+                .timestamp(START.plusMillis(i))
+                .sequence((long) i)
+                .rawData(String.format("{\"type\":\"ticker\",\"sequence\":%d,\"product_id\":\"%s\",\"price\":\"%d.%02d\","
+                    + "\"volume_24h\":\"%d.12345678\",\"side\":\"%s\",\"time\":\"2024-01-01T00:00:00.%06dZ\"}",
+                    i, symbol, 40_000 + i * 7 % 997, i % 100, 10_000 + i * 13 % 5003, i % 2 == 0 ? "buy" : "sell", i))
+                .build());
+        }
+        return batch;
+    }
+
+    @Test
+    @DisplayName("Should keep a dictionary trained in a rolled-back batch and decompress later payloads with it")
+    void shouldRoundTripAcrossRollback() {
+        // Given - the batch that completes training is rolled back
+        List<MarketData> trainingBatch = ticks("BTC-USD", 0, 2000);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            store.store(trainingBatch);
+            status.setRollbackOnly();
+        });
+        int dictionaryId = store.getDictionaryId();
+
+        // When
+        List<MarketData> batch = ticks("ETH-USD", 5000, 3);
+        List<String> expected = batch.stream().map(MarketData::getRawData).toList();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> store.store(batch));
+
+        // Then
+        assertNotEquals(RawPayloadCompressor.NO_DICTIONARY, dictionaryId);
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM market_data_raw_dictionaries WHERE id = ?", Integer.class, dictionaryId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM market_data_raw WHERE symbol = 'BTC-USD'", Integer.class));
+        assertEquals(3, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM market_data_raw WHERE dictionary_id = ?", Integer.class, dictionaryId));
+        assertEquals(expected, store.load("ETH-USD", START, START.plusSeconds(60)));
+        assertTrue(batch.stream().allMatch(tick -> tick.getRawData() == null), "Payloads move out of market_data");
+    }
+
+    @Test
+    @DisplayName("Should store a redelivered batch's payloads only once")
+    void shouldSkipRedeliveredPayloads() {
+        // Given
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> store.store(ticks("BTC-USD", 0, 5)));
+
+        // When - the same ticks arrive again, e.g. from a Kafka redelivery or a journal replay
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> store.store(ticks("BTC-USD", 0, 5)));
+
+        // Then
+        assertEquals(5, jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM market_data_raw WHERE symbol = 'BTC-USD'", Integer.class));
+    }
+}
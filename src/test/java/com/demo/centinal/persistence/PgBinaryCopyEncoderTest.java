@@ -0,0 +1,156 @@
+package com.demo.centinal.persistence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PgBinaryCopyEncoderTest {
+
+    private static final int HEADER_LENGTH = 19;
+
+    /**
+     * Encodes a single field and returns its bytes without header, tuple count or trailer.
+     */
+    private ByteBuffer encodeField(FieldWriter writer) throws IOException {
+        PgBinaryCopyEncoder encoder = new PgBinaryCopyEncoder(64);
+        encoder.begin();
+        encoder.startRow(1);
+        writer.write(encoder);
+        byte[] payload = encoder.finish();
+        return ByteBuffer.wrap(Arrays.copyOfRange(payload, HEADER_LENGTH + 2, payload.length - 2));
+    }
+
+    @FunctionalInterface
+    private interface FieldWriter {
+        void write(PgBinaryCopyEncoder encoder) throws IOException;
+    }
+
+    @Nested
+    @DisplayName("Framing")
+    class FramingTests {
+
+        @Test
+        @DisplayName("Should write signature, header and trailer")
+        void shouldWriteHeaderAndTrailer() throws IOException {
+            // Given
+            PgBinaryCopyEncoder encoder = new PgBinaryCopyEncoder(64);
+
+            // When
+            encoder.begin();
+            byte[] payload = encoder.finish();
+
+            // Then
+            assertEquals(HEADER_LENGTH + 2, payload.length);
+            assertEquals('P', payload[0]);
+            assertEquals((byte) 0xFF, payload[7]);
+            assertEquals(-1, ByteBuffer.wrap(payload, HEADER_LENGTH, 2).getShort());
+        }
+
+        @Test
+        @DisplayName("Should write nulls as length -1")
+        void shouldWriteNull() throws IOException {
+            ByteBuffer field = encodeField(encoder -> encoder.writeNumeric(null));
+            assertEquals(-1, field.getInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Numeric Encoding")
+    class NumericEncodingTests {
+
+        @Test
+        @DisplayName("Should encode integer-valued decimals")
+        void shouldEncodeWholeNumber() throws IOException {
+            // When
+            ByteBuffer field = encodeField(encoder -> encoder.writeNumeric(new BigDecimal("50000.00")));
+
+            // Then
+            assertEquals(10, field.getInt());
+            assertEquals(1, field.getShort());  // ndigits
+            assertEquals(1, field.getShort());  // weight
+            assertEquals(0, field.getShort());  // sign
+            assertEquals(2, field.getShort());  // dscale
+            assertEquals(5, field.getShort());
+        }
+
+        @Test
+        @DisplayName("Should encode small fractions with negative weight")
+        void shouldEncodeSmallFraction() throws IOException {
+            // When
+            ByteBuffer field = encodeField(encoder -> encoder.writeNumeric(new BigDecimal("-0.00001234")));
+
+            // Then
+            assertEquals(10, field.getInt());
+            assertEquals(1, field.getShort());
+            assertEquals(-2, field.getShort());
+            assertEquals(0x4000, field.getShort());
+            assertEquals(8, field.getShort());
+            assertEquals(1234, field.getShort());
+        }
+
+        @Test
+        @DisplayName("Should encode mixed integer and fraction digits")
+        void shouldEncodeMixedDigits() throws IOException {
+            // When
+            ByteBuffer field = encodeField(encoder -> encoder.writeNumeric(new BigDecimal("12345.6789")));
+
+            // Then
+            assertEquals(14, field.getInt());
+            assertEquals(3, field.getShort());
+            assertEquals(1, field.getShort());
+            assertEquals(0, field.getShort());
+            assertEquals(4, field.getShort());
+            assertEquals(1, field.getShort());
+            assertEquals(2345, field.getShort());
+            assertEquals(6789, field.getShort());
+        }
+
+        @Test
+        @DisplayName("Should encode zero without digits")
+        void shouldEncodeZero() throws IOException {
+            ByteBuffer field = encodeField(encoder -> encoder.writeNumeric(new BigDecimal("0.00")));
+            assertEquals(8, field.getInt());
+            assertEquals(0, field.getShort());
+            assertEquals(0, field.getShort());
+        }
+    }
+
+    @Nested
+    @DisplayName("Other Types")
+    class OtherTypeTests {
+
+        @Test
+        @DisplayName("Should encode bigints as 8 bytes and null as length -1")
+        void shouldEncodeInt8() throws IOException {
+            ByteBuffer field = encodeField(encoder -> encoder.writeInt8(1_234_567_890_123L));
+            assertEquals(8, field.getInt());
+            assertEquals(1_234_567_890_123L, field.getLong());
+            assertEquals(-1, encodeField(encoder -> encoder.writeInt8(null)).getInt());
+        }
+
+        @Test
+        @DisplayName("Should encode timestamps as microseconds since 2000-01-01")
+        void shouldEncodeTimestamp() throws IOException {
+            ByteBuffer field = encodeField(encoder -> encoder.writeTimestamp(Instant.parse("2000-01-01T00:00:01.000002Z")));
+            assertEquals(8, field.getInt());
+            assertEquals(1_000_002L, field.getLong());
+        }
+
+        @Test
+        @DisplayName("Should prefix jsonb with version byte")
+        void shouldEncodeJsonb() throws IOException {
+            ByteBuffer field = encodeField(encoder -> encoder.writeJsonb("{}"));
+            assertEquals(3, field.getInt());
+            assertEquals(1, field.get());
+            assertEquals('{', field.get());
+        }
+    }
+}
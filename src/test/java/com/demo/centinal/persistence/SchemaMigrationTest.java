@@ -0,0 +1,159 @@
+package com.demo.centinal.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against a real TimescaleDB, once on an empty database and once on the plain
+ * {@code market_data} table that existed before the migrations.
+ */
+@Testcontainers
+class SchemaMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> timescale = new PostgreSQLContainer<>(
+        DockerImageName.parse("timescale/timescaledb:latest-pg15").asCompatibleSubstituteFor("postgres"))
+        .withDatabaseName("testdb")
+        .withUsername("test")
+        .withPassword("test");
+
+    // The table as created before Flyway managed the schema
+    private static final String LEGACY_SCHEMA = """
+        CREATE TABLE market_data (
+            id BIGSERIAL PRIMARY KEY,
+            timestamp TIMESTAMPTZ NOT NULL,
+            symbol VARCHAR(20) NOT NULL,
+            exchange VARCHAR(50) NOT NULL,
+            price DECIMAL(20,8),
+            volume DECIMAL(20,8),
+            bid DECIMAL(20,8),
+            ask DECIMAL(20,8),
+            high_24h DECIMAL(20,8),
+            low_24h DECIMAL(20,8),
+            open_24h DECIMAL(20,8),
+            raw_data JSONB,
+            created_at TIMESTAMPTZ NOT NULL
+        );
+        CREATE INDEX idx_market_data_timestamp ON market_data (timestamp DESC);
+        CREATE INDEX idx_market_data_symbol ON market_data (symbol);
+        CREATE INDEX idx_market_data_exchange ON market_data (exchange);
+        INSERT INTO market_data (timestamp, symbol, exchange, price, created_at)
+        SELECT NOW() - make_interval(hours => n), 'BTC-USD', 'coinbase', 50000 + n, NOW()
+        FROM generate_series(1, 100) AS n;
+        """;
+
+    private static int databaseCount;
+    private String url;
+
+    @BeforeEach
+    void createDatabase() throws SQLException {
+        // A fresh database per test, so each migration run starts from its own schema
+        String database = "migration_" + ++databaseCount;
+        execute(timescale.getJdbcUrl(), "CREATE DATABASE " + database);
+        url = timescale.getJdbcUrl().replace("/testdb", "/" + database);
+    }
+
+    private static void execute(String jdbcUrl, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, timescale.getUsername(), timescale.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private List<String> queryStrings(String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, timescale.getUsername(), timescale.getPassword());
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                values.add(resultSet.getString(1));
+            }
+        }
+        return values;
+    }
+
+    private MigrateResult migrate() {
+        // Same settings as the dev and prod profiles
+        return Flyway.configure()
+            .dataSource(url, timescale.getUsername(), timescale.getPassword())
+            .locations("classpath:db/migration")
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .placeholders(Map.of(
+                "chunk_interval", "1 day",
+                "symbol_partitions", "4",
+                "compress_after", "7 days",
+                "retain_ticks", "90 days",
+                "retain_raw", "30 days",
+                "retain_1m", "2 years"))
+            .load()
+            .migrate();
+    }
+
+    private List<String> primaryKeyColumns() throws SQLException {
+        return queryStrings("""
+            SELECT a.attname FROM pg_index i
+            JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = ANY(i.indkey)
+            WHERE i.indrelid = 'market_data'::regclass AND i.indisprimary
+            ORDER BY a.attname
+            """);
+    }
+
+    @Test
+    @DisplayName("Should build the schema on an empty database")
+    void shouldMigrateEmptyDatabase() throws SQLException {
+        // When
+        MigrateResult result = migrate();
+
+        // Then
+        assertEquals("7", result.targetSchemaVersion);
+        assertEquals(List.of("market_data", "market_data_raw"),
+            queryStrings("SELECT hypertable_name FROM timescaledb_information.hypertables ORDER BY hypertable_name"));
+        assertEquals(List.of("id", "symbol", "timestamp"), primaryKeyColumns());
+    }
+
+    @Test
+    @DisplayName("Should upgrade the pre-Flyway market_data table in place and keep its rows")
+    void shouldUpgradeLegacyTable() throws SQLException {
+        // Given
+        execute(url, LEGACY_SCHEMA);
+
+        // When
+        MigrateResult result = migrate();
+
+        // Then
+        assertEquals("7", result.targetSchemaVersion);
+        assertEquals(List.of("100"), queryStrings("SELECT count(*) FROM market_data"));
+        assertEquals(List.of("market_data"), queryStrings(
+            "SELECT hypertable_name FROM timescaledb_information.hypertables WHERE hypertable_name = 'market_data'"));
+        assertEquals(List.of("id", "symbol", "timestamp"), primaryKeyColumns());
+        assertTrue(queryStrings("SELECT indexname FROM pg_indexes WHERE tablename = 'market_data'")
+            .stream().noneMatch(List.of("idx_market_data_timestamp", "idx_market_data_symbol", "idx_market_data_exchange")::contains),
+            "Old single-column indexes should be dropped");
+
+        // New rows get ids after the old ones and the default creation time
+        execute(url, """
+            INSERT INTO market_data (timestamp, symbol, exchange, price, sequence)
+            VALUES (NOW(), 'BTC-USD', 'coinbase', 50000, 1)
+            """);
+        assertEquals(List.of("101"), queryStrings("SELECT max(id) FROM market_data"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.demo.centinal.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    static class LongSlot {
+        long value;
+        long doubled;
+    }
+
+    @Nested
+    @DisplayName("Construction")
+    class ConstructionTests {
+
+        @Test
+        @DisplayName("Should pre-allocate every slot")
+        void shouldPreAllocateSlots() {
+            // When
+            RingBuffer<LongSlot> ring = new RingBuffer<>(8, LongSlot::new, WaitStrategy.YIELD);
+
+            // Then
+            assertEquals(8, ring.getBufferSize());
+            for (int i = 0; i < 8; i++) {
+                assertNotNull(ring.get(i));
+            }
+            assertSame(ring.get(0), ring.get(8), "Sequences should wrap onto the same slots");
+        }
+
+        @Test
+        @DisplayName("Should reject sizes that are not a power of two")
+        void shouldRejectInvalidSize() {
+            assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(12, LongSlot::new, WaitStrategy.YIELD));
+        }
+
+        @Test
+        @DisplayName("Should resolve configured wait strategy names")
+        void shouldResolveWaitStrategyNames() {
+            assertEquals(WaitStrategy.BUSY_SPIN, WaitStrategy.fromName("busy-spin"));
+            assertEquals(WaitStrategy.YIELD, WaitStrategy.fromName("yield"));
+            assertEquals(WaitStrategy.PARK, WaitStrategy.fromName(" PARK "));
+        }
+    }
+
+    @Nested
+    @DisplayName("Staged Processing")
+    class StagedProcessingTests {
+
+        @Test
+        @DisplayName("Should pass every event through both stages in order")
+        void shouldProcessEventsInOrder() throws Exception {
+            // Given
+            RingBuffer<LongSlot> ring = new RingBuffer<>(16, LongSlot::new, WaitStrategy.YIELD);
+            List<Long> results = new CopyOnWriteArrayList<>();
+            PipelineStage<LongSlot> first = new PipelineStage<>("first", ring, ring.getCursor(),
+                WaitStrategy.BUSY_SPIN, (slot, sequence, endOfBatch) -> slot.doubled = slot.value * 2);
+            PipelineStage<LongSlot> second = new PipelineStage<>("second", ring, first.getSequence(),
+                WaitStrategy.PARK, (slot, sequence, endOfBatch) -> results.add(slot.doubled));
+            ring.setGatingSequence(second.getSequence());
+            first.start();
+            second.start();
+
+            // When
+            int count = 10_000;
+            for (long i = 0; i < count; i++) {
+                long sequence = ring.next();
+                ring.get(sequence).value = i;
+                ring.publish(sequence);
+            }
+            first.stop();
+            second.stop();
+
+            // Then
+            assertEquals(count, results.size());
+            List<Long> expected = new ArrayList<>();
+            for (long i = 0; i < count; i++) {
+                expected.add(i * 2);
+            }
+            assertEquals(expected, results);
+            assertEquals(0, ring.getBacklog());
+        }
+
+        @Test
+        @DisplayName("Should keep processing after a handler failure")
+        void shouldSurviveHandlerFailure() throws Exception {
+            // Given
+            RingBuffer<LongSlot> ring = new RingBuffer<>(4, LongSlot::new, WaitStrategy.YIELD);
+            List<Long> results = new CopyOnWriteArrayList<>();
+            PipelineStage<LongSlot> stage = new PipelineStage<>("failing", ring, ring.getCursor(),
+                WaitStrategy.YIELD, (slot, sequence, endOfBatch) -> {
+                    if (slot.value == 1) {
+                        throw new IllegalStateException("boom");
+                    }
+                    results.add(slot.value);
+                });
+            ring.setGatingSequence(stage.getSequence());
+            stage.start();
+
+            // When
+            for (long i = 0; i < 3; i++) {
+                long sequence = ring.next();
+                ring.get(sequence).value = i;
+                ring.publish(sequence);
+            }
+            stage.stop();
+
+            // Then
+            assertEquals(List.of(0L, 2L), results);
+        }
+    }
+}
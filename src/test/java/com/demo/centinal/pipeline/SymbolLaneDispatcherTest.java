@@ -0,0 +1,112 @@
+package com.demo.centinal.pipeline;
+
+import com.demo.centinal.client.CoinbaseWebsocketClient;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.persistence.MarketDataWriter;
+import com.demo.centinal.service.MarketDataStreamingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SymbolLaneDispatcherTest {
+
+    @Nested
+    @DisplayName("Routing")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should route by the hash of product_id")
+        void shouldRouteByProductId() {
+            String frame = "{\"type\":\"ticker\",\"sequence\":1,\"product_id\":\"ETH-USD\",\"price\":\"1\"}";
+            assertEquals(Math.floorMod("ETH-USD".hashCode(), 7), SymbolLaneDispatcher.laneOf(frame, 7));
+            assertEquals(Math.floorMod("ETH-USD".hashCode(), 7),
+                SymbolLaneDispatcher.laneOf("{\"product_id\" : \"ETH-USD\"}", 7));
+        }
+
+        @Test
+        @DisplayName("Should send frames without a product to lane zero")
+        void shouldRouteUnkeyedFramesToFirstLane() {
+            assertEquals(0, SymbolLaneDispatcher.laneOf(
+                "{\"type\":\"subscriptions\",\"channels\":[{\"name\":\"ticker\",\"product_ids\":[\"BTC-USD\"]}]}", 7));
+            assertEquals(0, SymbolLaneDispatcher.laneOf("{\"product_id\":null}", 7));
+            assertEquals(0, SymbolLaneDispatcher.laneOf(null, 7));
+        }
+    }
+
+    @Nested
+    @DisplayName("Ordering")
+    class OrderingTests {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"virtual", "platform"})
+        @DisplayName("Should keep per-symbol order while spreading symbols over lanes")
+        void shouldPreserveOrderPerSymbol(String threads) throws Exception {
+            // Given
+            MarketDataStreamingService streamingService = mock(MarketDataStreamingService.class);
+            when(streamingService.parseMarketDataMessage(anyString(), any(MarketTick.class), anyLong()))
+                .thenAnswer(invocation -> {
+                    String[] parts = invocation.getArgument(0, String.class).split(":");
+                    return MarketData.builder().symbol(parts[0]).price(new BigDecimal(parts[1])).build();
+                });
+            Map<String, List<BigDecimal>> written = new ConcurrentHashMap<>();
+            Set<String> threadNames = ConcurrentHashMap.newKeySet();
+            MarketDataWriter writer = marketData -> {
+                threadNames.add(Thread.currentThread().getName());
+                written.computeIfAbsent(marketData.getSymbol(), key -> new CopyOnWriteArrayList<>())
+                    .add(marketData.getPrice());
+            };
+            CoinbaseWebsocketClient client = new CoinbaseWebsocketClient(mock(ApplicationEventPublisher.class));
+            SymbolLaneDispatcher dispatcher = new SymbolLaneDispatcher(client, streamingService, writer, 4, threads, 64);
+            dispatcher.start();
+            List<String> symbols = List.of("BTC-USD", "ETH-USD", "SOL-USD", "ADA-USD", "DOGE-USD", "LTC-USD");
+
+            // When
+            for (int i = 0; i < 500; i++) {
+                for (String symbol : symbols) {
+                    // The stubbed parser reads "symbol:price"; routing only needs the product_id field
+                    client.getFrameHandler().onFrame(0, symbol + ":" + i + ":{\"product_id\":\"" + symbol + "\"}",
+                        "coinbase", System.nanoTime());
+                }
+            }
+            dispatcher.stop();
+
+            // Then
+            assertNull(client.getFrameHandler(), "Dispatcher should detach on stop");
+            assertEquals(0, dispatcher.getBacklog());
+            for (String symbol : symbols) {
+                List<BigDecimal> prices = written.get(symbol);
+                assertEquals(500, prices.size());
+                for (int i = 0; i < 500; i++) {
+                    assertEquals(BigDecimal.valueOf(i), prices.get(i), "Ticks of " + symbol + " out of order");
+                }
+            }
+            assertTrue(threadNames.size() > 1, "Symbols should be processed on more than one lane");
+            assertTrue(threadNames.stream().allMatch(name -> name.startsWith("market-data-lane-")));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown thread types")
+        void shouldRejectUnknownThreads() {
+            assertThrows(IllegalArgumentException.class, () -> new SymbolLaneDispatcher(
+                null, null, marketData -> { }, 2, "green", 16));
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.demo.centinal.service;
+
+import com.demo.centinal.codec.FixedPoint;
+import com.demo.centinal.codec.IsoTimestamps;
+import com.demo.centinal.entities.Candle;
+import com.demo.centinal.model.CandleInterval;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.persistence.CandleSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandleEngineTest {
+
+    private static final Instant MINUTE = Instant.parse("2024-01-01T12:34:00Z");
+
+    private final List<Candle> written = new ArrayList<>();
+    private CandleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new CandleEngine(written::addAll, List.of("1s", "1m"), 1000, 500, false);
+    }
+
+    private void tick(String symbol, Instant at, String price, String size) {
+        MarketTick tick = new MarketTick();
+        tick.setProductId(symbol);
+        tick.setExchangeTimeMicros(IsoTimestamps.toEpochMicros(at));
+        tick.setFixedPoint(true);
+        tick.setPriceFixed(FixedPoint.parse(price));
+        tick.setLastSizeFixed(FixedPoint.parse(size));
+        engine.onTick(tick);
+    }
+
+    private List<Candle> writtenFor(String interval) {
+        return written.stream().filter(candle -> interval.equals(candle.getInterval())).toList();
+    }
+
+    @Nested
+    @DisplayName("Bar Building")
+    class BarBuildingTests {
+
+        @Test
+        @DisplayName("Should track open, high, low, close, volume and count")
+        void shouldBuildOhlcv() {
+            // When
+            tick("BTC-USD", MINUTE.plusMillis(100), "100.00", "1");
+            tick("BTC-USD", MINUTE.plusMillis(200), "105.00", "2");
+            tick("BTC-USD", MINUTE.plusMillis(300), "95.00", "0.5");
+            tick("BTC-USD", MINUTE.plusMillis(400), "101.00", null);
+
+            // Then
+            Candle current = engine.getCurrent("BTC-USD", CandleInterval.ONE_MINUTE).orElseThrow();
+            assertEquals(MINUTE, current.getOpenTime());
+            assertEquals(0, new BigDecimal("100.00").compareTo(current.getOpen()));
+            assertEquals(0, new BigDecimal("105.00").compareTo(current.getHigh()));
+            assertEquals(0, new BigDecimal("95.00").compareTo(current.getLow()));
+            assertEquals(0, new BigDecimal("101.00").compareTo(current.getClose()));
+            assertEquals(0, new BigDecimal("3.5").compareTo(current.getVolume()));
+            assertEquals(4, current.getTradeCount());
+        }
+
+        @Test
+        @DisplayName("Should sum volume beyond the fixed-point range")
+        void shouldSumLargeVolume() {
+            // When - ten trades of almost 1e10 add up to more than the ~9.22e10 a fixed-point long holds
+            for (int i = 0; i < 10; i++) {
+                tick("BTC-USD", MINUTE.plusMillis(i), "0.00001", "9999999999.5");
+            }
+
+            // Then
+            Candle current = engine.getCurrent("BTC-USD", CandleInterval.ONE_MINUTE).orElseThrow();
+            assertEquals(0, new BigDecimal("99999999995").compareTo(current.getVolume()));
+            assertEquals(10, current.getTradeCount());
+        }
+
+        @Test
+        @DisplayName("Should close a bar when the next bucket starts")
+        void shouldCloseOnNextBucket() {
+            // Given
+            tick("BTC-USD", MINUTE.plusMillis(100), "100.00", "1");
+            tick("BTC-USD", MINUTE.plusMillis(900), "102.00", "1");
+
+            // When
+            tick("BTC-USD", MINUTE.plusMillis(1_100), "103.00", "1");
+            engine.flush(MINUTE.toEpochMilli());
+
+            // Then
+            List<Candle> seconds = writtenFor("1s");
+            assertEquals(1, seconds.size());
+            assertEquals(MINUTE, seconds.get(0).getOpenTime());
+            assertEquals(0, new BigDecimal("102.00").compareTo(seconds.get(0).getClose()));
+            assertEquals(2, seconds.get(0).getTradeCount());
+            assertTrue(writtenFor("1m").isEmpty(), "Minute bar is still open");
+        }
+
+        @Test
+        @DisplayName("Should keep symbols separate")
+        void shouldSeparateSymbols() {
+            tick("BTC-USD", MINUTE, "100.00", "1");
+            tick("ETH-USD", MINUTE, "5.00", "1");
+
+            assertEquals(0, new BigDecimal("100.00").compareTo(
+                engine.getCurrent("BTC-USD", CandleInterval.ONE_SECOND).orElseThrow().getClose()));
+            assertEquals(0, new BigDecimal("5.00").compareTo(
+                engine.getCurrent("ETH-USD", CandleInterval.ONE_SECOND).orElseThrow().getClose()));
+            assertTrue(engine.getCurrent("SOL-USD", CandleInterval.ONE_SECOND).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Flushing")
+    class FlushingTests {
+
+        @Test
+        @DisplayName("Should close idle bars once their end plus grace has passed")
+        void shouldCloseIdleBars() {
+            // Given
+            tick("BTC-USD", MINUTE.plusMillis(100), "100.00", "1");
+
+            // When
+            engine.flush(MINUTE.plusMillis(1_400).toEpochMilli());
+            int beforeGrace = written.size();
+            engine.flush(MINUTE.plusMillis(1_500).toEpochMilli());
+
+            // Then
+            assertEquals(0, beforeGrace);
+            assertEquals(1, writtenFor("1s").size());
+            assertTrue(engine.getCurrent("BTC-USD", CandleInterval.ONE_SECOND).isEmpty());
+            assertTrue(engine.getCurrent("BTC-USD", CandleInterval.ONE_MINUTE).isPresent());
+        }
+
+        @Test
+        @DisplayName("Should ignore late ticks for bars already written")
+        void shouldIgnoreLateTicks() {
+            // Given
+            tick("BTC-USD", MINUTE.plusMillis(100), "100.00", "1");
+            tick("BTC-USD", MINUTE.plusMillis(1_100), "101.00", "1");
+            engine.flush(MINUTE.toEpochMilli());
+
+            // When
+            tick("BTC-USD", MINUTE.plusMillis(500), "999.00", "1");
+            engine.flush(Long.MAX_VALUE);
+
+            // Then
+            List<Candle> seconds = writtenFor("1s");
+            assertEquals(2, seconds.size());
+            assertTrue(seconds.stream().noneMatch(candle -> candle.getHigh().compareTo(new BigDecimal("999.00")) == 0));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown intervals")
+        void shouldRejectUnknownInterval() {
+            assertThrows(IllegalArgumentException.class,
+                () -> new CandleEngine(written::addAll, List.of("3m"), 1000, 0, false));
+        }
+    }
+
+    @Nested
+    @DisplayName("Restart")
+    class RestartTests {
+
+        private final List<String> loadedIntervals = new ArrayList<>();
+
+        @BeforeEach
+        void restart() {
+            // Given - the 1m bar that was open at shutdown is stored
+            Candle stored = Candle.builder()
+                .symbol("BTC-USD")
+                .interval("1m")
+                .openTime(MINUTE)
+                .open(new BigDecimal("90.00"))
+                .high(new BigDecimal("110.00"))
+                .low(new BigDecimal("85.00"))
+                .close(new BigDecimal("100.00"))
+                .volume(new BigDecimal("5"))
+                .tradeCount(7)
+                .build();
+            engine = new CandleEngine(new CandleSink() {
+                @Override
+                public void writeCandles(List<Candle> candles) {
+                    written.addAll(candles);
+                }
+
+                @Override
+                public List<Candle> findLatest(String interval, Instant since) {
+                    loadedIntervals.add(interval);
+                    return "1m".equals(interval) && !MINUTE.isBefore(since) ? List.of(stored) : List.of();
+                }
+            }, List.of("1s", "1m"), 1000, 500, false);
+            engine.loadStoredBars(MINUTE.plusSeconds(30).toEpochMilli());
+        }
+
+        @Test
+        @DisplayName("Should resume the stored bar of the bucket that was open before the restart")
+        void shouldResumeStoredBar() {
+            // When
+            tick("BTC-USD", MINUTE.plusSeconds(30), "112.00", "1");
+            tick("BTC-USD", MINUTE.plusSeconds(31), "95.00", "1");
+
+            // Then
+            Candle minute = engine.getCurrent("BTC-USD", CandleInterval.ONE_MINUTE).orElseThrow();
+            assertEquals(0, new BigDecimal("90.00").compareTo(minute.getOpen()));
+            assertEquals(0, new BigDecimal("112.00").compareTo(minute.getHigh()));
+            assertEquals(0, new BigDecimal("85.00").compareTo(minute.getLow()));
+            assertEquals(0, new BigDecimal("95.00").compareTo(minute.getClose()));
+            assertEquals(0, new BigDecimal("7").compareTo(minute.getVolume()));
+            assertEquals(9, minute.getTradeCount());
+            Candle second = engine.getCurrent("BTC-USD", CandleInterval.ONE_SECOND).orElseThrow();
+            assertEquals(1, second.getTradeCount());
+        }
+
+        @Test
+        @DisplayName("Should load stored bars once at startup and never from the tick path")
+        void shouldLoadStoredBarsOnce() {
+            // When
+            tick("BTC-USD", MINUTE.plusSeconds(30), "112.00", "1");
+            tick("ETH-USD", MINUTE.plusSeconds(31), "5.00", "1");
+            tick("BTC-USD", MINUTE.plusSeconds(90), "113.00", "1");
+
+            // Then
+            assertEquals(List.of("1s", "1m"), loadedIntervals);
+        }
+
+        @Test
+        @DisplayName("Should ignore ticks older than the stored bar instead of overwriting a complete bar")
+        void shouldIgnoreTicksBeforeStoredBar() {
+            // When
+            tick("BTC-USD", MINUTE.minusSeconds(5), "80.00", "1");
+
+            // Then
+            assertTrue(engine.getCurrent("BTC-USD", CandleInterval.ONE_MINUTE).isEmpty());
+            engine.flush(Long.MAX_VALUE);
+            assertTrue(writtenFor("1m").isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Replay")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Should close replayed bars on tick time so a historical bucket keeps every tick")
+        void shouldCloseOnTickTime() {
+            // Given
+            engine = new CandleEngine(written::addAll, List.of("1m"), 1000, 500, true);
+
+            // When - the flusher runs between every replayed tick
+            tick("BTC-USD", MINUTE.plusSeconds(1), "100.00", "1");
+            engine.flush(engine.clockMillis());
+            tick("BTC-USD", MINUTE.plusSeconds(20), "120.00", "2");
+            engine.flush(engine.clockMillis());
+            tick("BTC-USD", MINUTE.plusSeconds(59), "90.00", "3");
+            engine.flush(engine.clockMillis());
+            tick("BTC-USD", MINUTE.plusSeconds(60), "95.00", "1");
+            engine.flush(engine.clockMillis());
+
+            // Then
+            List<Candle> minutes = writtenFor("1m");
+            assertEquals(1, minutes.size());
+            Candle candle = minutes.get(0);
+            assertEquals(MINUTE, candle.getOpenTime());
+            assertEquals(0, new BigDecimal("100.00").compareTo(candle.getOpen()));
+            assertEquals(0, new BigDecimal("120.00").compareTo(candle.getHigh()));
+            assertEquals(0, new BigDecimal("90.00").compareTo(candle.getLow()));
+            assertEquals(0, new BigDecimal("90.00").compareTo(candle.getClose()));
+            assertEquals(0, new BigDecimal("6").compareTo(candle.getVolume()));
+            assertEquals(3, candle.getTradeCount());
+        }
+
+        @Test
+        @DisplayName("Should close an idle replayed bar once tick time passes its end plus grace")
+        void shouldCloseIdleBarOnTickTime() {
+            // Given
+            engine = new CandleEngine(written::addAll, List.of("1s", "1m"), 1000, 500, true);
+            tick("BTC-USD", MINUTE.plusMillis(100), "100.00", "1");
+
+            // When
+            tick("ETH-USD", MINUTE.plusMillis(1_400), "5.00", "1");
+            engine.flush(engine.clockMillis());
+            int beforeGrace = writtenFor("1s").size();
+            tick("ETH-USD", MINUTE.plusMillis(1_500), "5.00", "1");
+            engine.flush(engine.clockMillis());
+
+            // Then
+            assertEquals(0, beforeGrace);
+            assertEquals(1, writtenFor("1s").stream().filter(c -> "BTC-USD".equals(c.getSymbol())).count());
+        }
+    }
+}
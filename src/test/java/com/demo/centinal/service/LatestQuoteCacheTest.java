@@ -0,0 +1,89 @@
+package com.demo.centinal.service;
+
+import com.demo.centinal.codec.FixedPoint;
+import com.demo.centinal.codec.IsoTimestamps;
+import com.demo.centinal.model.MarketTick;
+import com.demo.centinal.model.Quote;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatestQuoteCacheTest {
+
+    private final LatestQuoteCache cache = new LatestQuoteCache();
+
+    private MarketTick tick(String symbol, String price, Instant time) {
+        MarketTick tick = new MarketTick();
+        tick.setProductId(symbol);
+        tick.setExchangeTimeMicros(IsoTimestamps.toEpochMicros(time));
+        tick.setFixedPoint(true);
+        tick.setPriceFixed(FixedPoint.parse(price));
+        tick.setBidFixed(FixedPoint.parse(price) - FixedPoint.ONE);
+        tick.setAskFixed(FixedPoint.parse(price) + FixedPoint.ONE);
+        return tick;
+    }
+
+    @Test
+    @DisplayName("Should keep the latest tick per symbol")
+    void shouldKeepLatest() {
+        // Given
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        // When
+        cache.onTick(tick("BTC-USD", "100", now));
+        cache.onTick(tick("BTC-USD", "101", now.plusSeconds(1)));
+        cache.onTick(tick("ETH-USD", "5", now));
+
+        // Then
+        Quote btc = cache.get("BTC-USD").orElseThrow();
+        assertEquals(0, new BigDecimal("101").compareTo(btc.getPrice()));
+        assertEquals(0, new BigDecimal("100").compareTo(btc.getBid()));
+        assertNull(btc.getVolume24h(), "Fields missing from the tick stay null");
+        assertEquals(now.plusSeconds(1), btc.getTime());
+        assertEquals(2, cache.getAll().size());
+    }
+
+    @Test
+    @DisplayName("Should not let an older tick overwrite a newer quote")
+    void shouldIgnoreOlderTick() {
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        cache.onTick(tick("BTC-USD", "101", now));
+
+        cache.onTick(tick("BTC-USD", "99", now.minusSeconds(1)));
+
+        assertEquals(0, new BigDecimal("101").compareTo(cache.get("BTC-USD").orElseThrow().getPrice()));
+    }
+
+    @Test
+    @DisplayName("Should return requested symbols in order and skip unknown ones")
+    void shouldLookUpSeveralSymbols() {
+        Instant now = Instant.now();
+        cache.onTick(tick("BTC-USD", "100", now));
+        cache.onTick(tick("ETH-USD", "5", now));
+
+        List<Quote> quotes = cache.getAll(List.of("ETH-USD", "SOL-USD", "BTC-USD"));
+
+        assertEquals(List.of("ETH-USD", "BTC-USD"), quotes.stream().map(Quote::getSymbol).toList());
+        assertTrue(cache.get("SOL-USD").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should copy the tick so reusing the holder does not change the cached quote")
+    void shouldCopyReusedHolder() {
+        // Given
+        MarketTick holder = tick("BTC-USD", "100", Instant.parse("2024-01-01T00:00:00Z"));
+        cache.onTick(holder);
+
+        // When
+        holder.reset();
+        holder.setProductId("BTC-USD");
+
+        // Then
+        assertEquals(0, new BigDecimal("100").compareTo(cache.get("BTC-USD").orElseThrow().getPrice()));
+    }
+}
@@ -0,0 +1,100 @@
+package com.demo.centinal.service;
+
+import com.demo.centinal.config.TestConfig;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.model.PricePoint;
+import com.demo.centinal.model.PricePointPage;
+import com.demo.centinal.repository.MarketDataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestConfig.class)
+@Transactional
+class MarketDataQueryServiceTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private MarketDataRepository marketDataRepository;
+
+    @Autowired
+    private MarketDataQueryService queryService;
+
+    @BeforeEach
+    void setUp() {
+        marketDataRepository.deleteAll();
+        List<MarketData> ticks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Two ticks per timestamp so pages have to break ties on id
+            ticks.add(tick("BTC-USD", START.plusSeconds(i / 2), 50_000 + i));
+        }
+        ticks.add(tick("ETH-USD", START, 3_000));
+        ticks.add(tick("BTC-USD", START.plusSeconds(60), 60_000));
+        marketDataRepository.saveAll(ticks);
+    }
+
+    private static MarketData tick(String symbol, Instant timestamp, long price) {
+        return MarketData.builder()
+            .timestamp(timestamp)
+            .symbol(symbol)
+            .exchange("coinbase")
+            .price(BigDecimal.valueOf(price))
+            .bid(BigDecimal.valueOf(price - 1))
+            .ask(BigDecimal.valueOf(price + 1))
+            .createdAt(Instant.now())
+            .build();
+    }
+
+    @Test
+    @DisplayName("Should stream the symbol's points in range, oldest first")
+    void shouldStreamRange() {
+        try (Stream<PricePoint> points = queryService.streamPricePoints("BTC-USD", START, START.plusSeconds(60))) {
+            List<PricePoint> result = points.toList();
+
+            assertEquals(10, result.size());
+            assertEquals(0, BigDecimal.valueOf(50_000).compareTo(result.get(0).price()));
+            assertEquals(0, BigDecimal.valueOf(49_999).compareTo(result.get(0).bid()));
+            for (int i = 1; i < result.size(); i++) {
+                assertFalse(result.get(i).timestamp().isBefore(result.get(i - 1).timestamp()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should page through ties without skipping or repeating points")
+    void shouldPageByKeyset() {
+        List<PricePoint> collected = new ArrayList<>();
+        PricePointPage page = queryService.page("BTC-USD", START, START.plusSeconds(60), null, null, 3);
+        collected.addAll(page.points());
+        while (page.nextTimestamp() != null) {
+            page = queryService.page("BTC-USD", START, START.plusSeconds(60), page.nextTimestamp(), page.nextId(), 3);
+            collected.addAll(page.points());
+        }
+
+        assertEquals(10, collected.size());
+        assertEquals(10, collected.stream().map(PricePoint::id).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive page size")
+    void shouldRejectInvalidLimit() {
+        assertThrows(IllegalArgumentException.class,
+            () -> queryService.page("BTC-USD", START, START.plusSeconds(60), null, null, 0));
+    }
+}
@@ -1,12 +1,17 @@
 package com.demo.centinal.service;
 
 import com.demo.centinal.client.CoinbaseWebsocketClient;
+import com.demo.centinal.codec.TickerJsonDecoder;
 import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.metrics.IngestLatencyMetrics;
 import com.demo.centinal.model.MarketDataEvent;
+import com.demo.centinal.persistence.DirectMarketDataWriter;
+import com.demo.centinal.persistence.InlineRawPayloadStore;
 import com.demo.centinal.repository.MarketDataRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -19,6 +24,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -41,10 +47,16 @@ class MarketDataStreamingServiceTest {
     private ObjectMapper objectMapper;
 
     private MarketDataStreamingService streamingService;
+    // Listeners get a reused holder, so only the trade size is kept
+    private final List<Long> listenedSizes = new ArrayList<>();
 
     @BeforeEach
     void setUp() {
-        streamingService = new MarketDataStreamingService(marketDataRepository, coinbaseClient, objectMapper);
+        IngestLatencyMetrics latencyMetrics = new IngestLatencyMetrics(new SimpleMeterRegistry());
+        streamingService = new MarketDataStreamingService(
+            new DirectMarketDataWriter(marketDataRepository, latencyMetrics, new InlineRawPayloadStore()), coinbaseClient, objectMapper,
+            new TickerJsonDecoder(new ObjectMapper(), new SimpleMeterRegistry(), false), new SequenceTracker(new SimpleMeterRegistry()),
+            latencyMetrics, List.of(tick -> listenedSizes.add(tick.getLastSizeFixed())));
         ReflectionTestUtils.setField(streamingService, "assetSymbols", List.of("BTC-USD", "ETH-USD"));
     }
 
@@ -306,6 +318,114 @@ class MarketDataStreamingServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Streaming Decoder")
+    class StreamingDecoderTests {
+
+        @BeforeEach
+        void useStreamingDecoder() {
+            ReflectionTestUtils.setField(streamingService, "decoder", "streaming");
+        }
+
+        @Test
+        @DisplayName("Should persist ticker decoded without a JSON tree")
+        void shouldPersistStreamedTicker() throws Exception {
+            // Given
+            String tickerMessage = """
+                {"type":"ticker","product_id":"BTC-USD","price":"50000.00","volume_24h":"1000.5",
+                 "bid":"49999.00","ask":"50001.00","high_24h":"51000.00","low_24h":"49000.00","open_24h":"49500.00"}
+                """;
+            ArgumentCaptor<MarketData> marketDataCaptor = ArgumentCaptor.forClass(MarketData.class);
+
+            // When
+            streamingService.processMarketDataMessage(tickerMessage);
+
+            // Then
+            verify(objectMapper, never()).readTree(anyString());
+            verify(marketDataRepository).save(marketDataCaptor.capture());
+            MarketData savedData = marketDataCaptor.getValue();
+            assertEquals("BTC-USD", savedData.getSymbol());
+            assertEquals(new BigDecimal("50000.00"), savedData.getPrice());
+            assertEquals(new BigDecimal("49000.00"), savedData.getLow24h());
+            assertSame(tickerMessage, savedData.getRawData());
+        }
+
+        @Test
+        @DisplayName("Should timestamp ticks with the exchange time")
+        void shouldUseExchangeTime() {
+            // Given
+            String tickerMessage = """
+                {"type":"ticker","product_id":"BTC-USD","price":"50000.00","time":"2024-01-01T12:34:56.123456Z"}
+                """;
+            ArgumentCaptor<MarketData> marketDataCaptor = ArgumentCaptor.forClass(MarketData.class);
+
+            // When
+            streamingService.processMarketDataMessage(tickerMessage);
+
+            // Then
+            verify(marketDataRepository).save(marketDataCaptor.capture());
+            MarketData savedData = marketDataCaptor.getValue();
+            assertEquals(Instant.parse("2024-01-01T12:34:56.123456Z"), savedData.getTimestamp());
+            assertTrue(savedData.getReceivedNanos() != 0);
+        }
+
+        @Test
+        @DisplayName("Should hand accepted ticks with trade size to tick listeners")
+        void shouldNotifyTickListeners() {
+            // Given
+            String tickerMessage = """
+                {"type":"ticker","sequence":7,"product_id":"BTC-USD","price":"50000.00","last_size":"0.25"}
+                """;
+
+            // When
+            streamingService.processMarketDataMessage(tickerMessage);
+            streamingService.processMarketDataMessage(tickerMessage);
+
+            // Then
+            assertEquals(List.of(25_000_000L), listenedSizes, "Duplicate sequence should not reach listeners");
+        }
+
+        @Test
+        @DisplayName("Should persist text values exactly while listeners get the scaled copy")
+        void shouldPersistTextExactly() {
+            // Given - more than 8 decimals and more than 10 integer digits, both beyond fixed point
+            String tickerMessage = """
+                {"type":"ticker","product_id":"BTC-USD","price":"0.123456789","volume_24h":"123456789012.5","last_size":"1"}
+                """;
+            ArgumentCaptor<MarketData> marketDataCaptor = ArgumentCaptor.forClass(MarketData.class);
+
+            // When
+            streamingService.processMarketDataMessage(tickerMessage);
+
+            // Then
+            verify(marketDataRepository).save(marketDataCaptor.capture());
+            MarketData savedData = marketDataCaptor.getValue();
+            assertEquals(new BigDecimal("0.123456789"), savedData.getPrice());
+            assertEquals(new BigDecimal("123456789012.5"), savedData.getVolume());
+            assertEquals(List.of(100_000_000L), listenedSizes);
+        }
+
+        @Test
+        @DisplayName("Should not persist control messages")
+        void shouldIgnoreHeartbeat() {
+            // When
+            streamingService.processMarketDataMessage("{\"type\":\"heartbeat\",\"sequence\":1}");
+
+            // Then
+            verify(marketDataRepository, never()).save(any(MarketData.class));
+        }
+
+        @Test
+        @DisplayName("Should drop tickers without product id")
+        void shouldDropTickerWithoutProductId() {
+            // When
+            streamingService.processMarketDataMessage("{\"type\":\"ticker\",\"price\":\"1.0\"}");
+
+            // Then
+            verify(marketDataRepository, never()).save(any(MarketData.class));
+        }
+    }
+
     @Nested
     @DisplayName("Event Handling")
     class EventHandlingTests {
@@ -0,0 +1,72 @@
+package com.demo.centinal.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SequenceTrackerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SequenceTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new SequenceTracker(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should accept consecutive sequences")
+    void shouldAcceptInOrder() {
+        assertEquals(SequenceTracker.Result.FIRST, tracker.track("BTC-USD", 10));
+        assertEquals(SequenceTracker.Result.IN_ORDER, tracker.track("BTC-USD", 11));
+        assertEquals(11, tracker.getLastSequence("BTC-USD"));
+    }
+
+    @Test
+    @DisplayName("Should count gaps and missed messages per product")
+    void shouldDetectGaps() {
+        // Given
+        tracker.track("BTC-USD", 1);
+
+        // When
+        SequenceTracker.Result result = tracker.track("BTC-USD", 5);
+
+        // Then
+        assertEquals(SequenceTracker.Result.GAP, result);
+        assertEquals(1.0, meterRegistry.counter("market.data.sequence.gaps", "symbol", "BTC-USD").count());
+        assertEquals(3.0, meterRegistry.counter("market.data.sequence.missed", "symbol", "BTC-USD").count());
+    }
+
+    @Test
+    @DisplayName("Should flag duplicate and stale sequences")
+    void shouldDetectDuplicates() {
+        // Given
+        tracker.track("BTC-USD", 7);
+
+        // When & Then
+        assertEquals(SequenceTracker.Result.DUPLICATE, tracker.track("BTC-USD", 7));
+        assertEquals(SequenceTracker.Result.DUPLICATE, tracker.track("BTC-USD", 3));
+        assertEquals(7, tracker.getLastSequence("BTC-USD"));
+        assertEquals(2.0, meterRegistry.counter("market.data.sequence.duplicates", "symbol", "BTC-USD").count());
+    }
+
+    @Test
+    @DisplayName("Should track products independently")
+    void shouldTrackProductsIndependently() {
+        tracker.track("BTC-USD", 100);
+        assertEquals(SequenceTracker.Result.FIRST, tracker.track("ETH-USD", 5));
+        assertEquals(SequenceTracker.Result.IN_ORDER, tracker.track("BTC-USD", 101));
+    }
+
+    @Test
+    @DisplayName("Should ignore messages without product or sequence")
+    void shouldIgnoreUnsequenced() {
+        assertEquals(SequenceTracker.Result.UNSEQUENCED, tracker.track("BTC-USD", -1));
+        assertEquals(SequenceTracker.Result.UNSEQUENCED, tracker.track(null, 1));
+        assertEquals(-1, tracker.getLastSequence("BTC-USD"));
+    }
+}
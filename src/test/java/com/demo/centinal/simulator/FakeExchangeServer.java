@@ -0,0 +1,318 @@
+package com.demo.centinal.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.java_websocket.WebSocket;
+import org.java_websocket.WebSocketImpl;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.server.WebSocketServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Local stand-in for the Coinbase ws-feed used for load testing without the network.
+ * Answers {@code subscribe} with a {@code subscriptions} frame, then streams {@code ticker} frames
+ * for the subscribed products at a fixed total rate, plus one {@code heartbeat} per product per second.
+ * Prices are a synthetic random walk unless a file of recorded ticker frames is given, in which case
+ * those frames are replayed in a loop.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.demo.centinal.simulator.FakeExchangeServer \
+ *     -Dexec.args="--port 8765 --rate 100000"
+ * </pre>
+ */
+@Slf4j
+public class FakeExchangeServer extends WebSocketServer {
+
+    // Frames queued on a connection before the generator waits for the client to catch up
+    private static final int MAX_QUEUED_FRAMES = 10_000;
+    private static final long HEARTBEAT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final DateTimeFormatter SECOND_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long ratePerSecond;
+    private final List<String> recordedFrames;
+    private final Map<WebSocket, List<String>> subscribers = new ConcurrentHashMap<>();
+    private final Map<String, Product> products = new ConcurrentHashMap<>();
+    private final AtomicLong sentCount = new AtomicLong();
+    private volatile boolean running;
+    private Thread generator;
+
+    /**
+     * @param ratePerSecond total ticker frames per second across all connections
+     * @param recordedFrames ticker frames to replay, or an empty list for synthetic prices
+     */
+    public FakeExchangeServer(InetSocketAddress address, long ratePerSecond, List<String> recordedFrames) {
+        super(address);
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.recordedFrames = recordedFrames;
+        setReuseAddr(true);
+        setTcpNoDelay(true);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 8765;
+        long rate = 10_000;
+        List<String> recorded = List.of();
+        for (int i = 0; i < args.length - 1; i += 2) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--rate" -> rate = Long.parseLong(args[i + 1]);
+                case "--replay" -> recorded = readFrames(Path.of(args[i + 1]));
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        FakeExchangeServer server = new FakeExchangeServer(new InetSocketAddress(port), rate, recorded);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.stop(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        server.start();
+        long lastCount = 0;
+        while (true) {
+            Thread.sleep(1000);
+            long count = server.getSentCount();
+            log.info("Sent {} msgs/s to {} connections", count - lastCount, server.subscribers.size());
+            lastCount = count;
+        }
+    }
+
+    /**
+     * Reads recorded ticker frames, one JSON message per line.
+     */
+    static List<String> readFrames(Path path) throws IOException {
+        try (var lines = Files.lines(path)) {
+            return lines.map(String::trim)
+                .filter(line -> line.contains("\"ticker\""))
+                .toList();
+        }
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    @Override
+    public void onStart() {
+        running = true;
+        generator = new Thread(this::generate, "fake-exchange-generator");
+        generator.setDaemon(true);
+        generator.start();
+        log.info("Fake exchange listening on port {} at {} msgs/s", getPort(), ratePerSecond);
+    }
+
+    @Override
+    public void stop(int timeout) throws InterruptedException {
+        running = false;
+        if (generator != null) {
+            generator.interrupt();
+        }
+        super.stop(timeout);
+    }
+
+    @Override
+    public void onOpen(WebSocket conn, ClientHandshake handshake) {
+        log.debug("Client connected from {}", conn.getRemoteSocketAddress());
+    }
+
+    @Override
+    public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        subscribers.remove(conn);
+    }
+
+    @Override
+    public void onMessage(WebSocket conn, String message) {
+        try {
+            JsonNode request = objectMapper.readTree(message);
+            if (!"subscribe".equals(request.path("type").asText())) {
+                conn.send("{\"type\":\"error\",\"message\":\"Failed to subscribe\",\"reason\":\"type is required\"}");
+                return;
+            }
+            List<String> productIds = new ArrayList<>();
+            request.path("product_ids").forEach(node -> productIds.add(node.asText()));
+            for (JsonNode channel : request.path("channels")) {
+                channel.path("product_ids").forEach(node -> productIds.add(node.asText()));
+            }
+            List<String> symbols = productIds.stream().distinct().toList();
+            symbols.forEach(symbol -> products.computeIfAbsent(symbol, Product::new));
+            conn.send("{\"type\":\"subscriptions\",\"channels\":[{\"name\":\"ticker\",\"product_ids\":"
+                + objectMapper.writeValueAsString(symbols) + "}]}");
+            subscribers.put(conn, symbols);
+        } catch (Exception e) {
+            conn.send("{\"type\":\"error\",\"message\":\"Failed to subscribe\",\"reason\":\"malformed JSON\"}");
+        }
+    }
+
+    @Override
+    public void onError(WebSocket conn, Exception ex) {
+        log.warn("Fake exchange error", ex);
+    }
+
+    /**
+     * Sends frames round-robin over every subscribed (connection, product) pair, catching up in bursts
+     * so the average rate holds even when a single park overshoots.
+     */
+    private void generate() {
+        StringBuilder frame = new StringBuilder(512);
+        long startNanos = System.nanoTime();
+        long nextHeartbeat = startNanos + HEARTBEAT_INTERVAL_NANOS;
+        long sent = 0;
+        long cursor = 0;
+        long replayCursor = 0;
+        while (running) {
+            long now = System.nanoTime();
+            if (now >= nextHeartbeat) {
+                sendHeartbeats();
+                nextHeartbeat += HEARTBEAT_INTERVAL_NANOS;
+            }
+            if (subscribers.isEmpty()) {
+                // Start pacing afresh so the first client does not get a burst of backlog
+                startNanos = now;
+                sent = 0;
+                LockSupport.parkNanos(1_000_000);
+                continue;
+            }
+            long due = (now - startNanos) / 1_000 * ratePerSecond / 1_000_000L;
+            if (sent >= due) {
+                LockSupport.parkNanos(50_000);
+                continue;
+            }
+            long sentBefore = sent;
+            for (Map.Entry<WebSocket, List<String>> entry : subscribers.entrySet()) {
+                WebSocket conn = entry.getKey();
+                List<String> symbols = entry.getValue();
+                if (!conn.isOpen() || symbols.isEmpty() || isBackedUp(conn)) {
+                    continue;
+                }
+                String symbol = symbols.get((int) (cursor % symbols.size()));
+                if (recordedFrames.isEmpty()) {
+                    conn.send(products.get(symbol).nextTicker(frame));
+                } else {
+                    conn.send(recordedFrames.get((int) (replayCursor++ % recordedFrames.size())));
+                }
+                sentCount.incrementAndGet();
+                if (++sent >= due) {
+                    break;
+                }
+            }
+            cursor++;
+            if (sent == sentBefore) {
+                // Every client is backed up; let their sockets drain
+                LockSupport.parkNanos(50_000);
+            }
+        }
+    }
+
+    private boolean isBackedUp(WebSocket conn) {
+        return conn instanceof WebSocketImpl impl && impl.outQueue.size() > MAX_QUEUED_FRAMES;
+    }
+
+    private void sendHeartbeats() {
+        String time = Instant.now().toString();
+        subscribers.forEach((conn, symbols) -> {
+            for (String symbol : symbols) {
+                Product product = products.get(symbol);
+                if (conn.isOpen()) {
+                    conn.send("{\"type\":\"heartbeat\",\"sequence\":" + product.sequence
+                        + ",\"last_trade_id\":" + product.sequence + ",\"product_id\":\"" + symbol
+                        + "\",\"time\":\"" + time + "\"}");
+                }
+            }
+        });
+    }
+
+    /**
+     * Per-product state: the sequence counter and a random-walk price in cents.
+     * Only touched by the generator thread apart from the heartbeat read of {@code sequence}.
+     */
+    private static final class Product {
+        private final String productId;
+        private volatile long sequence;
+        private long priceCents;
+        private long open24hCents;
+        private long cachedSecond = -1;
+        private String cachedSecondText;
+
+        Product(String productId) {
+            this.productId = productId;
+            this.priceCents = 100_000 + ThreadLocalRandom.current().nextLong(5_000_000);
+            this.open24hCents = priceCents;
+        }
+
+        String nextTicker(StringBuilder frame) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            priceCents = Math.max(1, priceCents + random.nextLong(-50, 51));
+            long spread = 1 + random.nextLong(5);
+            long sizeMillis = 1 + random.nextLong(100_000);
+            frame.setLength(0);
+            frame.append("{\"type\":\"ticker\",\"sequence\":").append(++sequence)
+                .append(",\"product_id\":\"").append(productId)
+                .append("\",\"price\":\"");
+            appendCents(frame, priceCents);
+            frame.append("\",\"open_24h\":\"");
+            appendCents(frame, open24hCents);
+            frame.append("\",\"volume_24h\":\"").append(sizeMillis * 37).append(".000\",\"low_24h\":\"");
+            appendCents(frame, Math.min(open24hCents, priceCents));
+            frame.append("\",\"high_24h\":\"");
+            appendCents(frame, Math.max(open24hCents, priceCents));
+            frame.append("\",\"bid\":\"");
+            appendCents(frame, priceCents - spread);
+            frame.append("\",\"ask\":\"");
+            appendCents(frame, priceCents + spread);
+            frame.append("\",\"side\":\"").append(random.nextBoolean() ? "buy" : "sell")
+                .append("\",\"time\":\"");
+            appendTime(frame);
+            frame.append("\",\"trade_id\":").append(sequence)
+                .append(",\"last_size\":\"").append(sizeMillis / 1000).append('.');
+            appendPadded(frame, sizeMillis % 1000, 3);
+            frame.append("\"}");
+            return frame.toString();
+        }
+
+        private void appendTime(StringBuilder frame) {
+            Instant now = Instant.now();
+            if (now.getEpochSecond() != cachedSecond) {
+                cachedSecond = now.getEpochSecond();
+                cachedSecondText = SECOND_FORMAT.format(now);
+            }
+            frame.append(cachedSecondText).append('.');
+            appendPadded(frame, now.getNano() / 1_000, 6);
+            frame.append('Z');
+        }
+
+        private static void appendCents(StringBuilder frame, long cents) {
+            frame.append(cents / 100).append('.');
+            appendPadded(frame, cents % 100, 2);
+        }
+
+        private static void appendPadded(StringBuilder frame, long value, int width) {
+            for (long limit = 10; width > 1 && value < limit; width--, limit *= 10) {
+                frame.append('0');
+            }
+            frame.append(value);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.demo.centinal.simulator;
+
+import com.demo.centinal.client.CoinbaseWebsocketClient;
+import com.demo.centinal.codec.IsoTimestamps;
+import com.demo.centinal.codec.TickerJsonDecoder;
+import com.demo.centinal.model.MarketTick;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Drives the real client against the fake exchange to check the protocol it speaks.
+ */
+class FakeExchangeServerTest {
+
+    private FakeExchangeServer server;
+    private CoinbaseWebsocketClient client;
+    private final BlockingQueue<String> receivedFrames = new LinkedBlockingQueue<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (client != null) {
+            client.shutdown();
+        }
+        if (server != null) {
+            server.stop(1000);
+        }
+    }
+
+    private void startAndConnect(long rate, List<String> recorded, List<String> symbols) throws Exception {
+        server = new FakeExchangeServer(new InetSocketAddress("127.0.0.1", 0), rate, recorded);
+        server.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (server.getPort() <= 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        client = new CoinbaseWebsocketClient(mock(ApplicationEventPublisher.class));
+        client.setUri("ws://127.0.0.1:" + server.getPort());
+        client.setReconnectEnabled(false);
+        client.setFrameHandler((connectionId, message, source, receivedNanos) -> receivedFrames.add(message));
+        client.connect(symbols);
+    }
+
+    private List<MarketTick> awaitTickers(int count) throws Exception {
+        TickerJsonDecoder decoder = new TickerJsonDecoder(new ObjectMapper(), new SimpleMeterRegistry(), true);
+        List<MarketTick> tickers = new ArrayList<>();
+        while (tickers.size() < count) {
+            String frame = receivedFrames.poll(5, TimeUnit.SECONDS);
+            assertNotNull(frame, "Expected more ticker frames");
+            MarketTick tick = new MarketTick();
+            decoder.decode(frame, tick);
+            if ("ticker".equals(tick.getType())) {
+                tickers.add(tick);
+            }
+        }
+        return tickers;
+    }
+
+    @Test
+    @DisplayName("Should confirm the subscription and stream sequenced tickers")
+    void shouldStreamSyntheticTickers() throws Exception {
+        // When
+        startAndConnect(2_000, List.of(), List.of("BTC-USD", "ETH-USD"));
+
+        // Then
+        String confirmation = receivedFrames.poll(5, TimeUnit.SECONDS);
+        assertNotNull(confirmation);
+        assertTrue(confirmation.contains("\"subscriptions\""));
+        assertTrue(confirmation.contains("ETH-USD"));
+
+        List<MarketTick> tickers = awaitTickers(20);
+        long lastBtc = 0;
+        for (MarketTick tick : tickers) {
+            assertTrue(List.of("BTC-USD", "ETH-USD").contains(tick.getProductId()));
+            assertTrue(tick.getPriceFixed() > 0);
+            assertTrue(tick.getBidFixed() < tick.getAskFixed());
+            assertNotEquals(IsoTimestamps.NULL, tick.getExchangeTimeMicros());
+            if ("BTC-USD".equals(tick.getProductId())) {
+                assertTrue(lastBtc == 0 || tick.getSequence() == lastBtc + 1, "Sequences should be gap free");
+                lastBtc = tick.getSequence();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay recorded frames")
+    void shouldReplayRecordedFrames() throws Exception {
+        // Given
+        List<String> recorded = List.of(
+            "{\"type\":\"ticker\",\"product_id\":\"BTC-USD\",\"price\":\"42.00\"}",
+            "{\"type\":\"ticker\",\"product_id\":\"BTC-USD\",\"price\":\"43.00\"}");
+
+        // When
+        startAndConnect(1_000, recorded, List.of("BTC-USD"));
+
+        // Then
+        List<MarketTick> tickers = awaitTickers(3);
+        assertEquals(42_00000000L, tickers.get(0).getPriceFixed());
+        assertEquals(43_00000000L, tickers.get(1).getPriceFixed());
+        assertEquals(42_00000000L, tickers.get(2).getPriceFixed());
+    }
+}
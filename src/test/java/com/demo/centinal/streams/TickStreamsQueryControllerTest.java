@@ -0,0 +1,44 @@
+package com.demo.centinal.streams;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TickStreamsQueryControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        TickStreamsQueryController controller = new TickStreamsQueryController(
+            mock(KafkaStreamsInteractiveQueryService.class), List.of("1m", "1h"), 300_000);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("Should answer an unknown or uncomputed interval with 400")
+    void shouldRejectInterval() throws Exception {
+        mockMvc.perform(get("/streams/candles/BTC-USD").param("interval", "7m"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/streams/candles/BTC-USD").param("interval", "5m"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should answer from after to with 400")
+    void shouldRejectInvertedRange() throws Exception {
+        mockMvc.perform(get("/streams/vwap/BTC-USD")
+                .param("from", "2024-01-02T00:00:00Z")
+                .param("to", "2024-01-01T00:00:00Z"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,125 @@
+package com.demo.centinal.streams;
+
+import com.demo.centinal.codec.IdDictionary;
+import com.demo.centinal.entities.MarketData;
+import com.demo.centinal.kafka.MarketDataSerializer;
+import com.demo.centinal.model.CandleInterval;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.WindowStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickStreamsTopologyTest {
+
+    private static final String TOPIC = "ticks";
+    private static final Instant MINUTE = Instant.parse("2024-01-01T00:00:00Z");
+    private static final IdDictionary SYMBOLS = new IdDictionary(List.of("BTC-USD", "ETH-USD"));
+    private static final IdDictionary EXCHANGES = new IdDictionary(List.of("coinbase"));
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, MarketData> input;
+
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder builder = new StreamsBuilder();
+        TickStreamsTopology.build(builder, TOPIC, SYMBOLS, EXCHANGES, List.of(CandleInterval.fromLabel("1m")),
+            Duration.ofMinutes(5), Duration.ofMinutes(1), Duration.ofSeconds(5), Duration.ofHours(1));
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "tick-streams-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), props);
+        input = driver.createInputTopic(TOPIC, new StringSerializer(), new MarketDataSerializer(SYMBOLS, EXCHANGES));
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    @DisplayName("Should build OHLCV candles in exchange time even when ticks arrive out of order")
+    void shouldBuildCandles() {
+        // Given
+        pipe(10, "100", "1");
+        pipe(40, "90", "2");
+        pipe(20, "120", "1");
+        pipe(70, "130", "1");
+
+        // When
+        WindowStore<String, OhlcvAggregate> store = driver.getWindowStore(TickStreamsTopology.candleStoreName(
+            CandleInterval.fromLabel("1m")));
+        OhlcvAggregate candle = store.fetch("BTC-USD", MINUTE.toEpochMilli());
+
+        // Then
+        assertEquals(0, new BigDecimal("100").compareTo(candle.getOpen()));
+        assertEquals(0, new BigDecimal("120").compareTo(candle.getHigh()));
+        assertEquals(0, new BigDecimal("90").compareTo(candle.getLow()));
+        assertEquals(0, new BigDecimal("90").compareTo(candle.getClose()));
+        assertEquals(0, new BigDecimal("4").compareTo(candle.getVolume()));
+        assertEquals(3, candle.getTradeCount());
+    }
+
+    @Test
+    @DisplayName("Should apply late ticks within the grace period and drop them after it")
+    void shouldHonourGracePeriod() {
+        // Given
+        pipe(10, "100", "1");
+        pipe(62, "110", "1");
+        pipe(30, "105", "1");   // 2s after the first window ended, inside the 5s grace
+        pipe(70, "111", "1");
+        pipe(50, "999", "1");   // 10s after the first window ended, too late
+
+        // When
+        WindowStore<String, OhlcvAggregate> store = driver.getWindowStore(TickStreamsTopology.candleStoreName(
+            CandleInterval.fromLabel("1m")));
+        OhlcvAggregate candle = store.fetch("BTC-USD", MINUTE.toEpochMilli());
+
+        // Then
+        assertEquals(2, candle.getTradeCount());
+        assertEquals(0, new BigDecimal("105").compareTo(candle.getHigh()));
+    }
+
+    @Test
+    @DisplayName("Should compute a volume-weighted price for every hopping window a tick falls in")
+    void shouldComputeVwap() {
+        // Given
+        pipe(30, "100", "1");
+        pipe(90, "200", "3");
+
+        // When
+        WindowStore<String, VwapAggregate> store = driver.getWindowStore(TickStreamsTopology.VWAP_STORE);
+        VwapAggregate both = store.fetch("BTC-USD", MINUTE.toEpochMilli());
+        VwapAggregate second = store.fetch("BTC-USD", MINUTE.plusSeconds(60).toEpochMilli());
+
+        // Then
+        assertEquals(0, new BigDecimal("175").compareTo(both.getVwap()));
+        assertEquals(2, both.getTradeCount());
+        assertEquals(0, new BigDecimal("200").compareTo(second.getVwap()));
+        assertEquals(1, second.getTradeCount());
+    }
+
+    private void pipe(int secondsAfterMinute, String price, String size) {
+        Instant timestamp = MINUTE.plusSeconds(secondsAfterMinute);
+        input.pipeInput("BTC-USD", MarketData.builder()
+            .symbol("BTC-USD")
+            .exchange("coinbase")
+            .timestamp(timestamp)
+            .price(new BigDecimal(price))
+            .lastSize(new BigDecimal(size))
+            .build(), timestamp);
+    }
+}